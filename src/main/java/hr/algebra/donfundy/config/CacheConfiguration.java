@@ -0,0 +1,85 @@
+package hr.algebra.donfundy.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import hr.algebra.donfundy.support.CoalescingCaffeineCache;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.cache.transaction.TransactionAwareCacheManagerProxy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+
+@Configuration
+@EnableCaching
+public class CacheConfiguration {
+
+    public static final String CAMPAIGNS = "campaigns";
+    public static final String USERS = "users";
+
+    /**
+     * Puts and evictions issued inside a transaction are deferred until it commits, so they never expose
+     * uncommitted data. That alone does not stop a reader that loaded the row before the commit from
+     * putting it back afterwards; cached reads therefore load with {@code sync = true}, which runs the load
+     * inside the cache's per-key computation. A commit-time put or eviction for that key waits for the
+     * load to finish and then replaces or removes what it stored, and a load that starts after the
+     * eviction reads the committed row. The same computation makes concurrent misses for one key share a
+     * single load, which {@link CoalescingCaffeineCache} counts.
+     * <p>
+     * A load holds the lock of its hash bin in Caffeine's map for the whole database round trip, so other
+     * keys in that bin wait for it too. Both maps are sized for their maximum number of entries up front,
+     * which keeps bins close to one key each instead of letting the table fill up before it grows.
+     */
+    @Bean
+    public CacheManager cacheManager(@Value("${cache.campaigns.maximum-size}") long maximumSize,
+                                     @Value("${cache.campaigns.time-to-live}") Duration timeToLive,
+                                     @Value("${cache.users.maximum-size}") long usersMaximumSize,
+                                     @Value("${cache.users.time-to-live}") Duration usersTimeToLive,
+                                     @Value("${cache.users.negative-time-to-live}") Duration usersNegativeTimeToLive,
+                                     MeterRegistry meterRegistry) {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager() {
+            @Override
+            protected org.springframework.cache.Cache adaptCaffeineCache(String name, Cache<Object, Object> cache) {
+                return new CoalescingCaffeineCache(name, cache, isAllowNullValues(), meterRegistry);
+            }
+        };
+        cacheManager.setCaffeine(Caffeine.newBuilder()
+                .initialCapacity((int) Math.min(maximumSize, Integer.MAX_VALUE))
+                .maximumSize(maximumSize)
+                .expireAfterWrite(timeToLive)
+                .recordStats());
+        cacheManager.setAllowNullValues(false);
+        cacheManager.setCacheNames(List.of(CAMPAIGNS));
+        cacheManager.registerCustomCache(USERS, usersCache(usersMaximumSize, usersTimeToLive, usersNegativeTimeToLive,
+                meterRegistry));
+        return new TransactionAwareCacheManagerProxy(cacheManager);
+    }
+
+    /**
+     * Users by email for login. Unknown emails are cached as an empty Optional, for a shorter time, so
+     * repeated attempts against a missing account do not each reach the database.
+     */
+    private static Cache<Object, Object> usersCache(long maximumSize, Duration timeToLive, Duration negativeTimeToLive,
+                                                    MeterRegistry meterRegistry) {
+        Cache<Object, Object> users = Caffeine.newBuilder()
+                .initialCapacity((int) Math.min(maximumSize, Integer.MAX_VALUE))
+                .maximumSize(maximumSize)
+                .expireAfter(Expiry.writing((Object email, Object user) ->
+                        user instanceof Optional<?> found && found.isEmpty() ? negativeTimeToLive : timeToLive))
+                .recordStats()
+                .build();
+        Gauge.builder("cache.hit.ratio", users, cache -> cache.stats().hitRate())
+                .tag("cache", USERS)
+                .description("Share of lookups answered from the cache")
+                .register(meterRegistry);
+        return users;
+    }
+}
@@ -0,0 +1,18 @@
+package hr.algebra.donfundy.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Request budgets per endpoint group. A request is counted against the first group with a matching path
+ * pattern, relative to the context path; {@code capacity} is the burst a client may send at once and
+ * {@code refill-per-second} the sustained rate after that.
+ */
+@ConfigurationProperties("rate-limits")
+public record RateLimitProperties(Duration idleTimeout, long maximumClients, List<Group> groups) {
+
+    public record Group(String name, List<String> paths, long capacity, double refillPerSecond) {
+    }
+}
@@ -3,14 +3,18 @@ package hr.algebra.donfundy.controller;
 import hr.algebra.donfundy.dto.LoginRequest;
 import hr.algebra.donfundy.dto.LoginResponse;
 import hr.algebra.donfundy.dto.RegisterRequest;
-import hr.algebra.donfundy.security.CustomUserDetailsService;
+import hr.algebra.donfundy.security.AuthenticatedUser;
 import hr.algebra.donfundy.security.JwtUtil;
+import hr.algebra.donfundy.security.PasswordHashing;
+import hr.algebra.donfundy.security.RevokedTokens;
+import hr.algebra.donfundy.security.TokenVersions;
 import hr.algebra.donfundy.service.UserService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
@@ -18,12 +22,15 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.util.concurrent.CompletableFuture;
+
 @RestController
 @RequestMapping("/auth")
 @RequiredArgsConstructor
@@ -32,56 +39,74 @@ public class AuthController {
 
     private final AuthenticationManager authenticationManager;
     private final JwtUtil jwtUtil;
-    private final CustomUserDetailsService userDetailsService;
+    private final TokenVersions tokenVersions;
     private final UserService userService;
+    private final PasswordHashing passwordHashing;
+    private final RevokedTokens revokedTokens;
 
     @Operation(summary = "User login", description = "Authenticate user and return JWT token")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Successfully authenticated",
                     content = @Content(schema = @Schema(implementation = LoginResponse.class))),
             @ApiResponse(responseCode = "401", description = "Invalid credentials"),
-            @ApiResponse(responseCode = "400", description = "Invalid request body")
+            @ApiResponse(responseCode = "400", description = "Invalid request body"),
+            @ApiResponse(responseCode = "503", description = "Too many logins in progress, retry after the Retry-After delay")
     })
     @PostMapping("/login")
-    public ResponseEntity<LoginResponse> login(@Valid @RequestBody LoginRequest loginRequest) {
-        authenticationManager.authenticate(
-                new UsernamePasswordAuthenticationToken(
-                        loginRequest.getEmail(),
-                        loginRequest.getPassword()
-                )
-        );
-
-        UserDetails userDetails = userDetailsService.loadUserByUsername(loginRequest.getEmail());
-        String token = jwtUtil.generateToken(userDetails);
-
-        String role = userDetails.getAuthorities().stream()
-                .findFirst()
-                .map(GrantedAuthority::getAuthority)
-                .orElse("ROLE_USER");
-
-        return ResponseEntity.ok(new LoginResponse(token, userDetails.getUsername(), role));
+    public CompletableFuture<ResponseEntity<LoginResponse>> login(@Valid @RequestBody LoginRequest loginRequest) {
+        return passwordHashing.submit(() -> authenticationManager.authenticate(
+                        new UsernamePasswordAuthenticationToken(
+                                loginRequest.getEmail(),
+                                loginRequest.getPassword()
+                        )
+                ))
+                .thenApply(authentication -> issueToken((UserDetails) authentication.getPrincipal()));
     }
 
     @Operation(summary = "User registration", description = "Register a new user and return JWT token")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Successfully registered and authenticated",
                     content = @Content(schema = @Schema(implementation = LoginResponse.class))),
-            @ApiResponse(responseCode = "400", description = "Invalid request or email already exists")
+            @ApiResponse(responseCode = "400", description = "Invalid request or email already exists"),
+            @ApiResponse(responseCode = "503", description = "Too many logins in progress, retry after the Retry-After delay")
     })
     @PostMapping("/register")
-    public ResponseEntity<LoginResponse> register(@Valid @RequestBody RegisterRequest registerRequest) {
-        userService.save(registerRequest);
+    public CompletableFuture<ResponseEntity<LoginResponse>> register(@Valid @RequestBody RegisterRequest registerRequest) {
+        return passwordHashing.submit(() -> userService.hashPassword(registerRequest))
+                .thenApply(passwordHash -> userService.save(registerRequest, passwordHash))
+                .thenApply(this::issueToken);
+    }
 
-        LoginRequest loginRequest = new LoginRequest();
-        loginRequest.setEmail(registerRequest.getEmail());
-        loginRequest.setPassword(registerRequest.getPassword());
-        return login(loginRequest);
+    private ResponseEntity<LoginResponse> issueToken(UserDetails userDetails) {
+        String token = jwtUtil.generateToken(userDetails);
+
+        String role = userDetails.getAuthorities().stream()
+                .findFirst()
+                .map(GrantedAuthority::getAuthority)
+                .orElse("ROLE_USER");
+
+        return ResponseEntity.ok(new LoginResponse(token, userDetails.getUsername(), role));
     }
 
-    @Operation(summary = "User logout", description = "Logout current user (client should discard token)")
+    @Operation(summary = "User logout", description = "Revoke the token used for this request; other tokens of the user stay valid")
     @ApiResponse(responseCode = "200", description = "Successfully logged out")
     @PostMapping("/logout")
-    public ResponseEntity<Void> logout() {
+    public ResponseEntity<Void> logout(@AuthenticationPrincipal AuthenticatedUser user) {
+        if (user != null) {
+            revokedTokens.revoke(user.getTokenId(), user.getTokenExpiry());
+        }
         return ResponseEntity.ok().build();
     }
+
+    @Operation(summary = "Logout everywhere", description = "Revoke every token issued to the current user, including the one used for this request")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "204", description = "All tokens revoked"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized")
+    })
+    @SecurityRequirement(name = "bearerAuth")
+    @PostMapping("/logout-all")
+    public ResponseEntity<Void> logoutAll(@AuthenticationPrincipal AuthenticatedUser user) {
+        tokenVersions.revokeAll(user.getUserId());
+        return ResponseEntity.noContent().build();
+    }
 }
@@ -1,9 +1,20 @@
 package hr.algebra.donfundy.controller;
 
 import hr.algebra.donfundy.domain.enums.Status;
+import hr.algebra.donfundy.dto.CampaignProgressEvent;
 import hr.algebra.donfundy.dto.CampaignRequest;
 import hr.algebra.donfundy.dto.CampaignResponse;
+import hr.algebra.donfundy.dto.CursorPage;
+import hr.algebra.donfundy.dto.LeaderboardEntryResponse;
+import hr.algebra.donfundy.dto.TimeseriesPointResponse;
 import hr.algebra.donfundy.service.CampaignService;
+import hr.algebra.donfundy.service.DonationRollupService;
+import hr.algebra.donfundy.service.LeaderboardService;
+import hr.algebra.donfundy.support.CampaignEventBroadcaster;
+import hr.algebra.donfundy.support.BatchIds;
+import hr.algebra.donfundy.support.KeysetCursor;
+import hr.algebra.donfundy.support.ResourceVersions;
+import hr.algebra.donfundy.support.ResourceVersions.Resource;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.ArraySchema;
@@ -15,12 +26,20 @@ import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.util.DigestUtils;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
 import java.util.List;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/campaigns")
@@ -30,41 +49,192 @@ import java.util.List;
 public class CampaignController {
 
     private final CampaignService campaignService;
+    private final LeaderboardService leaderboardService;
+    private final DonationRollupService donationRollupService;
+    private final ResourceVersions resourceVersions;
+    private final CampaignEventBroadcaster campaignEventBroadcaster;
 
-    @Operation(summary = "Get all campaigns", description = "Retrieve all campaigns, optionally filtered by status")
+    @Operation(summary = "Get campaigns", description = "Retrieve a page of campaigns ordered by start date, newest first, optionally filtered by status")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Page of campaigns retrieved successfully",
+                    content = @Content(schema = @Schema(implementation = CursorPage.class))),
+            @ApiResponse(responseCode = "304", description = "Not modified since the ETag sent in If-None-Match"),
+            @ApiResponse(responseCode = "400", description = "Invalid cursor"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized")
+    })
+    @GetMapping
+    public ResponseEntity<CursorPage<CampaignResponse>> getCampaigns(
+            @Parameter(description = "Filter by campaign status") @RequestParam(required = false) Status status,
+            @Parameter(description = "Cursor returned as nextCursor by the previous page") @RequestParam(required = false) String cursor,
+            @Parameter(description = "Page size, at most " + KeysetCursor.MAX_LIMIT) @RequestParam(defaultValue = "" + KeysetCursor.DEFAULT_LIMIT) int limit,
+            WebRequest webRequest
+    ) {
+        if (notModified(webRequest)) {
+            return null;
+        }
+        return ResponseEntity.ok(campaignService.findPage(status, cursor, limit));
+    }
+
+    @Operation(summary = "Get campaigns with selected fields", description = "Retrieve a page of campaigns like GET /campaigns, returning only the requested fields")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Page of campaigns with the requested fields"),
+            @ApiResponse(responseCode = "304", description = "Not modified since the ETag sent in If-None-Match"),
+            @ApiResponse(responseCode = "400", description = "Unknown field or invalid cursor"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized")
+    })
+    @GetMapping(params = {"fields", "!unpaged", "!ids"})
+    public ResponseEntity<CursorPage<Map<String, Object>>> getCampaignFields(
+            @Parameter(description = "Comma separated fields to return, e.g. id,name,progressPercentage; only those columns are read") @RequestParam String fields,
+            @Parameter(description = "Filter by campaign status") @RequestParam(required = false) Status status,
+            @Parameter(description = "Cursor returned as nextCursor by the previous page") @RequestParam(required = false) String cursor,
+            @Parameter(description = "Page size, at most " + KeysetCursor.MAX_LIMIT) @RequestParam(defaultValue = "" + KeysetCursor.DEFAULT_LIMIT) int limit,
+            WebRequest webRequest
+    ) {
+        if (notModified(webRequest)) {
+            return null;
+        }
+        return ResponseEntity.ok(campaignService.findSparsePage(status, cursor, limit, fields));
+    }
+
+    @Operation(summary = "Get all campaigns", description = "Retrieve all campaigns in a single unpaged response, optionally filtered by status")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "List of campaigns retrieved successfully",
                     content = @Content(array = @ArraySchema(schema = @Schema(implementation = CampaignResponse.class)))),
+            @ApiResponse(responseCode = "304", description = "Not modified since the ETag sent in If-None-Match"),
             @ApiResponse(responseCode = "401", description = "Unauthorized")
     })
-    @GetMapping
+    @GetMapping(params = {"unpaged=true", "!ids"})
     public ResponseEntity<List<CampaignResponse>> getAllCampaigns(
-            @Parameter(description = "Filter by campaign status") @RequestParam(required = false) Status status
+            @Parameter(description = "Filter by campaign status") @RequestParam(required = false) Status status,
+            WebRequest webRequest
     ) {
+        if (notModified(webRequest)) {
+            return null;
+        }
         if (status != null) {
             return ResponseEntity.ok(campaignService.findByStatus(status));
         }
         return ResponseEntity.ok(campaignService.findAll());
     }
 
-    @Operation(summary = "Get my campaigns", description = "Retrieve campaigns created by the current user")
+    @Operation(summary = "Get campaigns by IDs", description = "Retrieve the listed campaigns in one request, in the order given; unknown IDs are left out")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Campaigns found, in request order",
+                    content = @Content(array = @ArraySchema(schema = @Schema(implementation = CampaignResponse.class)))),
+            @ApiResponse(responseCode = "304", description = "Not modified since the ETag sent in If-None-Match"),
+            @ApiResponse(responseCode = "400", description = "No IDs or more than " + BatchIds.MAX_IDS),
+            @ApiResponse(responseCode = "401", description = "Unauthorized")
+    })
+    @GetMapping(params = "ids")
+    public ResponseEntity<List<CampaignResponse>> getCampaignsByIds(
+            @Parameter(description = "Comma separated campaign IDs, at most " + BatchIds.MAX_IDS) @RequestParam(required = false) List<Long> ids,
+            WebRequest webRequest
+    ) {
+        if (notModified(webRequest)) {
+            return null;
+        }
+        return ResponseEntity.ok(campaignService.findByIds(ids));
+    }
+
+    @Operation(summary = "Get my campaigns", description = "Retrieve a page of campaigns created by the current user, ordered by start date, newest first")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Page of user's campaigns",
+                    content = @Content(schema = @Schema(implementation = CursorPage.class))),
+            @ApiResponse(responseCode = "400", description = "Invalid cursor")
+    })
+    @GetMapping("/my-campaigns")
+    public ResponseEntity<CursorPage<CampaignResponse>> getMyCampaigns(
+            @Parameter(description = "Cursor returned as nextCursor by the previous page") @RequestParam(required = false) String cursor,
+            @Parameter(description = "Page size, at most " + KeysetCursor.MAX_LIMIT) @RequestParam(defaultValue = "" + KeysetCursor.DEFAULT_LIMIT) int limit
+    ) {
+        return ResponseEntity.ok(campaignService.findPageByCurrentUser(cursor, limit));
+    }
+
+    @Operation(summary = "Get all my campaigns", description = "Retrieve all campaigns created by the current user in a single unpaged response")
     @ApiResponse(responseCode = "200", description = "List of user's campaigns",
             content = @Content(array = @ArraySchema(schema = @Schema(implementation = CampaignResponse.class))))
-    @GetMapping("/my-campaigns")
-    public ResponseEntity<List<CampaignResponse>> getMyCampaigns() {
+    @GetMapping(value = "/my-campaigns", params = "unpaged=true")
+    public ResponseEntity<List<CampaignResponse>> getAllMyCampaigns() {
         return ResponseEntity.ok(campaignService.findByCurrentUser());
     }
 
+    @Operation(summary = "Search campaigns", description = "Full-text search over campaign names and descriptions, best matches first; name matches rank above description matches")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Page of matching campaigns",
+                    content = @Content(schema = @Schema(implementation = CursorPage.class))),
+            @ApiResponse(responseCode = "400", description = "Empty query or invalid cursor"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized")
+    })
+    @GetMapping("/search")
+    public ResponseEntity<CursorPage<CampaignResponse>> searchCampaigns(
+            @Parameter(description = "Search terms; supports quoted phrases, OR and -excluded words") @RequestParam String q,
+            @Parameter(description = "Cursor returned as nextCursor by the previous page") @RequestParam(required = false) String cursor,
+            @Parameter(description = "Page size, at most " + KeysetCursor.MAX_LIMIT) @RequestParam(defaultValue = "" + KeysetCursor.DEFAULT_LIMIT) int limit
+    ) {
+        return ResponseEntity.ok(campaignService.search(q, cursor, limit));
+    }
+
     @Operation(summary = "Get campaign by ID", description = "Retrieve a specific campaign by its ID")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Campaign found",
                     content = @Content(schema = @Schema(implementation = CampaignResponse.class))),
+            @ApiResponse(responseCode = "304", description = "Not modified since the ETag sent in If-None-Match"),
             @ApiResponse(responseCode = "404", description = "Campaign not found")
     })
     @GetMapping("/{id}")
     public ResponseEntity<CampaignResponse> getCampaignById(
-            @Parameter(description = "Campaign ID") @PathVariable Long id) {
-        return ResponseEntity.ok(campaignService.findById(id));
+            @Parameter(description = "Campaign ID") @PathVariable Long id, WebRequest webRequest) {
+        CampaignResponse campaign = campaignService.findById(id);
+        if (resourceVersions.checkNotModified(webRequest, etagOf(campaign))) {
+            return null;
+        }
+        return ResponseEntity.ok(campaign);
+    }
+
+    @Operation(summary = "Stream campaign progress",
+            description = "Server-Sent Events stream of the campaign's raised amount and status. Sends the current state first, " +
+                    "then one '" + CampaignEventBroadcaster.PROGRESS_EVENT + "' event per burst of changes; use it instead of polling GET /campaigns/{id}")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Event stream opened",
+                    content = @Content(mediaType = MediaType.TEXT_EVENT_STREAM_VALUE, schema = @Schema(implementation = CampaignProgressEvent.class))),
+            @ApiResponse(responseCode = "404", description = "Campaign not found")
+    })
+    @GetMapping(value = "/{id}/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamCampaignEvents(@Parameter(description = "Campaign ID") @PathVariable Long id) {
+        return campaignEventBroadcaster.subscribe(CampaignProgressEvent.of(campaignService.findById(id)));
+    }
+
+    @Operation(summary = "Get campaign leaderboard", description = "Retrieve the campaign's top donors by total amount donated")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Top donors, highest total first",
+                    content = @Content(array = @ArraySchema(schema = @Schema(implementation = LeaderboardEntryResponse.class)))),
+            @ApiResponse(responseCode = "404", description = "Campaign not found")
+    })
+    @GetMapping("/{id}/leaderboard")
+    public ResponseEntity<List<LeaderboardEntryResponse>> getLeaderboard(
+            @Parameter(description = "Campaign ID") @PathVariable Long id,
+            @Parameter(description = "Number of donors, at most " + LeaderboardService.MAX_LIMIT) @RequestParam(defaultValue = "" + LeaderboardService.DEFAULT_LIMIT) int limit
+    ) {
+        return ResponseEntity.ok(leaderboardService.getLeaderboard(id, limit));
+    }
+
+    @Operation(summary = "Get campaign donation timeseries", description = "Retrieve the campaign's donation totals per day or week and payment method, oldest first")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Totals per bucket and payment method",
+                    content = @Content(array = @ArraySchema(schema = @Schema(implementation = TimeseriesPointResponse.class)))),
+            @ApiResponse(responseCode = "400", description = "Invalid bucket or date range"),
+            @ApiResponse(responseCode = "404", description = "Campaign not found")
+    })
+    @GetMapping("/{id}/timeseries")
+    public ResponseEntity<List<TimeseriesPointResponse>> getTimeseries(
+            @Parameter(description = "Campaign ID") @PathVariable Long id,
+            @Parameter(description = "Bucket size", schema = @Schema(allowableValues = {"day", "week"})) @RequestParam(defaultValue = "day") String bucket,
+            @Parameter(description = "First day to include, defaults to " + DonationRollupService.DEFAULT_DAYS + " days or " + DonationRollupService.DEFAULT_WEEKS + " weeks before to")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @Parameter(description = "Last day to include, defaults to today")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to
+    ) {
+        return ResponseEntity.ok(donationRollupService.getTimeseries(id, bucket, from, to));
     }
 
     @Operation(summary = "Create campaign", description = "Create a new campaign (Admin only)")
@@ -110,4 +280,17 @@ public class CampaignController {
         campaignService.delete(id);
         return ResponseEntity.noContent().build();
     }
+
+    private boolean notModified(WebRequest webRequest) {
+        return resourceVersions.checkNotModified(webRequest, Resource.CAMPAIGNS);
+    }
+
+    /**
+     * A single campaign is tagged by a digest of the response itself rather than by the campaigns counter.
+     * The counter moves when a write commits, but the cached response is only replaced afterwards, so a
+     * counter-based tag could be handed out with the previous body and then answer 304 for it.
+     */
+    private static String etagOf(CampaignResponse campaign) {
+        return "W/\"campaign-" + DigestUtils.md5DigestAsHex(campaign.toString().getBytes(StandardCharsets.UTF_8)) + "\"";
+    }
 }
@@ -1,8 +1,13 @@
 package hr.algebra.donfundy.controller;
 
+import hr.algebra.donfundy.dto.CursorPage;
 import hr.algebra.donfundy.dto.DonationRequest;
 import hr.algebra.donfundy.dto.DonationResponse;
 import hr.algebra.donfundy.service.DonationService;
+import hr.algebra.donfundy.support.BatchIds;
+import hr.algebra.donfundy.support.KeysetCursor;
+import hr.algebra.donfundy.support.ResourceVersions;
+import hr.algebra.donfundy.support.ResourceVersions.Resource;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.ArraySchema;
@@ -15,10 +20,18 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import tools.jackson.core.JsonGenerator;
+import tools.jackson.core.StreamWriteFeature;
+import tools.jackson.databind.json.JsonMapper;
 
 import java.util.List;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/donations")
@@ -28,18 +41,69 @@ import java.util.List;
 public class DonationController {
 
     private final DonationService donationService;
+    private final ResourceVersions resourceVersions;
+    private final JsonMapper jsonMapper;
 
-    @Operation(summary = "Get all donations", description = "Retrieve all donations, optionally filtered by campaign or donor")
+    @Operation(summary = "Get donations", description = "Retrieve a page of donations ordered by donation date, newest first, optionally filtered by campaign or donor")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Page of donations retrieved successfully",
+                    content = @Content(schema = @Schema(implementation = CursorPage.class))),
+            @ApiResponse(responseCode = "304", description = "Not modified since the ETag sent in If-None-Match"),
+            @ApiResponse(responseCode = "400", description = "Invalid cursor"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized")
+    })
+    @GetMapping
+    public ResponseEntity<CursorPage<DonationResponse>> getDonations(
+            @Parameter(description = "Filter by campaign ID") @RequestParam(required = false) Long campaignId,
+            @Parameter(description = "Filter by donor ID") @RequestParam(required = false) Long donorId,
+            @Parameter(description = "Cursor returned as nextCursor by the previous page") @RequestParam(required = false) String cursor,
+            @Parameter(description = "Page size, at most " + KeysetCursor.MAX_LIMIT) @RequestParam(defaultValue = "" + KeysetCursor.DEFAULT_LIMIT) int limit,
+            WebRequest webRequest
+    ) {
+        if (notModified(webRequest)) {
+            return null;
+        }
+        return ResponseEntity.ok(donationService.findPage(campaignId, donorId, cursor, limit));
+    }
+
+    @Operation(summary = "Get donations with selected fields", description = "Retrieve a page of donations like GET /donations, returning only the requested fields")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Page of donations with the requested fields"),
+            @ApiResponse(responseCode = "304", description = "Not modified since the ETag sent in If-None-Match"),
+            @ApiResponse(responseCode = "400", description = "Unknown field or invalid cursor"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized")
+    })
+    @GetMapping(params = {"fields", "!unpaged", "!ids"})
+    public ResponseEntity<CursorPage<Map<String, Object>>> getDonationFields(
+            @Parameter(description = "Comma separated fields to return, e.g. id,amount,donationDate; only those columns are read") @RequestParam String fields,
+            @Parameter(description = "Filter by campaign ID") @RequestParam(required = false) Long campaignId,
+            @Parameter(description = "Filter by donor ID") @RequestParam(required = false) Long donorId,
+            @Parameter(description = "Cursor returned as nextCursor by the previous page") @RequestParam(required = false) String cursor,
+            @Parameter(description = "Page size, at most " + KeysetCursor.MAX_LIMIT) @RequestParam(defaultValue = "" + KeysetCursor.DEFAULT_LIMIT) int limit,
+            WebRequest webRequest
+    ) {
+        if (notModified(webRequest)) {
+            return null;
+        }
+        return ResponseEntity.ok(donationService.findSparsePage(campaignId, donorId, cursor, limit, fields));
+    }
+
+    @Operation(summary = "Get all donations", description = "Retrieve all donations in a single unpaged response, optionally filtered by campaign or donor")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "List of donations retrieved successfully",
                     content = @Content(array = @ArraySchema(schema = @Schema(implementation = DonationResponse.class)))),
+            @ApiResponse(responseCode = "304", description = "Not modified since the ETag sent in If-None-Match"),
             @ApiResponse(responseCode = "401", description = "Unauthorized")
     })
-    @GetMapping
+    @GetMapping(params = {"unpaged=true", "!ids"})
     public ResponseEntity<List<DonationResponse>> getAllDonations(
             @Parameter(description = "Filter by campaign ID") @RequestParam(required = false) Long campaignId,
-            @Parameter(description = "Filter by donor ID") @RequestParam(required = false) Long donorId
+            @Parameter(description = "Filter by donor ID") @RequestParam(required = false) Long donorId,
+            WebRequest webRequest
     ) {
+        if (notModified(webRequest)) {
+            return null;
+        }
         if (campaignId != null) {
             return ResponseEntity.ok(donationService.findByCampaignId(campaignId));
         }
@@ -49,15 +113,59 @@ public class DonationController {
         return ResponseEntity.ok(donationService.findAll());
     }
 
+    @Operation(summary = "Get donations by IDs", description = "Retrieve the listed donations in one request, in the order given; unknown IDs are left out")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Donations found, in request order",
+                    content = @Content(array = @ArraySchema(schema = @Schema(implementation = DonationResponse.class)))),
+            @ApiResponse(responseCode = "304", description = "Not modified since the ETag sent in If-None-Match"),
+            @ApiResponse(responseCode = "400", description = "No IDs or more than " + BatchIds.MAX_IDS),
+            @ApiResponse(responseCode = "401", description = "Unauthorized")
+    })
+    @GetMapping(params = "ids")
+    public ResponseEntity<List<DonationResponse>> getDonationsByIds(
+            @Parameter(description = "Comma separated donation IDs, at most " + BatchIds.MAX_IDS) @RequestParam(required = false) List<Long> ids,
+            WebRequest webRequest
+    ) {
+        if (notModified(webRequest)) {
+            return null;
+        }
+        return ResponseEntity.ok(donationService.findByIds(ids));
+    }
+
+    @Operation(summary = "Export donations", description = "Stream every donation as one JSON array, ordered by ID (Admin only)")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Donations streamed successfully",
+                    content = @Content(array = @ArraySchema(schema = @Schema(implementation = DonationResponse.class)))),
+            @ApiResponse(responseCode = "403", description = "Access denied - Admin role required")
+    })
+    @GetMapping("/export")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<StreamingResponseBody> exportDonations() {
+        StreamingResponseBody body = outputStream -> {
+            try (JsonGenerator generator = jsonMapper.writer()
+                    .without(StreamWriteFeature.AUTO_CLOSE_TARGET)
+                    .createGenerator(outputStream)) {
+                generator.writeStartArray();
+                donationService.exportAll(generator::writePOJO);
+                generator.writeEndArray();
+            }
+        };
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(body);
+    }
+
     @Operation(summary = "Get donation by ID", description = "Retrieve a specific donation by its ID")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Donation found",
                     content = @Content(schema = @Schema(implementation = DonationResponse.class))),
+            @ApiResponse(responseCode = "304", description = "Not modified since the ETag sent in If-None-Match"),
             @ApiResponse(responseCode = "404", description = "Donation not found")
     })
     @GetMapping("/{id}")
     public ResponseEntity<DonationResponse> getDonationById(
-            @Parameter(description = "Donation ID") @PathVariable Long id) {
+            @Parameter(description = "Donation ID") @PathVariable Long id, WebRequest webRequest) {
+        if (notModified(webRequest)) {
+            return null;
+        }
         return ResponseEntity.ok(donationService.findById(id));
     }
 
@@ -85,4 +193,8 @@ public class DonationController {
         donationService.delete(id);
         return ResponseEntity.noContent().build();
     }
+
+    private boolean notModified(WebRequest webRequest) {
+        return resourceVersions.checkNotModified(webRequest, Resource.DONATIONS);
+    }
 }
@@ -1,8 +1,12 @@
 package hr.algebra.donfundy.controller;
 
+import hr.algebra.donfundy.dto.CursorPage;
 import hr.algebra.donfundy.dto.DonorRequest;
 import hr.algebra.donfundy.dto.DonorResponse;
+import hr.algebra.donfundy.dto.DonorSummaryResponse;
 import hr.algebra.donfundy.service.DonorService;
+import hr.algebra.donfundy.support.BatchIds;
+import hr.algebra.donfundy.support.KeysetCursor;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.ArraySchema;
@@ -19,6 +23,7 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/donors")
@@ -29,14 +34,55 @@ public class DonorController {
 
     private final DonorService donorService;
 
-    @Operation(summary = "Get all donors", description = "Retrieve all donors in the system")
+    @Operation(summary = "Get donors", description = "Retrieve a page of donors ordered by last name")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Page of donors retrieved successfully",
+                    content = @Content(schema = @Schema(implementation = CursorPage.class))),
+            @ApiResponse(responseCode = "400", description = "Invalid cursor")
+    })
+    @GetMapping
+    public ResponseEntity<CursorPage<DonorResponse>> getDonors(
+            @Parameter(description = "Cursor returned as nextCursor by the previous page") @RequestParam(required = false) String cursor,
+            @Parameter(description = "Page size, at most " + KeysetCursor.MAX_LIMIT) @RequestParam(defaultValue = "" + KeysetCursor.DEFAULT_LIMIT) int limit
+    ) {
+        return ResponseEntity.ok(donorService.findPage(cursor, limit));
+    }
+
+    @Operation(summary = "Get donors with selected fields", description = "Retrieve a page of donors like GET /donors, returning only the requested fields")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Page of donors with the requested fields"),
+            @ApiResponse(responseCode = "400", description = "Unknown field or invalid cursor")
+    })
+    @GetMapping(params = {"fields", "!unpaged", "!ids"})
+    public ResponseEntity<CursorPage<Map<String, Object>>> getDonorFields(
+            @Parameter(description = "Comma separated fields to return, e.g. id,firstName,lastName; only those columns are read") @RequestParam String fields,
+            @Parameter(description = "Cursor returned as nextCursor by the previous page") @RequestParam(required = false) String cursor,
+            @Parameter(description = "Page size, at most " + KeysetCursor.MAX_LIMIT) @RequestParam(defaultValue = "" + KeysetCursor.DEFAULT_LIMIT) int limit
+    ) {
+        return ResponseEntity.ok(donorService.findSparsePage(cursor, limit, fields));
+    }
+
+    @Operation(summary = "Get all donors", description = "Retrieve all donors in the system in a single unpaged response")
     @ApiResponse(responseCode = "200", description = "List of donors retrieved successfully",
             content = @Content(array = @ArraySchema(schema = @Schema(implementation = DonorResponse.class))))
-    @GetMapping
+    @GetMapping(params = {"unpaged=true", "!ids"})
     public ResponseEntity<List<DonorResponse>> getAllDonors() {
         return ResponseEntity.ok(donorService.findAll());
     }
 
+    @Operation(summary = "Get donors by IDs", description = "Retrieve the listed donors in one request, in the order given; unknown IDs are left out")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Donors found, in request order",
+                    content = @Content(array = @ArraySchema(schema = @Schema(implementation = DonorResponse.class)))),
+            @ApiResponse(responseCode = "400", description = "No IDs or more than " + BatchIds.MAX_IDS)
+    })
+    @GetMapping(params = "ids")
+    public ResponseEntity<List<DonorResponse>> getDonorsByIds(
+            @Parameter(description = "Comma separated donor IDs, at most " + BatchIds.MAX_IDS) @RequestParam(required = false) List<Long> ids
+    ) {
+        return ResponseEntity.ok(donorService.findByIds(ids));
+    }
+
     @Operation(summary = "Get current user's donor profile", description = "Retrieve the donor profile of the authenticated user")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Donor profile found",
@@ -60,6 +106,18 @@ public class DonorController {
         return ResponseEntity.ok(donorService.findById(id));
     }
 
+    @Operation(summary = "Get donor giving summary", description = "Retrieve the donor's total given, donation count, first and last donation dates and number of campaigns supported")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Giving summary",
+                    content = @Content(schema = @Schema(implementation = DonorSummaryResponse.class))),
+            @ApiResponse(responseCode = "404", description = "Donor not found")
+    })
+    @GetMapping("/{id}/summary")
+    public ResponseEntity<DonorSummaryResponse> getDonorSummary(
+            @Parameter(description = "Donor ID") @PathVariable Long id) {
+        return ResponseEntity.ok(donorService.getSummary(id));
+    }
+
     @Operation(summary = "Get donor by user ID", description = "Retrieve a donor by their associated user ID")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Donor found",
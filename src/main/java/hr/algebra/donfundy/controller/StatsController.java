@@ -0,0 +1,40 @@
+package hr.algebra.donfundy.controller;
+
+import hr.algebra.donfundy.dto.StatsSummaryResponse;
+import hr.algebra.donfundy.service.StatsService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/stats")
+@RequiredArgsConstructor
+@Tag(name = "Statistics", description = "Dashboard statistics endpoints (Admin only)")
+@SecurityRequirement(name = "bearerAuth")
+public class StatsController {
+
+    private final StatsService statsService;
+
+    @Operation(summary = "Get summary statistics",
+            description = "Retrieve campaign, donation and donor totals, maintained incrementally on every write (Admin only)")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Summary retrieved successfully",
+                    content = @Content(schema = @Schema(implementation = StatsSummaryResponse.class))),
+            @ApiResponse(responseCode = "403", description = "Access denied - Admin role required")
+    })
+    @GetMapping("/summary")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<StatsSummaryResponse> getSummary() {
+        return ResponseEntity.ok(statsService.getSummary());
+    }
+}
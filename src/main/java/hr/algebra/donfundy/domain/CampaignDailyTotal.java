@@ -0,0 +1,40 @@
+package hr.algebra.donfundy.domain;
+
+import hr.algebra.donfundy.domain.enums.PaymentMethod;
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+@Entity
+@Getter
+@Setter
+@Table(name = "campaign_daily_total")
+@IdClass(CampaignDailyTotal.Key.class)
+public class CampaignDailyTotal {
+
+    @Id
+    @Column(name = "campaign_id")
+    private Long campaignId;
+
+    @Id
+    @Column(name = "day")
+    private LocalDate day;
+
+    @Id
+    @Enumerated(EnumType.STRING)
+    @Column(name = "payment_method")
+    private PaymentMethod paymentMethod;
+
+    @Column(name = "total_amount", nullable = false, precision = 14, scale = 2)
+    private BigDecimal totalAmount;
+
+    @Column(name = "donation_count", nullable = false)
+    private Long donationCount;
+
+    public record Key(Long campaignId, LocalDate day, PaymentMethod paymentMethod) implements Serializable {
+    }
+}
@@ -0,0 +1,33 @@
+package hr.algebra.donfundy.domain;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+
+@Entity
+@Getter
+@Setter
+@Table(name = "campaign_donor_total")
+@IdClass(CampaignDonorTotal.Key.class)
+public class CampaignDonorTotal {
+
+    @Id
+    @Column(name = "campaign_id")
+    private Long campaignId;
+
+    @Id
+    @Column(name = "donor_id")
+    private Long donorId;
+
+    @Column(name = "total_amount", nullable = false, precision = 14, scale = 2)
+    private BigDecimal totalAmount;
+
+    @Column(name = "donation_count", nullable = false)
+    private Long donationCount;
+
+    public record Key(Long campaignId, Long donorId) implements Serializable {
+    }
+}
@@ -0,0 +1,19 @@
+package hr.algebra.donfundy.domain;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+
+@Entity
+@Getter
+@Setter
+@Table(name = "resource_version")
+public class ResourceVersion {
+
+    @Id
+    @Column(name = "resource")
+    private String resource;
+
+    @Column(name = "version", nullable = false)
+    private Long version;
+}
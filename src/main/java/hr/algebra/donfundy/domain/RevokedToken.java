@@ -0,0 +1,25 @@
+package hr.algebra.donfundy.domain;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.Instant;
+import java.util.UUID;
+
+@Entity
+@Getter
+@Setter
+@Table(name = "revoked_token")
+public class RevokedToken {
+
+    @Id
+    @Column(name = "token_id")
+    private UUID tokenId;
+
+    @Column(name = "expires_at", nullable = false)
+    private Instant expiresAt;
+
+    @Column(name = "revoked_at", nullable = false, insertable = false, updatable = false)
+    private Instant revokedAt;
+}
@@ -0,0 +1,34 @@
+package hr.algebra.donfundy.domain;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+
+@Entity
+@Getter
+@Setter
+@Table(name = "stats_summary")
+public class StatsSummary {
+
+    public static final Long SINGLETON_ID = 1L;
+
+    @Id
+    @Column(name = "id")
+    private Long id;
+
+    @Column(name = "campaign_count", nullable = false)
+    private Long campaignCount;
+
+    @Column(name = "active_campaign_count", nullable = false)
+    private Long activeCampaignCount;
+
+    @Column(name = "donation_count", nullable = false)
+    private Long donationCount;
+
+    @Column(name = "donor_count", nullable = false)
+    private Long donorCount;
+
+    @Column(name = "total_raised", nullable = false)
+    private Double totalRaised;
+
+}
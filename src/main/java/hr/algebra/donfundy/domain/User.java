@@ -26,4 +26,7 @@ public class User extends AbstractJpaEntity{
 
     @Column(name = "last_name")
     private String lastName;
+
+    @Column(name = "token_version", nullable = false)
+    private long tokenVersion;
 }
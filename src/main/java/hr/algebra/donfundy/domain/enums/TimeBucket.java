@@ -0,0 +1,6 @@
+package hr.algebra.donfundy.domain.enums;
+
+public enum TimeBucket {
+    DAY,
+    WEEK
+}
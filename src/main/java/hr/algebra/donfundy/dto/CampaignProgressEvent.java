@@ -0,0 +1,44 @@
+package hr.algebra.donfundy.dto;
+
+import hr.algebra.donfundy.domain.Campaign;
+import hr.algebra.donfundy.domain.enums.Status;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Latest fundraising progress of a campaign, pushed on the campaign's event stream")
+public class CampaignProgressEvent {
+
+    @Schema(description = "Campaign unique identifier", example = "1")
+    private Long campaignId;
+
+    @Schema(description = "Total amount raised so far", example = "5500.00")
+    private Double raisedAmount;
+
+    @Schema(description = "Fundraising goal amount", example = "10000.00")
+    private Double goalAmount;
+
+    @Schema(description = "Progress towards goal as percentage", example = "55.0")
+    private Double progressPercentage;
+
+    @Schema(description = "Campaign status", example = "ACTIVE")
+    private Status status;
+
+    public static CampaignProgressEvent of(Campaign campaign) {
+        return of(campaign.getId(), campaign.getRaisedAmount(), campaign.getGoalAmount(), campaign.getStatus());
+    }
+
+    public static CampaignProgressEvent of(CampaignResponse campaign) {
+        return of(campaign.getId(), campaign.getRaisedAmount(), campaign.getGoalAmount(), campaign.getStatus());
+    }
+
+    private static CampaignProgressEvent of(Long campaignId, Double raisedAmount, Double goalAmount, Status status) {
+        double raised = raisedAmount != null ? raisedAmount : 0.0;
+        double percentage = goalAmount > 0 ? (raised / goalAmount) * 100 : 0;
+        return new CampaignProgressEvent(campaignId, raised, goalAmount, Math.min(percentage, 100.0), status);
+    }
+}
@@ -0,0 +1,35 @@
+package hr.algebra.donfundy.dto;
+
+import hr.algebra.donfundy.support.KeysetCursor;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.function.Function;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "One page of results with an opaque cursor to the next page")
+public class CursorPage<T> {
+
+    @Schema(description = "Items on this page")
+    private List<T> items;
+
+    @Schema(description = "Cursor to pass back to fetch the next page, null on the last page", example = "MjAyNC0wMy0xNXw0Mg")
+    private String nextCursor;
+
+    /**
+     * Builds a page from rows fetched with a limit of {@code limit + 1}; the extra row only signals that
+     * another page exists and is not returned.
+     */
+    public static <E, T> CursorPage<T> of(List<E> rows, int limit,
+                                          Function<E, KeysetCursor> cursorOf, Function<E, T> mapper) {
+        boolean hasMore = rows.size() > limit;
+        List<E> pageRows = hasMore ? rows.subList(0, limit) : rows;
+        String nextCursor = hasMore ? cursorOf.apply(pageRows.get(limit - 1)).encode() : null;
+        return new CursorPage<>(pageRows.stream().map(mapper).toList(), nextCursor);
+    }
+}
@@ -2,12 +2,16 @@ package hr.algebra.donfundy.dto;
 
 import hr.algebra.donfundy.domain.enums.PaymentMethod;
 import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
 import lombok.Data;
+import lombok.NoArgsConstructor;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
 
 @Data
+@NoArgsConstructor
+@AllArgsConstructor
 @Schema(description = "Donation response with full details")
 public class DonationResponse {
 
@@ -0,0 +1,34 @@
+package hr.algebra.donfundy.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "A donor's lifetime giving")
+public class DonorSummaryResponse {
+
+    @Schema(description = "ID of the donor", example = "1")
+    private Long donorId;
+
+    @Schema(description = "Sum of all the donor's donations", example = "1250.00")
+    private BigDecimal totalAmount;
+
+    @Schema(description = "Number of donations the donor made", example = "12")
+    private Long donationCount;
+
+    @Schema(description = "Number of distinct campaigns the donor gave to", example = "4")
+    private Long campaignCount;
+
+    @Schema(description = "Date of the donor's first donation, null if they never donated", example = "2024-01-15")
+    private LocalDate firstDonationDate;
+
+    @Schema(description = "Date of the donor's latest donation, null if they never donated", example = "2024-03-15")
+    private LocalDate lastDonationDate;
+}
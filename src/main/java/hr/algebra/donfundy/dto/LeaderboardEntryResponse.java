@@ -0,0 +1,27 @@
+package hr.algebra.donfundy.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "A donor's combined donations to one campaign")
+public class LeaderboardEntryResponse {
+
+    @Schema(description = "ID of the donor", example = "1")
+    private Long donorId;
+
+    @Schema(description = "Full name of the donor", example = "John Doe")
+    private String donorName;
+
+    @Schema(description = "Sum of the donor's donations to the campaign", example = "450.00")
+    private BigDecimal totalAmount;
+
+    @Schema(description = "Number of donations the donor made to the campaign", example = "3")
+    private Long donationCount;
+}
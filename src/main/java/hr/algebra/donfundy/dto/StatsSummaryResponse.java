@@ -0,0 +1,24 @@
+package hr.algebra.donfundy.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Data;
+
+@Data
+@Schema(description = "Platform-wide totals for the admin dashboard")
+public class StatsSummaryResponse {
+
+    @Schema(description = "Number of campaigns", example = "42")
+    private Long campaignCount;
+
+    @Schema(description = "Number of campaigns with ACTIVE status", example = "17")
+    private Long activeCampaignCount;
+
+    @Schema(description = "Number of donations", example = "1250")
+    private Long donationCount;
+
+    @Schema(description = "Number of donors", example = "380")
+    private Long donorCount;
+
+    @Schema(description = "Sum of the raised amount of all campaigns", example = "98250.50")
+    private Double totalRaised;
+}
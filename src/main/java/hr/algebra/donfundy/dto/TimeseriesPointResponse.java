@@ -0,0 +1,29 @@
+package hr.algebra.donfundy.dto;
+
+import hr.algebra.donfundy.domain.enums.PaymentMethod;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Donations to a campaign in one time bucket made with one payment method")
+public class TimeseriesPointResponse {
+
+    @Schema(description = "First day of the bucket; weeks start on Monday", example = "2024-03-11")
+    private LocalDate bucketStart;
+
+    @Schema(description = "Payment method used", example = "CARD")
+    private PaymentMethod paymentMethod;
+
+    @Schema(description = "Sum of the donations in the bucket", example = "1250.00")
+    private BigDecimal totalAmount;
+
+    @Schema(description = "Number of donations in the bucket", example = "14")
+    private Long donationCount;
+}
@@ -2,8 +2,10 @@ package hr.algebra.donfundy.exception;
 
 import hr.algebra.donfundy.support.ErrorResponse;
 import hr.algebra.donfundy.support.MessageService;
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.access.AccessDeniedException;
@@ -58,6 +60,15 @@ public class ExceptionAdvice {
         return createErrorResponse(ex, request.getLocale());
     }
 
+    @ExceptionHandler(ServiceUnavailableException.class)
+    @ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+    public ErrorResponse handleServiceUnavailableException(ServiceUnavailableException ex, WebRequest request,
+                                                           HttpServletResponse response) {
+        log.warn("Service unavailable: {}", ex.getMessageCode());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSeconds()));
+        return createErrorResponse(ex, request.getLocale());
+    }
+
     @ExceptionHandler(UsernameNotFoundException.class)
     @ResponseStatus(HttpStatus.UNAUTHORIZED)
     public ErrorResponse handleUsernameNotFoundException(UsernameNotFoundException ex, WebRequest request) {
@@ -0,0 +1,15 @@
+package hr.algebra.donfundy.exception;
+
+import lombok.Getter;
+
+@Getter
+public class ServiceUnavailableException extends LocalizedException {
+
+    private final long retryAfterSeconds;
+
+    public ServiceUnavailableException(String messageCode, long retryAfterSeconds) {
+        super(messageCode);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+}
@@ -0,0 +1,84 @@
+package hr.algebra.donfundy.repository;
+
+import hr.algebra.donfundy.domain.CampaignDailyTotal;
+import hr.algebra.donfundy.domain.enums.PaymentMethod;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface CampaignDailyTotalRepository extends JpaRepository<CampaignDailyTotal, CampaignDailyTotal.Key> {
+
+    String BUCKET_TOTALS = "payment_method AS paymentMethod, " +
+            "SUM(total_amount) AS totalAmount, CAST(SUM(donation_count) AS bigint) AS donationCount " +
+            "FROM campaign_daily_total " +
+            "WHERE campaign_id = :campaignId AND day BETWEEN :from AND :to " +
+            "GROUP BY 1, 2 ORDER BY 1, 2";
+
+    interface BucketTotal {
+        LocalDate getBucketStart();
+
+        String getPaymentMethod();
+
+        BigDecimal getTotalAmount();
+
+        Long getDonationCount();
+    }
+
+    /**
+     * Adds donations to the campaign's total for one day and payment method, creating the row on the
+     * first such donation. A single upsert, so concurrent donations never lose an increment.
+     */
+    @Modifying
+    @Query(value = "INSERT INTO campaign_daily_total (campaign_id, day, payment_method, total_amount, donation_count) " +
+            "VALUES (:campaignId, :day, :paymentMethod, :amount, :count) " +
+            "ON CONFLICT (campaign_id, day, payment_method) DO UPDATE SET " +
+            "total_amount = campaign_daily_total.total_amount + EXCLUDED.total_amount, " +
+            "donation_count = campaign_daily_total.donation_count + EXCLUDED.donation_count",
+            nativeQuery = true)
+    int addDonations(Long campaignId, LocalDate day, String paymentMethod, BigDecimal amount, long count);
+
+    @Modifying
+    @Query("UPDATE CampaignDailyTotal r SET " +
+            "r.totalAmount = r.totalAmount - :amount, " +
+            "r.donationCount = r.donationCount - 1 " +
+            "WHERE r.campaignId = :campaignId AND r.day = :day AND r.paymentMethod = :paymentMethod")
+    int removeDonation(Long campaignId, LocalDate day, PaymentMethod paymentMethod, BigDecimal amount);
+
+    @Modifying
+    @Query("DELETE FROM CampaignDailyTotal r " +
+            "WHERE r.campaignId = :campaignId AND r.day = :day AND r.paymentMethod = :paymentMethod " +
+            "AND r.donationCount <= 0")
+    int deleteIfEmpty(Long campaignId, LocalDate day, PaymentMethod paymentMethod);
+
+    /**
+     * Subtracts all of a donor's donations, grouped by campaign, day and payment method, in one statement.
+     */
+    @Modifying
+    @Query(value = "UPDATE campaign_daily_total r SET " +
+            "total_amount = r.total_amount - d.total_amount, " +
+            "donation_count = r.donation_count - d.donation_count " +
+            "FROM (SELECT campaign_id, donation_date, payment_method, SUM(amount) AS total_amount, COUNT(*) AS donation_count " +
+            "FROM donation WHERE donor_id = :donorId " +
+            "GROUP BY campaign_id, donation_date, payment_method) d " +
+            "WHERE r.campaign_id = d.campaign_id AND r.day = d.donation_date AND r.payment_method = d.payment_method",
+            nativeQuery = true)
+    int removeDonationsByDonor(Long donorId);
+
+    @Modifying
+    @Query(value = "DELETE FROM campaign_daily_total WHERE donation_count <= 0 " +
+            "AND campaign_id IN (SELECT campaign_id FROM donation WHERE donor_id = :donorId)",
+            nativeQuery = true)
+    int deleteEmptyForDonor(Long donorId);
+
+    @Query(value = "SELECT day AS bucketStart, " + BUCKET_TOTALS, nativeQuery = true)
+    List<BucketTotal> findDailyTotals(Long campaignId, LocalDate from, LocalDate to);
+
+    @Query(value = "SELECT CAST(date_trunc('week', day) AS date) AS bucketStart, " + BUCKET_TOTALS, nativeQuery = true)
+    List<BucketTotal> findWeeklyTotals(Long campaignId, LocalDate from, LocalDate to);
+}
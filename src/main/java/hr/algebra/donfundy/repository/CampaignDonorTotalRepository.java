@@ -0,0 +1,48 @@
+package hr.algebra.donfundy.repository;
+
+import hr.algebra.donfundy.domain.CampaignDonorTotal;
+import hr.algebra.donfundy.dto.LeaderboardEntryResponse;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+@Repository
+public interface CampaignDonorTotalRepository extends JpaRepository<CampaignDonorTotal, CampaignDonorTotal.Key> {
+
+    /**
+     * Adds donations to a donor's running total for a campaign, creating the row on the donor's first
+     * donation. A single upsert, so concurrent donations by the same donor never lose an increment.
+     */
+    @Modifying
+    @Query(value = "INSERT INTO campaign_donor_total (campaign_id, donor_id, total_amount, donation_count) " +
+            "VALUES (:campaignId, :donorId, :amount, :count) " +
+            "ON CONFLICT (campaign_id, donor_id) DO UPDATE SET " +
+            "total_amount = campaign_donor_total.total_amount + EXCLUDED.total_amount, " +
+            "donation_count = campaign_donor_total.donation_count + EXCLUDED.donation_count",
+            nativeQuery = true)
+    int addDonations(Long campaignId, Long donorId, BigDecimal amount, long count);
+
+    @Modifying
+    @Query("UPDATE CampaignDonorTotal t SET " +
+            "t.totalAmount = t.totalAmount - :amount, " +
+            "t.donationCount = t.donationCount - 1 " +
+            "WHERE t.campaignId = :campaignId AND t.donorId = :donorId")
+    int removeDonation(Long campaignId, Long donorId, BigDecimal amount);
+
+    @Modifying
+    @Query("DELETE FROM CampaignDonorTotal t " +
+            "WHERE t.campaignId = :campaignId AND t.donorId = :donorId AND t.donationCount <= 0")
+    int deleteIfEmpty(Long campaignId, Long donorId);
+
+    @Query("SELECT new hr.algebra.donfundy.dto.LeaderboardEntryResponse(" +
+            "dr.id, CONCAT(dr.firstName, ' ', dr.lastName), t.totalAmount, t.donationCount) " +
+            "FROM CampaignDonorTotal t JOIN Donor dr ON dr.id = t.donorId " +
+            "WHERE t.campaignId = :campaignId " +
+            "ORDER BY t.totalAmount DESC, t.donorId DESC")
+    List<LeaderboardEntryResponse> findLeaderboard(Long campaignId, Limit limit);
+}
@@ -2,12 +2,98 @@ package hr.algebra.donfundy.repository;
 
 import hr.algebra.donfundy.domain.Campaign;
 import hr.algebra.donfundy.domain.enums.Status;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface CampaignRepository extends JpaRepository<Campaign, Long> {
+
+    SparseProjection SPARSE_FIELDS = SparseProjection.from("Campaign c", "c.startDate", "c.id",
+                    "ORDER BY c.startDate DESC, c.id DESC")
+            .field("id", "c.id")
+            .field("name", "c.name")
+            .field("description", "c.description")
+            .field("goalAmount", "c.goalAmount")
+            .field("raisedAmount", "COALESCE(c.raisedAmount, 0.0)")
+            .field("startDate", "c.startDate")
+            .field("endDate", "c.endDate")
+            .field("status", "c.status")
+            .field("progressPercentage",
+                    "LEAST(CASE WHEN c.goalAmount > 0 THEN COALESCE(c.raisedAmount, 0.0) / c.goalAmount * 100 ELSE 0.0 END, 100.0)")
+            .field("createdById", "c.createdBy.id")
+            .field("createdByName", "CONCAT(cb.firstName, ' ', cb.lastName)", "LEFT JOIN c.createdBy cb")
+            .field("createdByEmail", "cb.email", "LEFT JOIN c.createdBy cb");
+
+    String AFTER_CURSOR = "(c.startDate < :date OR (c.startDate = :date AND c.id < :id))";
+
+    String SEARCH_RANKED = "SELECT c.id AS id, ts_rank(c.search_vector, q) AS rank " +
+            "FROM campaign c, websearch_to_tsquery('simple', :query) q " +
+            "WHERE c.search_vector @@ q ";
+
+    String BEST_MATCH_FIRST = "ORDER BY rank DESC, c.id DESC LIMIT :limit";
+
+    interface SearchHit {
+        Long getId();
+
+        Float getRank();
+    }
+
+    @Override
+    @EntityGraph(attributePaths = "createdBy")
+    List<Campaign> findAll();
+
+    @EntityGraph(attributePaths = "createdBy")
     List<Campaign> findByStatus(Status status);
+
+    @EntityGraph(attributePaths = "createdBy")
+    Optional<Campaign> findWithCreatorById(Long id);
+
+    @EntityGraph(attributePaths = "createdBy")
+    List<Campaign> findByIdIn(Collection<Long> ids);
+
+    @EntityGraph(attributePaths = "createdBy")
+    List<Campaign> findAllByOrderByStartDateDescIdDesc(Limit limit);
+
+    @EntityGraph(attributePaths = "createdBy")
+    @Query("SELECT c FROM Campaign c " +
+            "WHERE c.startDate < :date OR (c.startDate = :date AND c.id < :id) " +
+            "ORDER BY c.startDate DESC, c.id DESC")
+    List<Campaign> findPageAfter(LocalDate date, Long id, Limit limit);
+
+    @EntityGraph(attributePaths = "createdBy")
+    List<Campaign> findByStatusOrderByStartDateDescIdDesc(Status status, Limit limit);
+
+    @EntityGraph(attributePaths = "createdBy")
+    @Query("SELECT c FROM Campaign c WHERE c.status = :status " +
+            "AND (c.startDate < :date OR (c.startDate = :date AND c.id < :id)) " +
+            "ORDER BY c.startDate DESC, c.id DESC")
+    List<Campaign> findPageByStatusAfter(Status status, LocalDate date, Long id, Limit limit);
+
+    @EntityGraph(attributePaths = "createdBy")
+    List<Campaign> findByCreatedById(Long donorId);
+
+    @EntityGraph(attributePaths = "createdBy")
+    List<Campaign> findByCreatedByIdOrderByStartDateDescIdDesc(Long donorId, Limit limit);
+
+    @EntityGraph(attributePaths = "createdBy")
+    @Query("SELECT c FROM Campaign c WHERE c.createdBy.id = :donorId " +
+            "AND (c.startDate < :date OR (c.startDate = :date AND c.id < :id)) " +
+            "ORDER BY c.startDate DESC, c.id DESC")
+    List<Campaign> findPageByCreatedByIdAfter(Long donorId, LocalDate date, Long id, Limit limit);
+
+    @Query(value = SEARCH_RANKED + BEST_MATCH_FIRST, nativeQuery = true)
+    List<SearchHit> search(String query, int limit);
+
+    @Query(value = SEARCH_RANKED +
+            "AND (ts_rank(c.search_vector, q) < :rank OR (ts_rank(c.search_vector, q) = :rank AND c.id < :id)) " +
+            BEST_MATCH_FIRST, nativeQuery = true)
+    List<SearchHit> searchAfter(String query, float rank, Long id, int limit);
 }
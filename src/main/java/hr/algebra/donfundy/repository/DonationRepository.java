@@ -1,13 +1,126 @@
 package hr.algebra.donfundy.repository;
 
 import hr.algebra.donfundy.domain.Donation;
+import hr.algebra.donfundy.domain.enums.PaymentMethod;
+import hr.algebra.donfundy.dto.DonationResponse;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
 
 @Repository
 public interface DonationRepository extends JpaRepository<Donation, Long> {
+
+    String SELECT_RESPONSE = "SELECT new hr.algebra.donfundy.dto.DonationResponse(" +
+            "d.id, c.id, c.name, dr.id, CONCAT(dr.firstName, ' ', dr.lastName), " +
+            "d.amount, d.donationDate, d.message, d.paymentMethod) " +
+            "FROM Donation d JOIN d.campaign c JOIN d.donor dr ";
+
+    String AFTER_CURSOR = "(d.donationDate < :date OR (d.donationDate = :date AND d.id < :id)) ";
+
+    String NEWEST_FIRST = "ORDER BY d.donationDate DESC, d.id DESC";
+
+    int EXPORT_FETCH_SIZE = 1000;
+
+    SparseProjection SPARSE_FIELDS = SparseProjection.from("Donation d", "d.donationDate", "d.id", NEWEST_FIRST)
+            .field("id", "d.id")
+            .field("campaignId", "d.campaign.id")
+            .field("campaignName", "c.name", "JOIN d.campaign c")
+            .field("donorId", "d.donor.id")
+            .field("donorName", "CONCAT(dr.firstName, ' ', dr.lastName)", "JOIN d.donor dr")
+            .field("amount", "d.amount")
+            .field("donationDate", "d.donationDate")
+            .field("message", "d.message")
+            .field("paymentMethod", "d.paymentMethod");
+
+    interface CampaignDonationCount {
+        Long getCampaignId();
+
+        Long getDonations();
+    }
+
+    interface ReportRow {
+        Long getCampaignId();
+
+        Long getId();
+
+        String getDonorName();
+
+        String getDonorEmail();
+
+        BigDecimal getAmount();
+
+        LocalDate getDonationDate();
+
+        PaymentMethod getPaymentMethod();
+
+        String getMessage();
+    }
+
     List<Donation> findByCampaignId(Long campaignId);
-    List<Donation> findByDonorId(Long donorId);
+
+    long countByCampaignId(Long campaignId);
+
+    long countByDonorId(Long donorId);
+
+    @Query(SELECT_RESPONSE)
+    List<DonationResponse> findAllResponses();
+
+    @Query(SELECT_RESPONSE + "WHERE c.id = :campaignId")
+    List<DonationResponse> findResponsesByCampaignId(Long campaignId);
+
+    @Query(SELECT_RESPONSE + "WHERE dr.id = :donorId")
+    List<DonationResponse> findResponsesByDonorId(Long donorId);
+
+    @Query(SELECT_RESPONSE + "WHERE d.id IN :ids")
+    List<DonationResponse> findResponsesByIdIn(Collection<Long> ids);
+
+    /**
+     * Forward-only cursor over every donation; must be consumed and closed inside a transaction so the
+     * driver can fetch rows in batches instead of buffering the whole result.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + EXPORT_FETCH_SIZE))
+    @Query(SELECT_RESPONSE + "ORDER BY d.id")
+    Stream<DonationResponse> streamAllResponses();
+
+    @Query("SELECT d.campaign.id AS campaignId, COUNT(d) AS donations FROM Donation d GROUP BY d.campaign.id")
+    List<CampaignDonationCount> countByCampaign();
+
+    /**
+     * Forward-only cursor over every donation grouped by campaign, for writing the campaign report; the
+     * same rules as for {@link #streamAllResponses()} apply.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + EXPORT_FETCH_SIZE))
+    @Query("SELECT c.id AS campaignId, d.id AS id, CONCAT(dr.firstName, ' ', dr.lastName) AS donorName, " +
+            "dr.email AS donorEmail, d.amount AS amount, d.donationDate AS donationDate, " +
+            "d.paymentMethod AS paymentMethod, d.message AS message " +
+            "FROM Donation d JOIN d.campaign c JOIN d.donor dr ORDER BY c.id, d.id")
+    Stream<ReportRow> streamReportRows();
+
+    @Query(SELECT_RESPONSE + NEWEST_FIRST)
+    List<DonationResponse> findResponsePage(Limit limit);
+
+    @Query(SELECT_RESPONSE + "WHERE " + AFTER_CURSOR + NEWEST_FIRST)
+    List<DonationResponse> findResponsePageAfter(LocalDate date, Long id, Limit limit);
+
+    @Query(SELECT_RESPONSE + "WHERE c.id = :campaignId " + NEWEST_FIRST)
+    List<DonationResponse> findResponsePageByCampaignId(Long campaignId, Limit limit);
+
+    @Query(SELECT_RESPONSE + "WHERE c.id = :campaignId AND " + AFTER_CURSOR + NEWEST_FIRST)
+    List<DonationResponse> findResponsePageByCampaignIdAfter(Long campaignId, LocalDate date, Long id, Limit limit);
+
+    @Query(SELECT_RESPONSE + "WHERE dr.id = :donorId " + NEWEST_FIRST)
+    List<DonationResponse> findResponsePageByDonorId(Long donorId, Limit limit);
+
+    @Query(SELECT_RESPONSE + "WHERE dr.id = :donorId AND " + AFTER_CURSOR + NEWEST_FIRST)
+    List<DonationResponse> findResponsePageByDonorIdAfter(Long donorId, LocalDate date, Long id, Limit limit);
 }
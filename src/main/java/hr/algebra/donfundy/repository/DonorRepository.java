@@ -1,13 +1,57 @@
 package hr.algebra.donfundy.repository;
 
 import hr.algebra.donfundy.domain.Donor;
+import hr.algebra.donfundy.dto.DonorSummaryResponse;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface DonorRepository extends JpaRepository<Donor, Long> {
+
+    SparseProjection SPARSE_FIELDS = SparseProjection.from("Donor d", "d.lastName", "d.id",
+                    "ORDER BY d.lastName ASC, d.id ASC")
+            .field("id", "d.id")
+            .field("userId", "d.user.id")
+            .field("firstName", "d.firstName")
+            .field("lastName", "d.lastName")
+            .field("email", "d.email")
+            .field("phoneNumber", "d.phoneNumber");
+
+    String AFTER_CURSOR = "(d.lastName > :lastName OR (d.lastName = :lastName AND d.id > :id))";
+
     Optional<Donor> findByUserId(Long userId);
+
+    @Query("SELECT d.id FROM Donor d WHERE d.user.id = :userId")
+    Optional<Long> findIdByUserId(Long userId);
     Optional<Donor> findByEmail(String email);
+
+    List<Donor> findByIdIn(Collection<Long> ids);
+
+    /**
+     * Lifetime giving of one donor in a single statement: totals come from the donor's per-campaign
+     * rows in campaign_donor_total, and the first and last dates are the two ends of
+     * idx_donation_donor_date_id, so the cost does not grow with the number of donations. Empty when
+     * the donor does not exist.
+     */
+    @Query("SELECT new hr.algebra.donfundy.dto.DonorSummaryResponse(" +
+            "dr.id, COALESCE(SUM(t.totalAmount), 0), COALESCE(SUM(t.donationCount), 0), COUNT(t.campaignId), " +
+            "(SELECT MIN(d.donationDate) FROM Donation d WHERE d.donor.id = dr.id), " +
+            "(SELECT MAX(d.donationDate) FROM Donation d WHERE d.donor.id = dr.id)) " +
+            "FROM Donor dr LEFT JOIN CampaignDonorTotal t ON t.donorId = dr.id " +
+            "WHERE dr.id = :donorId " +
+            "GROUP BY dr.id")
+    Optional<DonorSummaryResponse> findSummary(Long donorId);
+
+    List<Donor> findAllByOrderByLastNameAscIdAsc(Limit limit);
+
+    @Query("SELECT d FROM Donor d " +
+            "WHERE d.lastName > :lastName OR (d.lastName = :lastName AND d.id > :id) " +
+            "ORDER BY d.lastName ASC, d.id ASC")
+    List<Donor> findPageAfter(String lastName, Long id, Limit limit);
 }
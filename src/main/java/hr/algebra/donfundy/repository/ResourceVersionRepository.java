@@ -0,0 +1,26 @@
+package hr.algebra.donfundy.repository;
+
+import hr.algebra.donfundy.domain.ResourceVersion;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+
+@Repository
+public interface ResourceVersionRepository extends JpaRepository<ResourceVersion, String> {
+
+    @Query("SELECT v.version FROM ResourceVersion v WHERE v.resource = :resource")
+    long findVersion(String resource);
+
+    /**
+     * Bumps every given counter in one statement; joins the caller's transaction, so the new versions
+     * become visible exactly when the write they describe does.
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE ResourceVersion v SET v.version = v.version + 1 WHERE v.resource IN :resources")
+    int increment(Collection<String> resources);
+}
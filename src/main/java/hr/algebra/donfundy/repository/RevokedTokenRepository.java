@@ -0,0 +1,35 @@
+package hr.algebra.donfundy.repository;
+
+import hr.algebra.donfundy.domain.RevokedToken;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface RevokedTokenRepository extends JpaRepository<RevokedToken, UUID> {
+
+    List<RevokedToken> findByExpiresAtAfter(Instant now);
+
+    List<RevokedToken> findByRevokedAtAfterAndExpiresAtAfter(Instant since, Instant now);
+
+    /**
+     * Logging out twice with the same token is not an error, so an existing row is left as it is. The
+     * revocation time comes from the database clock, which every instance polls against.
+     */
+    @Transactional
+    @Modifying
+    @Query(value = "INSERT INTO revoked_token (token_id, expires_at, revoked_at) VALUES (:tokenId, :expiresAt, now()) ON CONFLICT DO NOTHING",
+            nativeQuery = true)
+    int insertIfAbsent(UUID tokenId, Instant expiresAt);
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM RevokedToken t WHERE t.expiresAt <= :now")
+    int deleteExpired(Instant now);
+}
@@ -0,0 +1,72 @@
+package hr.algebra.donfundy.repository;
+
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * The fields a list endpoint can return, each as a JPQL select expression and the join it needs, so a
+ * {@code fields=} request reads only the columns and joins it asks for. Rows are always keyed by the
+ * keyset sort key and id, which are selected whether requested or not.
+ */
+public final class SparseProjection {
+
+    private record Field(String expression, String join) {
+    }
+
+    private final String from;
+    private final String sortKey;
+    private final String id;
+    private final String orderBy;
+    private final Map<String, Field> fields;
+
+    private SparseProjection(String from, String sortKey, String id, String orderBy, Map<String, Field> fields) {
+        this.from = from;
+        this.sortKey = sortKey;
+        this.id = id;
+        this.orderBy = orderBy;
+        this.fields = fields;
+    }
+
+    public static SparseProjection from(String from, String sortKey, String id, String orderBy) {
+        return new SparseProjection(from, sortKey, id, orderBy, Map.of());
+    }
+
+    public SparseProjection field(String name, String expression) {
+        return field(name, expression, null);
+    }
+
+    public SparseProjection field(String name, String expression, String join) {
+        Map<String, Field> extended = new LinkedHashMap<>(fields);
+        extended.put(name, new Field(expression, join));
+        return new SparseProjection(from, sortKey, id, orderBy, extended);
+    }
+
+    public Set<String> fieldNames() {
+        return fields.keySet();
+    }
+
+    /**
+     * Selects the sort key, the id and then {@code names} in order, joining only what those fields need.
+     */
+    String jpql(List<String> names, List<String> conditions) {
+        StringBuilder jpql = new StringBuilder("SELECT ").append(sortKey).append(", ").append(id);
+        Set<String> joins = new LinkedHashSet<>();
+        for (String name : names) {
+            Field field = fields.get(name);
+            jpql.append(", ").append(field.expression());
+            if (field.join() != null) {
+                joins.add(field.join());
+            }
+        }
+        jpql.append(" FROM ").append(from);
+        joins.forEach(join -> jpql.append(' ').append(join));
+        if (!conditions.isEmpty()) {
+            jpql.append(" WHERE ").append(conditions.stream().collect(Collectors.joining(" AND ")));
+        }
+        return jpql.append(' ').append(orderBy).toString();
+    }
+}
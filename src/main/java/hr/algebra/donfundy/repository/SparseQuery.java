@@ -0,0 +1,68 @@
+package hr.algebra.donfundy.repository;
+
+import hr.algebra.donfundy.exception.ValidationException;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A {@link SparseProjection} narrowed to the fields named in a {@code fields=} parameter, plus the
+ * conditions to filter by.
+ */
+public final class SparseQuery {
+
+    private final SparseProjection projection;
+    private final List<String> fields;
+    private final List<String> conditions = new ArrayList<>();
+    private final Map<String, Object> parameters = new HashMap<>();
+
+    private SparseQuery(SparseProjection projection, List<String> fields) {
+        this.projection = projection;
+        this.fields = fields;
+    }
+
+    /**
+     * Parses a comma separated field list; unknown names and an empty list are rejected rather than
+     * silently ignored, so a typo never turns into a response missing the field the client wanted.
+     */
+    public static SparseQuery select(SparseProjection projection, String fields) {
+        List<String> requested = Arrays.stream(fields.split(","))
+                .map(String::trim)
+                .filter(name -> !name.isEmpty())
+                .distinct()
+                .toList();
+        if (requested.isEmpty() || !projection.fieldNames().containsAll(requested)) {
+            throw new ValidationException("error.invalid.fields");
+        }
+        List<String> ordered = projection.fieldNames().stream().filter(requested::contains).toList();
+        return new SparseQuery(projection, ordered);
+    }
+
+    public SparseQuery where(String condition, Map<String, Object> conditionParameters) {
+        conditions.add(condition);
+        parameters.putAll(conditionParameters);
+        return this;
+    }
+
+    List<String> fields() {
+        return fields;
+    }
+
+    Map<String, Object> parameters() {
+        return parameters;
+    }
+
+    String jpql() {
+        return projection.jpql(fields, conditions);
+    }
+
+    /**
+     * One result row: the keyset sort key and id for building the next cursor, and the requested fields
+     * in declaration order.
+     */
+    public record Row(Object sortKey, Long id, Map<String, Object> values) {
+    }
+}
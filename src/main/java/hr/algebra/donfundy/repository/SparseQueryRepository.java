@@ -0,0 +1,34 @@
+package hr.algebra.donfundy.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Repository;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+@Repository
+@RequiredArgsConstructor
+public class SparseQueryRepository {
+
+    private final EntityManager entityManager;
+
+    public List<SparseQuery.Row> find(SparseQuery query, int limit) {
+        TypedQuery<Object[]> typedQuery = entityManager.createQuery(query.jpql(), Object[].class)
+                .setMaxResults(limit);
+        query.parameters().forEach(typedQuery::setParameter);
+
+        List<String> fields = query.fields();
+        return typedQuery.getResultList().stream()
+                .map(columns -> {
+                    Map<String, Object> values = new LinkedHashMap<>();
+                    for (int i = 0; i < fields.size(); i++) {
+                        values.put(fields.get(i), columns[i + 2]);
+                    }
+                    return new SparseQuery.Row(columns[0], (Long) columns[1], values);
+                })
+                .toList();
+    }
+}
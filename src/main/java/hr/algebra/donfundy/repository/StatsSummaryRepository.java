@@ -0,0 +1,25 @@
+package hr.algebra.donfundy.repository;
+
+import hr.algebra.donfundy.domain.StatsSummary;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface StatsSummaryRepository extends JpaRepository<StatsSummary, Long> {
+
+    /**
+     * Adds the given deltas to the summary row in a single statement, so concurrent writers never lose
+     * each other's increments.
+     */
+    @Modifying
+    @Query("UPDATE StatsSummary s SET " +
+            "s.campaignCount = s.campaignCount + :campaigns, " +
+            "s.activeCampaignCount = s.activeCampaignCount + :activeCampaigns, " +
+            "s.donationCount = s.donationCount + :donations, " +
+            "s.donorCount = s.donorCount + :donors, " +
+            "s.totalRaised = s.totalRaised + :raised " +
+            "WHERE s.id = 1")
+    int applyDelta(long campaigns, long activeCampaigns, long donations, long donors, double raised);
+}
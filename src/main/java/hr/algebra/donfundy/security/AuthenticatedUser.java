@@ -0,0 +1,50 @@
+package hr.algebra.donfundy.security;
+
+import hr.algebra.donfundy.domain.enums.Role;
+import lombok.Getter;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.User;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.UUID;
+
+/**
+ * Principal of an authenticated request. Everything on it comes from the verified token, so building it
+ * needs no database access; {@code donorId} is null for users without a donor profile. {@code tokenId}
+ * and {@code tokenExpiry} describe the token the request came with and are null on a principal loaded
+ * for login, before any token exists.
+ */
+@Getter
+public class AuthenticatedUser extends User {
+
+    private final Long userId;
+    private final Long donorId;
+    private final long tokenVersion;
+    private final UUID tokenId;
+    private final Instant tokenExpiry;
+
+    public AuthenticatedUser(String email, String password, Collection<? extends GrantedAuthority> authorities,
+                             Long userId, Long donorId, long tokenVersion) {
+        this(email, password, authorities, userId, donorId, tokenVersion, null, null);
+    }
+
+    public AuthenticatedUser(String email, String password, Collection<? extends GrantedAuthority> authorities,
+                             Long userId, Long donorId, long tokenVersion, UUID tokenId, Instant tokenExpiry) {
+        super(email, password, authorities);
+        this.userId = userId;
+        this.donorId = donorId;
+        this.tokenVersion = tokenVersion;
+        this.tokenId = tokenId;
+        this.tokenExpiry = tokenExpiry;
+    }
+
+    public static AuthenticatedUser of(String email, String passwordHash, Role role,
+                                       Long userId, Long donorId, long tokenVersion) {
+        return new AuthenticatedUser(email, passwordHash,
+                Collections.singletonList(new SimpleGrantedAuthority(JwtUtil.ROLE_PREFIX + role.name())),
+                userId, donorId, tokenVersion);
+    }
+}
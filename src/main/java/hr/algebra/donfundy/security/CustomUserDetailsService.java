@@ -1,32 +1,76 @@
 package hr.algebra.donfundy.security;
 
+import hr.algebra.donfundy.config.CacheConfiguration;
+import hr.algebra.donfundy.domain.enums.Role;
+import hr.algebra.donfundy.repository.DonorRepository;
 import hr.algebra.donfundy.repository.UserRepository;
-import lombok.RequiredArgsConstructor;
 import org.jspecify.annotations.NonNull;
-import org.springframework.security.core.authority.SimpleGrantedAuthority;
-import org.springframework.security.core.userdetails.User;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 
-import java.util.Collections;
+import java.util.Objects;
+import java.util.Optional;
 
+/**
+ * Loads users for login. Requests carrying a token are authenticated from its claims instead, see
+ * {@link JwtAuthenticationFilter}.
+ * <p>
+ * Users, and emails that match no user, are kept in the {@value CacheConfiguration#USERS} cache; anything
+ * that changes a user's row, role or donor profile must call {@link #evict}. The token version is not
+ * cached here but always taken from {@link TokenVersions}, so a revocation needs no eviction.
+ */
 @Service
-@RequiredArgsConstructor
 public class CustomUserDetailsService implements UserDetailsService {
 
     private final UserRepository userRepository;
+    private final DonorRepository donorRepository;
+    private final TokenVersions tokenVersions;
+    private final Cache users;
 
+    public CustomUserDetailsService(UserRepository userRepository,
+                                    DonorRepository donorRepository,
+                                    TokenVersions tokenVersions,
+                                    CacheManager cacheManager) {
+        this.userRepository = userRepository;
+        this.donorRepository = donorRepository;
+        this.tokenVersions = tokenVersions;
+        this.users = Objects.requireNonNull(cacheManager.getCache(CacheConfiguration.USERS));
+    }
+
+    /**
+     * Returns a new principal on every call: authentication erases the password of the one it is given,
+     * which must not reach the cached entry.
+     */
     @Override
     public UserDetails loadUserByUsername(@NonNull String email) throws UsernameNotFoundException {
-        var user = userRepository.findByEmail(email)
+        Optional<CachedUser> cached = users.get(email, () -> load(email));
+        CachedUser user = Objects.requireNonNull(cached)
                 .orElseThrow(() -> new UsernameNotFoundException("User not found with email: " + email));
 
-        return User.builder()
-                .username(user.getEmail())
-                .password(user.getPasswordHash())
-                .authorities(Collections.singletonList(new SimpleGrantedAuthority("ROLE_" + user.getRole().name())))
-                .build();
+        return AuthenticatedUser.of(user.email(), user.passwordHash(), user.role(), user.userId(), user.donorId(),
+                tokenVersions.current(user.userId()));
+    }
+
+    /**
+     * Drops the cached entry for the email, including a cached "unknown"; inside a transaction this
+     * happens once it commits.
+     */
+    public void evict(String email) {
+        users.evict(email);
+    }
+
+    private Optional<CachedUser> load(String email) {
+        return userRepository.findByEmail(email).map(user -> {
+            tokenVersions.remember(user.getId(), user.getTokenVersion());
+            return new CachedUser(user.getEmail(), user.getPasswordHash(), user.getRole(), user.getId(),
+                    donorRepository.findIdByUserId(user.getId()).orElse(null));
+        });
+    }
+
+    private record CachedUser(String email, String passwordHash, Role role, Long userId, Long donorId) {
     }
 }
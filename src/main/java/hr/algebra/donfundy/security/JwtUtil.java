@@ -1,9 +1,12 @@
 package hr.algebra.donfundy.security;
 
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.security.Keys;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Component;
 
@@ -11,17 +14,36 @@ import javax.crypto.SecretKey;
 import java.nio.charset.StandardCharsets;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.UUID;
 import java.util.function.Function;
 
+/**
+ * Issues and verifies the HMAC-signed access tokens. The key and parser are built once; both are
+ * immutable and thread-safe, so every request reuses them. Tokens carry the user's role, IDs and token
+ * version, which is all a request needs to be authenticated without reading the user, and a random ID
+ * by which a single token can be revoked.
+ */
 @Component
 public class JwtUtil {
 
-    @Value("${jwt.secret}")
-    private String secret;
+    static final String ROLE_PREFIX = "ROLE_";
 
-    @Value("${jwt.expiration}")
-    private Long expiration;
+    private static final String ROLE_CLAIM = "role";
+    private static final String USER_ID_CLAIM = "uid";
+    private static final String DONOR_ID_CLAIM = "did";
+    private static final String TOKEN_VERSION_CLAIM = "ver";
+
+    private final SecretKey signingKey;
+    private final JwtParser parser;
+    private final Long expiration;
+
+    public JwtUtil(@Value("${jwt.secret}") String secret, @Value("${jwt.expiration}") Long expiration) {
+        this.signingKey = Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
+        this.parser = Jwts.parser().verifyWith(signingKey).build();
+        this.expiration = expiration;
+    }
 
     public String extractUsername(String token) {
         return extractClaim(token, Claims::getSubject);
@@ -32,44 +54,84 @@ public class JwtUtil {
     }
 
     public <T> T extractClaim(String token, Function<Claims, T> claimsResolver) {
-        final Claims claims = extractAllClaims(token);
+        final Claims claims = parseClaims(token);
         return claimsResolver.apply(claims);
     }
 
-    private Claims extractAllClaims(String token) {
-        return Jwts.parser()
-                .verifyWith(getSigningKey())
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
-    }
-
-    private Boolean isTokenExpired(String token) {
-        return extractExpiration(token).before(new Date());
+    /**
+     * Verifies the signature and expiry and returns the claims; callers that need several claims of the
+     * same token should parse it once here instead of going through {@link #extractClaim} repeatedly.
+     *
+     * @throws io.jsonwebtoken.JwtException if the token is malformed, tampered with or expired
+     */
+    public Claims parseClaims(String token) {
+        return parser.parseSignedClaims(token).getPayload();
     }
 
     public String generateToken(UserDetails userDetails) {
         Map<String, Object> claims = new HashMap<>();
+        if (userDetails instanceof AuthenticatedUser user) {
+            claims.put(USER_ID_CLAIM, user.getUserId());
+            claims.put(TOKEN_VERSION_CLAIM, user.getTokenVersion());
+            if (user.getDonorId() != null) {
+                claims.put(DONOR_ID_CLAIM, user.getDonorId());
+            }
+            user.getAuthorities().stream()
+                    .map(GrantedAuthority::getAuthority)
+                    .filter(authority -> authority.startsWith(ROLE_PREFIX))
+                    .findFirst()
+                    .ifPresent(authority -> claims.put(ROLE_CLAIM, authority.substring(ROLE_PREFIX.length())));
+        }
         return createToken(claims, userDetails.getUsername());
     }
 
+    /**
+     * Rebuilds the principal from verified claims, or returns null for a token issued before tokens
+     * carried the user's ID, role and token ID.
+     */
+    public AuthenticatedUser toPrincipal(Claims claims) {
+        Long userId = claims.get(USER_ID_CLAIM, Long.class);
+        String role = claims.get(ROLE_CLAIM, String.class);
+        Long tokenVersion = claims.get(TOKEN_VERSION_CLAIM, Long.class);
+        UUID tokenId = parseTokenId(claims.getId());
+        if (userId == null || role == null || tokenVersion == null || tokenId == null) {
+            return null;
+        }
+        return new AuthenticatedUser(
+                claims.getSubject(),
+                "",
+                List.of(new SimpleGrantedAuthority(ROLE_PREFIX + role)),
+                userId,
+                claims.get(DONOR_ID_CLAIM, Long.class),
+                tokenVersion,
+                tokenId,
+                claims.getExpiration().toInstant());
+    }
+
+    private static UUID parseTokenId(String id) {
+        try {
+            return id != null ? UUID.fromString(id) : null;
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
     private String createToken(Map<String, Object> claims, String subject) {
         return Jwts.builder()
                 .claims(claims)
+                .id(UUID.randomUUID().toString())
                 .subject(subject)
                 .issuedAt(new Date(System.currentTimeMillis()))
                 .expiration(new Date(System.currentTimeMillis() + expiration))
-                .signWith(getSigningKey())
+                .signWith(signingKey)
                 .compact();
     }
 
     public Boolean validateToken(String token, UserDetails userDetails) {
-        final String username = extractUsername(token);
-        return (username.equals(userDetails.getUsername()) && !isTokenExpired(token));
+        return validateToken(parseClaims(token), userDetails);
     }
 
-    private SecretKey getSigningKey() {
-        byte[] keyBytes = secret.getBytes(StandardCharsets.UTF_8);
-        return Keys.hmacShaKeyFor(keyBytes);
+    public Boolean validateToken(Claims claims, UserDetails userDetails) {
+        return claims.getSubject().equals(userDetails.getUsername()) && !claims.getExpiration().before(new Date());
     }
 }
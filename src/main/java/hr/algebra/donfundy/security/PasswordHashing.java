@@ -0,0 +1,62 @@
+package hr.algebra.donfundy.security;
+
+import hr.algebra.donfundy.exception.ServiceUnavailableException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Runs work that checks or hashes a password. BCrypt is deliberately slow, so it gets a few threads of its
+ * own instead of running on the web server's: a burst of logins then waits in a bounded queue while other
+ * requests are still served, and once the queue is full further logins are turned away with a 503 rather
+ * than waiting behind work that would not finish in time.
+ */
+@Component
+public class PasswordHashing implements DisposableBean {
+
+    private final ExecutorService executor;
+    private final Counter rejected;
+    private final long retryAfterSeconds;
+
+    public PasswordHashing(MeterRegistry meterRegistry,
+                           @Value("${password-hashing.threads}") int threads,
+                           @Value("${password-hashing.queue-capacity}") int queueCapacity,
+                           @Value("${password-hashing.retry-after}") Duration retryAfter) {
+        ThreadPoolExecutor pool = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                Thread.ofPlatform().name("password-hashing-", 0).daemon().factory(),
+                new ThreadPoolExecutor.AbortPolicy());
+        this.executor = ExecutorServiceMetrics.monitor(meterRegistry, pool, "password.hashing", List.of());
+        this.rejected = Counter.builder("password.hashing.rejected")
+                .description("Logins and registrations turned away because the hashing queue was full")
+                .register(meterRegistry);
+        this.retryAfterSeconds = Math.max(1, retryAfter.toSeconds());
+    }
+
+    public <T> CompletableFuture<T> submit(Supplier<T> work) {
+        try {
+            return CompletableFuture.supplyAsync(work, executor);
+        } catch (RejectedExecutionException e) {
+            rejected.increment();
+            throw new ServiceUnavailableException("error.authentication.busy", retryAfterSeconds);
+        }
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
+    }
+}
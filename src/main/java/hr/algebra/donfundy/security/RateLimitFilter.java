@@ -0,0 +1,139 @@
+package hr.algebra.donfundy.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import hr.algebra.donfundy.config.RateLimitProperties;
+import hr.algebra.donfundy.support.ErrorResponse;
+import hr.algebra.donfundy.support.MessageService;
+import hr.algebra.donfundy.support.TokenBucket;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.jspecify.annotations.NonNull;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.PathContainer;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Limits how fast a single client may call each endpoint group. Runs right after
+ * {@link JwtAuthenticationFilter}: authenticated requests are counted per user, so one user cannot get
+ * around the limit by spreading requests over several addresses, and anonymous requests per remote
+ * address. Buckets of clients that have gone quiet for {@code idle-timeout} are dropped; a client that
+ * comes back starts with a full bucket, which is what an idle client would have had anyway.
+ */
+@Component
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private static final long NANOS_PER_SECOND = 1_000_000_000L;
+
+    private final List<Group> groups;
+    private final MessageService messageService;
+    private final JsonMapper jsonMapper;
+
+    public RateLimitFilter(RateLimitProperties properties, MessageService messageService, JsonMapper jsonMapper,
+                           MeterRegistry meterRegistry) {
+        this.groups = properties.groups().stream()
+                .map(group -> new Group(group, properties, meterRegistry))
+                .toList();
+        this.messageService = messageService;
+        this.jsonMapper = jsonMapper;
+    }
+
+    @Override
+    protected void doFilterInternal(
+            HttpServletRequest request,
+            @NonNull HttpServletResponse response,
+            @NonNull FilterChain filterChain
+    ) throws ServletException, IOException {
+        Group group = groupOf(request);
+        if (group == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        Object client = clientOf(request);
+        TokenBucket bucket = group.buckets.getIfPresent(client);
+        if (bucket == null) {
+            bucket = group.buckets.get(client, group::newBucket);
+        }
+        long waitNanos = bucket.tryTake(System.nanoTime());
+        if (waitNanos == 0) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        group.rejected.increment();
+        ErrorResponse error = new ErrorResponse();
+        error.setMessage(messageService.getLocalizedMessage("error.rate.limited", request.getLocale()));
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(Math.max(1, (waitNanos + NANOS_PER_SECOND - 1) / NANOS_PER_SECOND)));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        jsonMapper.writeValue(response.getOutputStream(), error);
+    }
+
+    private Group groupOf(HttpServletRequest request) {
+        PathContainer path = PathContainer.parsePath(request.getRequestURI().substring(request.getContextPath().length()));
+        for (Group group : groups) {
+            for (PathPattern pattern : group.patterns) {
+                if (pattern.matches(path)) {
+                    return group;
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * User IDs and addresses are different types, so they never share a bucket. Behind a load balancer the
+     * remote address is the client's as resolved by the container from X-Forwarded-For, which it only
+     * accepts from the proxies listed in {@code server.tomcat.remoteip.internal-proxies}.
+     */
+    private static Object clientOf(HttpServletRequest request) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.getPrincipal() instanceof AuthenticatedUser user) {
+            return user.getUserId();
+        }
+        return request.getRemoteAddr();
+    }
+
+    private static final class Group {
+
+        private final List<PathPattern> patterns;
+        private final long capacity;
+        private final double refillPerSecond;
+        private final Cache<Object, TokenBucket> buckets;
+        private final Counter rejected;
+
+        private Group(RateLimitProperties.Group group, RateLimitProperties properties, MeterRegistry meterRegistry) {
+            this.patterns = group.paths().stream().map(PathPatternParser.defaultInstance::parse).toList();
+            this.capacity = group.capacity();
+            this.refillPerSecond = group.refillPerSecond();
+            this.buckets = Caffeine.newBuilder()
+                    .expireAfterAccess(properties.idleTimeout())
+                    .maximumSize(properties.maximumClients())
+                    .build();
+            this.rejected = Counter.builder("rate.limit.rejected")
+                    .description("Requests turned away with 429 because the client's budget was used up")
+                    .tag("group", group.name())
+                    .register(meterRegistry);
+        }
+
+        private TokenBucket newBucket(Object client) {
+            return new TokenBucket(capacity, refillPerSecond, System.nanoTime());
+        }
+    }
+}
@@ -0,0 +1,133 @@
+package hr.algebra.donfundy.security;
+
+import hr.algebra.donfundy.domain.RevokedToken;
+import hr.algebra.donfundy.repository.RevokedTokenRepository;
+import hr.algebra.donfundy.support.TimingWheel;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * IDs of tokens revoked by logging out, checked on every authenticated request. The check is a lookup in
+ * an in-memory set; a token only needs to stay in it until it would have expired anyway, so each ID is
+ * scheduled on a {@link TimingWheel} that drops it then. Revocations are also written to the
+ * {@code revoked_token} table, from which the set is rebuilt on startup.
+ * <p>
+ * On every tick of the wheel each instance also reads the rows revoked since the newest one it has seen,
+ * an index range scan on {@code revoked_at} that is usually empty, so a logout made through another
+ * instance is honoured everywhere within one tick. The read starts a little before that watermark, since
+ * a row stamped earlier can commit after a later one; rows already known are skipped. Revoking every token
+ * of a user goes through {@link TokenVersions} instead.
+ */
+@Component
+@Slf4j
+public class RevokedTokens implements SmartLifecycle {
+
+    private static final Duration COMMIT_GRACE = Duration.ofSeconds(10);
+
+    private final RevokedTokenRepository repository;
+    private final Set<UUID> revoked = ConcurrentHashMap.newKeySet();
+    private final TimingWheel<UUID> expiries;
+    private final long tickMillis;
+    private Instant watermark = Instant.EPOCH;
+    private ScheduledExecutorService scheduler;
+    private volatile boolean running;
+
+    public RevokedTokens(RevokedTokenRepository repository, MeterRegistry meterRegistry,
+                         @Value("${revoked-tokens.tick}") Duration tick,
+                         @Value("${revoked-tokens.wheel-size}") int wheelSize) {
+        this.repository = repository;
+        this.tickMillis = tick.toMillis();
+        this.expiries = new TimingWheel<>(tickMillis, wheelSize, System.currentTimeMillis());
+        Gauge.builder("revoked.tokens", revoked, Set::size)
+                .description("Revoked tokens that have not expired yet")
+                .register(meterRegistry);
+    }
+
+    public boolean isRevoked(UUID tokenId) {
+        return revoked.contains(tokenId);
+    }
+
+    /**
+     * Revokes the token until {@code expiresAt}; the in-memory set is updated first, so the token is
+     * rejected from this call on even if the write fails.
+     */
+    public void revoke(UUID tokenId, Instant expiresAt) {
+        if (!expiresAt.isAfter(Instant.now()) || !revoked.add(tokenId)) {
+            return;
+        }
+        expiries.schedule(tokenId, expiresAt.toEpochMilli());
+        repository.insertIfAbsent(tokenId, expiresAt);
+    }
+
+    /**
+     * Starts before the web server, so no request is checked against a set that has not been loaded yet.
+     */
+    @Override
+    public int getPhase() {
+        return 0;
+    }
+
+    @Override
+    public void start() {
+        Instant now = Instant.now();
+        repository.deleteExpired(now);
+        load(repository.findByExpiresAtAfter(now));
+        log.info("Loaded {} revoked tokens", revoked.size());
+
+        scheduler = Executors.newSingleThreadScheduledExecutor(Thread.ofPlatform().name("revoked-tokens").daemon().factory());
+        scheduler.scheduleWithFixedDelay(this::tick, tickMillis, tickMillis, TimeUnit.MILLISECONDS);
+        running = true;
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        scheduler.shutdownNow();
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    void tick() {
+        long now = System.currentTimeMillis();
+        try {
+            if (expiries.advance(now, revoked::remove) > 0) {
+                repository.deleteExpired(Instant.ofEpochMilli(now));
+            }
+        } catch (RuntimeException e) {
+            log.warn("Could not expire revoked tokens", e);
+        }
+        try {
+            load(repository.findByRevokedAtAfterAndExpiresAtAfter(watermark.minus(COMMIT_GRACE), Instant.ofEpochMilli(now)));
+        } catch (RuntimeException e) {
+            log.warn("Could not read tokens revoked by other instances", e);
+        }
+    }
+
+    private void load(List<RevokedToken> tokens) {
+        for (RevokedToken token : tokens) {
+            if (revoked.add(token.getTokenId())) {
+                expiries.schedule(token.getTokenId(), token.getExpiresAt().toEpochMilli());
+            }
+            if (token.getRevokedAt().isAfter(watermark)) {
+                watermark = token.getRevokedAt();
+            }
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package hr.algebra.donfundy.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import hr.algebra.donfundy.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+
+/**
+ * Per-user token versions. Every token carries the version its user had when it was issued, and bumping
+ * the version revokes all of that user's tokens at once. Versions are answered from memory: an entry is
+ * primed whenever a user is loaded for login and otherwise read from the user row on first use. Entries
+ * expire so that a revocation made on another instance is picked up within {@code time-to-live}.
+ */
+@Component
+public class TokenVersions {
+
+    private static final long UNKNOWN_USER = -1;
+
+    private final UserRepository userRepository;
+    private final Cache<Long, Long> versions;
+
+    public TokenVersions(UserRepository userRepository,
+                         @Value("${token-versions.maximum-size}") long maximumSize,
+                         @Value("${token-versions.time-to-live}") Duration timeToLive) {
+        this.userRepository = userRepository;
+        this.versions = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(timeToLive)
+                .build();
+    }
+
+    public boolean isCurrent(Long userId, long tokenVersion) {
+        long current = current(userId);
+        return current != UNKNOWN_USER && current == tokenVersion;
+    }
+
+    /**
+     * The user's current version, or a negative value for a user that no longer exists; that answer is
+     * cached as well, so tokens of a deleted user cannot make every request query the database.
+     */
+    public long current(Long userId) {
+        return versions.get(userId, id -> userRepository.findTokenVersionById(id).orElse(UNKNOWN_USER));
+    }
+
+    /**
+     * Records a version just read from the database; an older read never replaces a newer version.
+     */
+    public void remember(Long userId, long version) {
+        versions.asMap().merge(userId, version, Math::max);
+    }
+
+    /**
+     * Revokes every token issued to the user so far. The cached version is dropped only after the bump
+     * commits, so a concurrent request cannot reload and cache the old version.
+     */
+    @Transactional
+    public void revokeAll(Long userId) {
+        userRepository.incrementTokenVersion(userId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    versions.invalidate(userId);
+                }
+            });
+        } else {
+            versions.invalidate(userId);
+        }
+    }
+}
@@ -1,17 +1,24 @@
 package hr.algebra.donfundy.service;
 
+import hr.algebra.donfundy.config.CacheConfiguration;
 import hr.algebra.donfundy.domain.Campaign;
+import hr.algebra.donfundy.domain.CampaignDailyTotal;
+import hr.algebra.donfundy.domain.CampaignDonorTotal;
 import hr.algebra.donfundy.domain.Donor;
 import hr.algebra.donfundy.domain.enums.PaymentMethod;
 import hr.algebra.donfundy.domain.enums.Status;
 import hr.algebra.donfundy.dto.BulkDonationResult;
 import hr.algebra.donfundy.repository.CampaignRepository;
 import hr.algebra.donfundy.repository.DonorRepository;
+import hr.algebra.donfundy.support.CampaignEventBroadcaster;
+import hr.algebra.donfundy.support.ResourceVersions;
+import hr.algebra.donfundy.support.ResourceVersions.Resource;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.csv.CSVFormat;
 import org.apache.commons.csv.CSVParser;
 import org.apache.commons.csv.CSVRecord;
+import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.jdbc.core.BatchPreparedStatementSetter;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
@@ -39,6 +46,11 @@ public class BulkDonationService {
     private final JdbcTemplate jdbcTemplate;
     private final DonorRepository donorRepository;
     private final CampaignRepository campaignRepository;
+    private final ResourceVersions resourceVersions;
+    private final StatsService statsService;
+    private final LeaderboardService leaderboardService;
+    private final DonationRollupService donationRollupService;
+    private final CampaignEventBroadcaster campaignEventBroadcaster;
 
     private static final String ANONYMOUS_EMAIL = "anonymous@donfundy.com";
     private static final String INSERT_DONATION_SQL =
@@ -46,6 +58,7 @@ public class BulkDonationService {
             "VALUES (?, ?, ?, ?, ?, ?)";
 
 
+    @CacheEvict(value = CacheConfiguration.CAMPAIGNS, allEntries = true)
     @Transactional
     public BulkDonationResult processBulkDonations(MultipartFile file) {
         BulkDonationResult result = new BulkDonationResult();
@@ -72,8 +85,12 @@ public class BulkDonationService {
             }
 
             insertDonationsBatch(donations, donorCache);
+            statsService.donationsAdded(donations.size());
+            updateLeaderboards(donations, donorCache);
+            updateRollups(donations);
 
             updateCampaignAmounts(donations);
+            resourceVersions.changed(Resource.CAMPAIGNS, Resource.DONATIONS);
 
             result.setSuccessCount(donations.size());
             log.info("Successfully processed {} donations", donations.size());
@@ -195,6 +212,7 @@ public class BulkDonationService {
                     anonymous.setLastName("Donor");
                     anonymous.setUser(null);
                     Donor saved = donorRepository.save(anonymous);
+                    statsService.donorsAdded(1);
                     log.info("Created anonymous donor with ID: {}", saved.getId());
                     return saved;
                 });
@@ -210,6 +228,7 @@ public class BulkDonationService {
                     donor.setLastName(record.lastName);
                     donor.setUser(null);
                     Donor saved = donorRepository.save(donor);
+                    statsService.donorsAdded(1);
                     log.info("Created new donor: {} with ID: {}", record.email, saved.getId());
                     return saved;
                 });
@@ -241,6 +260,38 @@ public class BulkDonationService {
     }
 
 
+    private void updateLeaderboards(List<DonationRecord> donations, Map<String, Donor> donorCache) {
+        Map<CampaignDonorTotal.Key, BigDecimal> totals = new HashMap<>();
+        Map<CampaignDonorTotal.Key, Long> counts = new HashMap<>();
+        for (DonationRecord donation : donations) {
+            CampaignDonorTotal.Key key = new CampaignDonorTotal.Key(donation.campaignId, donorCache.get(donation.email).getId());
+            totals.merge(key, donation.amount, BigDecimal::add);
+            counts.merge(key, 1L, Long::sum);
+        }
+
+        for (Map.Entry<CampaignDonorTotal.Key, BigDecimal> entry : totals.entrySet()) {
+            CampaignDonorTotal.Key key = entry.getKey();
+            leaderboardService.donationsAdded(key.campaignId(), key.donorId(), entry.getValue(), counts.get(key));
+        }
+    }
+
+
+    private void updateRollups(List<DonationRecord> donations) {
+        Map<CampaignDailyTotal.Key, BigDecimal> totals = new HashMap<>();
+        Map<CampaignDailyTotal.Key, Long> counts = new HashMap<>();
+        for (DonationRecord donation : donations) {
+            CampaignDailyTotal.Key key = new CampaignDailyTotal.Key(donation.campaignId, donation.donationDate, donation.paymentMethod);
+            totals.merge(key, donation.amount, BigDecimal::add);
+            counts.merge(key, 1L, Long::sum);
+        }
+
+        for (Map.Entry<CampaignDailyTotal.Key, BigDecimal> entry : totals.entrySet()) {
+            CampaignDailyTotal.Key key = entry.getKey();
+            donationRollupService.donationsAdded(key.campaignId(), key.day(), key.paymentMethod(), entry.getValue(), counts.get(key));
+        }
+    }
+
+
     private void updateCampaignAmounts(List<DonationRecord> donations) {
         Map<Long, BigDecimal> campaignTotals = new HashMap<>();
         for (DonationRecord donation : donations) {
@@ -250,6 +301,7 @@ public class BulkDonationService {
         for (Map.Entry<Long, BigDecimal> entry : campaignTotals.entrySet()) {
             Campaign campaign = campaignRepository.findById(entry.getKey()).orElse(null);
             if (campaign != null) {
+                Status previousStatus = campaign.getStatus();
                 double currentRaised = campaign.getRaisedAmount() != null ? campaign.getRaisedAmount() : 0.0;
                 double newRaised = currentRaised + entry.getValue().doubleValue();
                 campaign.setRaisedAmount(newRaised);
@@ -259,6 +311,8 @@ public class BulkDonationService {
                 }
 
                 campaignRepository.save(campaign);
+                statsService.campaignChanged(previousStatus, campaign.getStatus(), entry.getValue().doubleValue());
+                campaignEventBroadcaster.publish(campaign);
                 log.info("Updated campaign {} raised amount to {}", entry.getKey(), newRaised);
             }
         }
@@ -1,23 +1,38 @@
 package hr.algebra.donfundy.service;
 
+import hr.algebra.donfundy.config.CacheConfiguration;
 import hr.algebra.donfundy.domain.Campaign;
 import hr.algebra.donfundy.domain.Donor;
-import hr.algebra.donfundy.domain.User;
 import hr.algebra.donfundy.domain.enums.Status;
 import hr.algebra.donfundy.dto.CampaignRequest;
 import hr.algebra.donfundy.dto.CampaignResponse;
+import hr.algebra.donfundy.dto.CursorPage;
 import hr.algebra.donfundy.exception.BusinessException;
 import hr.algebra.donfundy.exception.ResourceNotFoundException;
+import hr.algebra.donfundy.exception.ValidationException;
 import hr.algebra.donfundy.repository.CampaignRepository;
+import hr.algebra.donfundy.repository.CampaignRepository.SearchHit;
 import hr.algebra.donfundy.repository.DonorRepository;
-import hr.algebra.donfundy.repository.UserRepository;
+import hr.algebra.donfundy.repository.SparseQuery;
+import hr.algebra.donfundy.repository.SparseQueryRepository;
+import hr.algebra.donfundy.security.CurrentUser;
+import hr.algebra.donfundy.support.BatchIds;
+import hr.algebra.donfundy.support.CampaignEventBroadcaster;
+import hr.algebra.donfundy.support.KeysetCursor;
+import hr.algebra.donfundy.support.ResourceVersions;
+import hr.algebra.donfundy.support.ResourceVersions.Resource;
 import lombok.RequiredArgsConstructor;
-import org.springframework.security.core.Authentication;
-import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.CachePut;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
@@ -25,8 +40,12 @@ import java.util.stream.Collectors;
 public class CampaignService {
 
     private final CampaignRepository campaignRepository;
-    private final UserRepository userRepository;
     private final DonorRepository donorRepository;
+    private final CurrentUser currentUser;
+    private final ResourceVersions resourceVersions;
+    private final StatsService statsService;
+    private final SparseQueryRepository sparseQueryRepository;
+    private final CampaignEventBroadcaster campaignEventBroadcaster;
 
     @Transactional(readOnly = true)
     public List<CampaignResponse> findAll() {
@@ -43,22 +62,123 @@ public class CampaignService {
     }
 
     @Transactional(readOnly = true)
+    public CursorPage<CampaignResponse> findPage(Status status, String cursor, int limit) {
+        int pageSize = KeysetCursor.clampLimit(limit);
+        Limit fetchLimit = Limit.of(pageSize + 1);
+        KeysetCursor after = cursor != null ? KeysetCursor.decode(cursor) : null;
+
+        List<Campaign> campaigns;
+        if (status != null) {
+            campaigns = after == null
+                    ? campaignRepository.findByStatusOrderByStartDateDescIdDesc(status, fetchLimit)
+                    : campaignRepository.findPageByStatusAfter(status, after.dateKey(), after.id(), fetchLimit);
+        } else {
+            campaigns = after == null
+                    ? campaignRepository.findAllByOrderByStartDateDescIdDesc(fetchLimit)
+                    : campaignRepository.findPageAfter(after.dateKey(), after.id(), fetchLimit);
+        }
+
+        return CursorPage.of(campaigns, pageSize,
+                campaign -> KeysetCursor.of(campaign.getStartDate(), campaign.getId()),
+                this::mapToResponse);
+    }
+
+    @Transactional(readOnly = true)
+    public CursorPage<Map<String, Object>> findSparsePage(Status status, String cursor, int limit, String fields) {
+        int pageSize = KeysetCursor.clampLimit(limit);
+        SparseQuery query = SparseQuery.select(CampaignRepository.SPARSE_FIELDS, fields);
+        if (status != null) {
+            query.where("c.status = :status", Map.of("status", status));
+        }
+        if (cursor != null) {
+            KeysetCursor after = KeysetCursor.decode(cursor);
+            query.where(CampaignRepository.AFTER_CURSOR, Map.of("date", after.dateKey(), "id", after.id()));
+        }
+
+        return CursorPage.of(sparseQueryRepository.find(query, pageSize + 1), pageSize,
+                row -> KeysetCursor.of(row.sortKey(), row.id()),
+                SparseQuery.Row::values);
+    }
+
+    /**
+     * Loaded with {@code sync = true}: concurrent misses for the same id wait on the one in-flight load, and
+     * a write committed during the load evicts its result rather than being overwritten by it; see
+     * {@link CacheConfiguration}. Deliberately not transactional, so waiting callers hold no transaction or
+     * connection. The creator is fetched with the campaign, so mapping needs no session.
+     */
+    @Cacheable(value = CacheConfiguration.CAMPAIGNS, sync = true)
     public CampaignResponse findById(Long id) {
-        Campaign campaign = campaignRepository.findById(id)
+        Campaign campaign = campaignRepository.findWithCreatorById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("error.campaign.not.found", new Object[]{id}));
         return mapToResponse(campaign);
     }
 
+    @Transactional(readOnly = true)
+    public List<CampaignResponse> findByIds(List<Long> ids) {
+        List<Long> distinct = BatchIds.distinct(ids);
+        return BatchIds.inRequestOrder(distinct, campaignRepository.findByIdIn(distinct), Campaign::getId).stream()
+                .map(this::mapToResponse)
+                .collect(Collectors.toList());
+    }
+
     @Transactional(readOnly = true)
     public List<CampaignResponse> findByCurrentUser() {
-        Donor currentDonor = getCurrentDonor();
-        return campaignRepository.findAll().stream()
-                .filter(campaign -> campaign.getCreatedBy() != null &&
-                        campaign.getCreatedBy().getId().equals(currentDonor.getId()))
+        return campaignRepository.findByCreatedById(currentUser.donorId()).stream()
                 .map(this::mapToResponse)
                 .collect(Collectors.toList());
     }
 
+    @Transactional(readOnly = true)
+    public CursorPage<CampaignResponse> findPageByCurrentUser(String cursor, int limit) {
+        int pageSize = KeysetCursor.clampLimit(limit);
+        Limit fetchLimit = Limit.of(pageSize + 1);
+        Long donorId = currentUser.donorId();
+
+        List<Campaign> campaigns;
+        if (cursor == null) {
+            campaigns = campaignRepository.findByCreatedByIdOrderByStartDateDescIdDesc(donorId, fetchLimit);
+        } else {
+            KeysetCursor after = KeysetCursor.decode(cursor);
+            campaigns = campaignRepository.findPageByCreatedByIdAfter(donorId, after.dateKey(), after.id(), fetchLimit);
+        }
+
+        return CursorPage.of(campaigns, pageSize,
+                campaign -> KeysetCursor.of(campaign.getStartDate(), campaign.getId()),
+                this::mapToResponse);
+    }
+
+    @Transactional(readOnly = true)
+    public CursorPage<CampaignResponse> search(String query, String cursor, int limit) {
+        if (query == null || query.isBlank()) {
+            throw new ValidationException("error.search.query.required");
+        }
+        int pageSize = KeysetCursor.clampLimit(limit);
+
+        List<SearchHit> hits;
+        if (cursor == null) {
+            hits = campaignRepository.search(query, pageSize + 1);
+        } else {
+            KeysetCursor after = KeysetCursor.decode(cursor);
+            hits = campaignRepository.searchAfter(query, after.floatKey(), after.id(), pageSize + 1);
+        }
+
+        CursorPage<SearchHit> page = CursorPage.of(hits, pageSize,
+                hit -> KeysetCursor.of(hit.getRank(), hit.getId()),
+                Function.identity());
+        Map<Long, Campaign> campaigns = campaignRepository.findByIdIn(page.getItems().stream().map(SearchHit::getId).toList())
+                .stream()
+                .collect(Collectors.toMap(Campaign::getId, Function.identity()));
+
+        // A campaign deleted between the two queries is left out; the cursor still follows the raw hits.
+        List<CampaignResponse> items = page.getItems().stream()
+                .map(hit -> campaigns.get(hit.getId()))
+                .filter(Objects::nonNull)
+                .map(this::mapToResponse)
+                .toList();
+        return new CursorPage<>(items, page.getNextCursor());
+    }
+
+    @CachePut(value = CacheConfiguration.CAMPAIGNS, key = "#result.id")
     @Transactional
     public CampaignResponse create(CampaignRequest request) {
         validateCampaignDates(request);
@@ -76,9 +196,12 @@ public class CampaignService {
         campaign.setCreatedBy(currentDonor);
 
         Campaign saved = campaignRepository.save(campaign);
+        statsService.campaignCreated(saved.getStatus());
+        resourceVersions.changed(Resource.CAMPAIGNS);
         return mapToResponse(saved);
     }
 
+    @CachePut(value = CacheConfiguration.CAMPAIGNS, key = "#id")
     @Transactional
     public CampaignResponse update(Long id, CampaignRequest request) {
         Campaign campaign = campaignRepository.findById(id)
@@ -87,6 +210,7 @@ public class CampaignService {
         validateOwnership(campaign);
         validateCampaignDates(request);
 
+        Status previousStatus = campaign.getStatus();
         campaign.setName(request.getName());
         campaign.setDescription(request.getDescription());
         campaign.setGoalAmount(request.getGoalAmount());
@@ -95,23 +219,32 @@ public class CampaignService {
         campaign.setStatus(request.getStatus());
 
         Campaign updated = campaignRepository.save(campaign);
+        statsService.campaignChanged(previousStatus, updated.getStatus(), 0);
+        resourceVersions.changed(Resource.CAMPAIGNS, Resource.DONATIONS);
+        campaignEventBroadcaster.publish(updated);
         return mapToResponse(updated);
     }
 
+    @CacheEvict(CacheConfiguration.CAMPAIGNS)
     @Transactional
     public void delete(Long id) {
         Campaign campaign = campaignRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("error.campaign.not.found", new Object[]{id}));
 
         validateOwnership(campaign);
+        statsService.campaignDeleted(campaign);
         campaignRepository.delete(campaign);
+        resourceVersions.changed(Resource.CAMPAIGNS, Resource.DONATIONS);
+        campaignEventBroadcaster.close(id);
     }
 
+    @CacheEvict(value = CacheConfiguration.CAMPAIGNS, key = "#campaignId")
     @Transactional
     public void updateRaisedAmount(Long campaignId, Double amount) {
         Campaign campaign = campaignRepository.findById(campaignId)
                 .orElseThrow(() -> new ResourceNotFoundException("error.campaign.not.found", new Object[]{campaignId}));
 
+        Status previousStatus = campaign.getStatus();
         double newRaisedAmount = (campaign.getRaisedAmount() != null ? campaign.getRaisedAmount() : 0.0) + amount;
         campaign.setRaisedAmount(newRaisedAmount);
 
@@ -120,6 +253,9 @@ public class CampaignService {
         }
 
         campaignRepository.save(campaign);
+        statsService.campaignChanged(previousStatus, campaign.getStatus(), amount);
+        resourceVersions.changed(Resource.CAMPAIGNS);
+        campaignEventBroadcaster.publish(campaign);
     }
 
     private void validateCampaignDates(CampaignRequest request) {
@@ -129,21 +265,14 @@ public class CampaignService {
     }
 
     private void validateOwnership(Campaign campaign) {
-        Donor currentDonor = getCurrentDonor();
         if (campaign.getCreatedBy() == null ||
-                !campaign.getCreatedBy().getId().equals(currentDonor.getId())) {
+                !campaign.getCreatedBy().getId().equals(currentUser.donorId())) {
             throw new BusinessException("error.unauthorized.campaign.access");
         }
     }
 
     private Donor getCurrentDonor() {
-        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-        assert authentication != null;
-        String email = authentication.getName();
-        User user = userRepository.findByEmail(email)
-                .orElseThrow(() -> new BusinessException("error.user.not.found"));
-
-        return donorRepository.findByUserId(user.getId())
+        return donorRepository.findById(currentUser.donorId())
                 .orElseThrow(() -> new BusinessException("error.donor.not.found.for.user"));
     }
 
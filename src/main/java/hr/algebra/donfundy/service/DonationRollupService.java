@@ -0,0 +1,118 @@
+package hr.algebra.donfundy.service;
+
+import hr.algebra.donfundy.domain.Donation;
+import hr.algebra.donfundy.domain.Donor;
+import hr.algebra.donfundy.domain.enums.PaymentMethod;
+import hr.algebra.donfundy.domain.enums.TimeBucket;
+import hr.algebra.donfundy.dto.TimeseriesPointResponse;
+import hr.algebra.donfundy.exception.ResourceNotFoundException;
+import hr.algebra.donfundy.exception.ValidationException;
+import hr.algebra.donfundy.repository.CampaignDailyTotalRepository;
+import hr.algebra.donfundy.repository.CampaignDailyTotalRepository.BucketTotal;
+import hr.algebra.donfundy.repository.CampaignRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.TemporalAdjusters;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Keeps per-campaign daily donation totals in {@code campaign_daily_total}, split by payment method, in
+ * step with donation writes, so campaign charts read one row per day and method instead of every
+ * donation. Rows of deleted campaigns go with them through the database cascade.
+ */
+@Service
+@RequiredArgsConstructor
+public class DonationRollupService {
+
+    public static final int DEFAULT_DAYS = 90;
+    public static final int DEFAULT_WEEKS = 52;
+    public static final int MAX_DAYS = 366;
+    public static final int MAX_WEEKS = 156;
+
+    private final CampaignDailyTotalRepository campaignDailyTotalRepository;
+    private final CampaignRepository campaignRepository;
+
+    /**
+     * Totals per bucket and payment method between {@code from} and {@code to}, oldest first. Missing bounds
+     * default to the last {@value #DEFAULT_DAYS} days or {@value #DEFAULT_WEEKS} weeks up to today.
+     */
+    @Transactional(readOnly = true)
+    public List<TimeseriesPointResponse> getTimeseries(Long campaignId, String bucket, LocalDate from, LocalDate to) {
+        TimeBucket timeBucket = parseBucket(bucket);
+        LocalDate end = to != null ? to : LocalDate.now();
+        LocalDate start;
+        if (timeBucket == TimeBucket.WEEK) {
+            start = (from != null ? from : end.minusWeeks(DEFAULT_WEEKS - 1))
+                    .with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+        } else {
+            start = from != null ? from : end.minusDays(DEFAULT_DAYS - 1);
+        }
+        validateRange(timeBucket, start, end);
+
+        if (!campaignRepository.existsById(campaignId)) {
+            throw new ResourceNotFoundException("error.campaign.not.found", new Object[]{campaignId});
+        }
+
+        List<BucketTotal> totals = timeBucket == TimeBucket.WEEK
+                ? campaignDailyTotalRepository.findWeeklyTotals(campaignId, start, end)
+                : campaignDailyTotalRepository.findDailyTotals(campaignId, start, end);
+        return totals.stream().map(this::mapToResponse).toList();
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void donationsAdded(Long campaignId, LocalDate day, PaymentMethod paymentMethod, BigDecimal amount, long count) {
+        campaignDailyTotalRepository.addDonations(campaignId, day, paymentMethod.name(), amount, count);
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void donationDeleted(Donation donation) {
+        Long campaignId = donation.getCampaign().getId();
+        campaignDailyTotalRepository.removeDonation(campaignId, donation.getDonationDate(),
+                donation.getPaymentMethod(), donation.getAmount());
+        campaignDailyTotalRepository.deleteIfEmpty(campaignId, donation.getDonationDate(), donation.getPaymentMethod());
+    }
+
+    /**
+     * Must run before the donor is removed: the donor's donations are deleted by the database cascade and
+     * have to be subtracted while they still exist.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void donorDeleted(Donor donor) {
+        if (campaignDailyTotalRepository.removeDonationsByDonor(donor.getId()) > 0) {
+            campaignDailyTotalRepository.deleteEmptyForDonor(donor.getId());
+        }
+    }
+
+    private TimeBucket parseBucket(String bucket) {
+        try {
+            return TimeBucket.valueOf(bucket.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new ValidationException("error.timeseries.bucket.invalid");
+        }
+    }
+
+    private void validateRange(TimeBucket bucket, LocalDate start, LocalDate end) {
+        if (end.isBefore(start)) {
+            throw new ValidationException("error.invalid.date.range");
+        }
+        long buckets = bucket == TimeBucket.WEEK
+                ? ChronoUnit.WEEKS.between(start, end) + 1
+                : ChronoUnit.DAYS.between(start, end) + 1;
+        if (buckets > (bucket == TimeBucket.WEEK ? MAX_WEEKS : MAX_DAYS)) {
+            throw new ValidationException("error.timeseries.range.too.large");
+        }
+    }
+
+    private TimeseriesPointResponse mapToResponse(BucketTotal total) {
+        return new TimeseriesPointResponse(total.getBucketStart(), PaymentMethod.valueOf(total.getPaymentMethod()),
+                total.getTotalAmount(), total.getDonationCount());
+    }
+}
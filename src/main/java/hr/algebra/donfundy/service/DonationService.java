@@ -4,6 +4,7 @@ import hr.algebra.donfundy.domain.Campaign;
 import hr.algebra.donfundy.domain.Donation;
 import hr.algebra.donfundy.domain.Donor;
 import hr.algebra.donfundy.domain.enums.Status;
+import hr.algebra.donfundy.dto.CursorPage;
 import hr.algebra.donfundy.dto.DonationRequest;
 import hr.algebra.donfundy.dto.DonationResponse;
 import hr.algebra.donfundy.exception.BusinessException;
@@ -11,14 +12,24 @@ import hr.algebra.donfundy.exception.ResourceNotFoundException;
 import hr.algebra.donfundy.repository.CampaignRepository;
 import hr.algebra.donfundy.repository.DonationRepository;
 import hr.algebra.donfundy.repository.DonorRepository;
+import hr.algebra.donfundy.repository.SparseQuery;
+import hr.algebra.donfundy.repository.SparseQueryRepository;
+import hr.algebra.donfundy.support.BatchIds;
+import hr.algebra.donfundy.support.KeysetCursor;
+import hr.algebra.donfundy.support.ResourceVersions;
+import hr.algebra.donfundy.support.ResourceVersions.Resource;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
@@ -28,26 +39,83 @@ public class DonationService {
     private final CampaignRepository campaignRepository;
     private final DonorRepository donorRepository;
     private final CampaignService campaignService;
+    private final ResourceVersions resourceVersions;
+    private final StatsService statsService;
+    private final LeaderboardService leaderboardService;
+    private final DonationRollupService donationRollupService;
+    private final SparseQueryRepository sparseQueryRepository;
 
     @Transactional(readOnly = true)
     public List<DonationResponse> findAll() {
-        return donationRepository.findAll().stream()
-                .map(this::mapToResponse)
-                .collect(Collectors.toList());
+        return donationRepository.findAllResponses();
+    }
+
+    @Transactional(readOnly = true)
+    public void exportAll(Consumer<DonationResponse> sink) {
+        try (Stream<DonationResponse> donations = donationRepository.streamAllResponses()) {
+            donations.forEach(sink);
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public CursorPage<DonationResponse> findPage(Long campaignId, Long donorId, String cursor, int limit) {
+        int pageSize = KeysetCursor.clampLimit(limit);
+        Limit fetchLimit = Limit.of(pageSize + 1);
+        KeysetCursor after = cursor != null ? KeysetCursor.decode(cursor) : null;
+
+        List<DonationResponse> donations;
+        if (campaignId != null) {
+            donations = after == null
+                    ? donationRepository.findResponsePageByCampaignId(campaignId, fetchLimit)
+                    : donationRepository.findResponsePageByCampaignIdAfter(campaignId, after.dateKey(), after.id(), fetchLimit);
+        } else if (donorId != null) {
+            donations = after == null
+                    ? donationRepository.findResponsePageByDonorId(donorId, fetchLimit)
+                    : donationRepository.findResponsePageByDonorIdAfter(donorId, after.dateKey(), after.id(), fetchLimit);
+        } else {
+            donations = after == null
+                    ? donationRepository.findResponsePage(fetchLimit)
+                    : donationRepository.findResponsePageAfter(after.dateKey(), after.id(), fetchLimit);
+        }
+
+        return CursorPage.of(donations, pageSize,
+                donation -> KeysetCursor.of(donation.getDonationDate(), donation.getId()),
+                Function.identity());
+    }
+
+    @Transactional(readOnly = true)
+    public CursorPage<Map<String, Object>> findSparsePage(Long campaignId, Long donorId, String cursor, int limit, String fields) {
+        int pageSize = KeysetCursor.clampLimit(limit);
+        SparseQuery query = SparseQuery.select(DonationRepository.SPARSE_FIELDS, fields);
+        if (campaignId != null) {
+            query.where("d.campaign.id = :campaignId", Map.of("campaignId", campaignId));
+        } else if (donorId != null) {
+            query.where("d.donor.id = :donorId", Map.of("donorId", donorId));
+        }
+        if (cursor != null) {
+            KeysetCursor after = KeysetCursor.decode(cursor);
+            query.where(DonationRepository.AFTER_CURSOR, Map.of("date", after.dateKey(), "id", after.id()));
+        }
+
+        return CursorPage.of(sparseQueryRepository.find(query, pageSize + 1), pageSize,
+                row -> KeysetCursor.of(row.sortKey(), row.id()),
+                SparseQuery.Row::values);
     }
 
     @Transactional(readOnly = true)
     public List<DonationResponse> findByCampaignId(Long campaignId) {
-        return donationRepository.findByCampaignId(campaignId).stream()
-                .map(this::mapToResponse)
-                .collect(Collectors.toList());
+        return donationRepository.findResponsesByCampaignId(campaignId);
     }
 
     @Transactional(readOnly = true)
     public List<DonationResponse> findByDonorId(Long donorId) {
-        return donationRepository.findByDonorId(donorId).stream()
-                .map(this::mapToResponse)
-                .collect(Collectors.toList());
+        return donationRepository.findResponsesByDonorId(donorId);
+    }
+
+    @Transactional(readOnly = true)
+    public List<DonationResponse> findByIds(List<Long> ids) {
+        List<Long> distinct = BatchIds.distinct(ids);
+        return BatchIds.inRequestOrder(distinct, donationRepository.findResponsesByIdIn(distinct), DonationResponse::getId);
     }
 
     @Transactional(readOnly = true)
@@ -78,6 +146,11 @@ public class DonationService {
         donation.setPaymentMethod(request.getPaymentMethod());
 
         Donation saved = donationRepository.save(donation);
+        statsService.donationsAdded(1);
+        leaderboardService.donationsAdded(campaign.getId(), donor.getId(), request.getAmount(), 1);
+        donationRollupService.donationsAdded(campaign.getId(), donation.getDonationDate(), donation.getPaymentMethod(),
+                request.getAmount(), 1);
+        resourceVersions.changed(Resource.DONATIONS);
 
         campaignService.updateRaisedAmount(campaign.getId(), request.getAmount().doubleValue());
 
@@ -88,7 +161,11 @@ public class DonationService {
     public void delete(Long id) {
         Donation donation = donationRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("error.donation.not.found", new Object[]{id}));
+        statsService.donationDeleted();
+        leaderboardService.donationDeleted(donation);
+        donationRollupService.donationDeleted(donation);
         donationRepository.delete(donation);
+        resourceVersions.changed(Resource.DONATIONS);
     }
 
     private void validateDonationAmount(BigDecimal amount) {
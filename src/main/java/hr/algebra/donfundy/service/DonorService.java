@@ -1,21 +1,34 @@
 package hr.algebra.donfundy.service;
 
+import hr.algebra.donfundy.config.CacheConfiguration;
 import hr.algebra.donfundy.domain.Donor;
 import hr.algebra.donfundy.domain.User;
+import hr.algebra.donfundy.dto.CursorPage;
 import hr.algebra.donfundy.dto.DonorRequest;
 import hr.algebra.donfundy.dto.DonorResponse;
+import hr.algebra.donfundy.dto.DonorSummaryResponse;
 import hr.algebra.donfundy.exception.BusinessException;
 import hr.algebra.donfundy.exception.ResourceNotFoundException;
 import hr.algebra.donfundy.repository.DonorRepository;
+import hr.algebra.donfundy.repository.SparseQuery;
+import hr.algebra.donfundy.repository.SparseQueryRepository;
 import hr.algebra.donfundy.repository.UserRepository;
+import hr.algebra.donfundy.security.CurrentUser;
+import hr.algebra.donfundy.security.CustomUserDetailsService;
+import hr.algebra.donfundy.security.TokenVersions;
+import hr.algebra.donfundy.support.BatchIds;
+import hr.algebra.donfundy.support.KeysetCursor;
+import hr.algebra.donfundy.support.ResourceVersions;
+import hr.algebra.donfundy.support.ResourceVersions.Resource;
 import lombok.NonNull;
 import lombok.RequiredArgsConstructor;
-import org.springframework.security.core.Authentication;
-import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.stream.Collectors;
 
@@ -25,6 +38,13 @@ public class DonorService {
 
     private final DonorRepository donorRepository;
     private final UserRepository userRepository;
+    private final ResourceVersions resourceVersions;
+    private final StatsService statsService;
+    private final DonationRollupService donationRollupService;
+    private final SparseQueryRepository sparseQueryRepository;
+    private final CustomUserDetailsService userDetailsService;
+    private final CurrentUser currentUser;
+    private final TokenVersions tokenVersions;
 
     @Transactional(readOnly = true)
     public List<DonorResponse> findAll() {
@@ -33,6 +53,38 @@ public class DonorService {
                 .collect(Collectors.toList());
     }
 
+    @Transactional(readOnly = true)
+    public CursorPage<DonorResponse> findPage(String cursor, int limit) {
+        int pageSize = KeysetCursor.clampLimit(limit);
+        Limit fetchLimit = Limit.of(pageSize + 1);
+
+        List<Donor> donors;
+        if (cursor == null) {
+            donors = donorRepository.findAllByOrderByLastNameAscIdAsc(fetchLimit);
+        } else {
+            KeysetCursor after = KeysetCursor.decode(cursor);
+            donors = donorRepository.findPageAfter(after.sortKey(), after.id(), fetchLimit);
+        }
+
+        return CursorPage.of(donors, pageSize,
+                donor -> KeysetCursor.of(donor.getLastName(), donor.getId()),
+                this::mapToResponse);
+    }
+
+    @Transactional(readOnly = true)
+    public CursorPage<Map<String, Object>> findSparsePage(String cursor, int limit, String fields) {
+        int pageSize = KeysetCursor.clampLimit(limit);
+        SparseQuery query = SparseQuery.select(DonorRepository.SPARSE_FIELDS, fields);
+        if (cursor != null) {
+            KeysetCursor after = KeysetCursor.decode(cursor);
+            query.where(DonorRepository.AFTER_CURSOR, Map.of("lastName", after.sortKey(), "id", after.id()));
+        }
+
+        return CursorPage.of(sparseQueryRepository.find(query, pageSize + 1), pageSize,
+                row -> KeysetCursor.of(row.sortKey(), row.id()),
+                SparseQuery.Row::values);
+    }
+
     @Transactional(readOnly = true)
     public DonorResponse findById(Long id) {
         Donor donor = donorRepository.findById(id)
@@ -40,6 +92,20 @@ public class DonorService {
         return mapToResponse(donor);
     }
 
+    @Transactional(readOnly = true)
+    public List<DonorResponse> findByIds(List<Long> ids) {
+        List<Long> distinct = BatchIds.distinct(ids);
+        return BatchIds.inRequestOrder(distinct, donorRepository.findByIdIn(distinct), Donor::getId).stream()
+                .map(this::mapToResponse)
+                .collect(Collectors.toList());
+    }
+
+    @Transactional(readOnly = true)
+    public DonorSummaryResponse getSummary(Long id) {
+        return donorRepository.findSummary(id)
+                .orElseThrow(() -> new ResourceNotFoundException("error.donor.not.found", new Object[]{id}));
+    }
+
     @Transactional(readOnly = true)
     public DonorResponse findByUserId(Long userId) {
         Donor donor = donorRepository.findByUserId(userId)
@@ -49,13 +115,7 @@ public class DonorService {
 
     @Transactional(readOnly = true)
     public DonorResponse findCurrentUserDonor() {
-        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-        assert authentication != null;
-        String email = authentication.getName();
-        User user = userRepository.findByEmail(email)
-                .orElseThrow(() -> new BusinessException("error.user.not.found"));
-
-        Donor donor = donorRepository.findByUserId(user.getId())
+        Donor donor = donorRepository.findById(currentUser.donorId())
                 .orElseThrow(() -> new BusinessException("error.donor.not.found.for.user"));
 
         return mapToResponse(donor);
@@ -73,12 +133,15 @@ public class DonorService {
             User user = userRepository.findById(request.getUserId())
                     .orElseThrow(() -> new ResourceNotFoundException("error.user.not.found", new Object[]{request.getUserId()}));
             donor.setUser(user);
+            userDetailsService.evict(user.getEmail());
         }
 
         Donor saved = donorRepository.save(donor);
+        statsService.donorsAdded(1);
         return mapToResponse(saved);
     }
 
+    @CacheEvict(value = CacheConfiguration.CAMPAIGNS, allEntries = true)
     @Transactional
     public DonorResponse update(Long id, DonorRequest request) {
         Donor donor = donorRepository.findById(id)
@@ -92,18 +155,39 @@ public class DonorService {
         if (request.getUserId() != null) {
             User user = userRepository.findById(request.getUserId())
                     .orElseThrow(() -> new ResourceNotFoundException("error.user.not.found", new Object[]{request.getUserId()}));
+            if (donor.getUser() != null && !donor.getUser().getId().equals(user.getId())) {
+                unlinkUser(donor);
+            }
             donor.setUser(user);
+            userDetailsService.evict(user.getEmail());
         }
 
         Donor updated = donorRepository.save(donor);
+        resourceVersions.changed(Resource.CAMPAIGNS, Resource.DONATIONS);
         return mapToResponse(updated);
     }
 
+    @CacheEvict(value = CacheConfiguration.CAMPAIGNS, allEntries = true)
     @Transactional
     public void delete(Long id) {
         Donor donor = donorRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("error.donor.not.found", new Object[]{id}));
+        statsService.donorDeleted(donor);
+        donationRollupService.donorDeleted(donor);
+        unlinkUser(donor);
         donorRepository.delete(donor);
+        resourceVersions.changed(Resource.CAMPAIGNS, Resource.DONATIONS);
+    }
+
+    /**
+     * The user's tokens name this donor, and ownership checks trust that claim, so they are revoked
+     * along with the cached login details.
+     */
+    private void unlinkUser(Donor donor) {
+        if (donor.getUser() != null) {
+            userDetailsService.evict(donor.getUser().getEmail());
+            tokenVersions.revokeAll(donor.getUser().getId());
+        }
     }
 
     private DonorResponse mapToResponse(Donor donor) {
@@ -117,15 +201,18 @@ public class DonorService {
         return response;
     }
 
-    public void createDonorForUser(@NonNull User savedUser) {
+    public Donor createDonorForUser(@NonNull User savedUser) {
         Optional<Donor> optionalDonor = donorRepository.findByUserId(savedUser.getId());
-        if (optionalDonor.isEmpty()){
-            Donor donor = new Donor();
-            donor.setFirstName(savedUser.getFirstName());
-            donor.setLastName(savedUser.getLastName());
-            donor.setEmail(savedUser.getEmail());
-            donor.setUser(savedUser);
-            donorRepository.save(donor);
+        if (optionalDonor.isPresent()) {
+            return optionalDonor.get();
         }
+        Donor donor = new Donor();
+        donor.setFirstName(savedUser.getFirstName());
+        donor.setLastName(savedUser.getLastName());
+        donor.setEmail(savedUser.getEmail());
+        donor.setUser(savedUser);
+        Donor saved = donorRepository.save(donor);
+        statsService.donorsAdded(1);
+        return saved;
     }
 }
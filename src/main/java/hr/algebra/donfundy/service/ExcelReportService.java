@@ -1,13 +1,16 @@
 package hr.algebra.donfundy.service;
 
 import hr.algebra.donfundy.domain.Campaign;
-import hr.algebra.donfundy.domain.Donation;
 import hr.algebra.donfundy.repository.CampaignRepository;
 import hr.algebra.donfundy.repository.DonationRepository;
+import hr.algebra.donfundy.repository.DonationRepository.CampaignDonationCount;
+import hr.algebra.donfundy.repository.DonationRepository.ReportRow;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.poi.ss.usermodel.*;
-import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.apache.poi.xssf.streaming.SXSSFSheet;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -18,8 +21,20 @@ import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.Comparator;
 import java.util.List;
-
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Writes the campaign report with a streaming workbook: only the last {@code report.row-window} rows of
+ * the sheet being written are kept in memory, older ones are flushed to a temporary file, and donations
+ * are read from a cursor rather than loaded up front, so heap use does not grow with the number of
+ * donations. Flushed rows cannot be measured any more, so detail columns get fixed widths instead of
+ * being auto-sized.
+ */
 @Service
 @RequiredArgsConstructor
 @Slf4j
@@ -28,8 +43,14 @@ public class ExcelReportService {
     private final CampaignRepository campaignRepository;
     private final DonationRepository donationRepository;
 
+    @Value("${report.row-window}")
+    private int rowWindow;
+
     private static final String REPORTS_DIRECTORY = "reports";
     private static final DateTimeFormatter DATE_TIME_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd_HH-mm-ss");
+    private static final String[] DETAIL_HEADERS = {"Donation ID", "Donor Name", "Donor Email", "Amount",
+            "Donation Date", "Payment Method", "Message"};
+    private static final int[] DETAIL_COLUMN_WIDTHS = {12, 28, 32, 14, 14, 16, 60};
 
     @Transactional(readOnly = true)
     public String generateCampaignReport() {
@@ -41,20 +62,24 @@ public class ExcelReportService {
                 Files.createDirectories(reportsPath);
             }
 
-            Workbook workbook = new XSSFWorkbook();
-
-            createCampaignsSummarySheet(workbook);
-            createDonationsDetailSheets(workbook);
-
             String timestamp = LocalDateTime.now().format(DATE_TIME_FORMATTER);
             String filename = String.format("%s/campaign_report_%s.xlsx", REPORTS_DIRECTORY, timestamp);
 
-            try (FileOutputStream fileOut = new FileOutputStream(filename)) {
+            SXSSFWorkbook workbook = new SXSSFWorkbook(rowWindow);
+            workbook.setCompressTempFiles(true);
+            try (workbook; FileOutputStream fileOut = new FileOutputStream(filename)) {
+                List<Campaign> campaigns = campaignRepository.findAll().stream()
+                        .sorted(Comparator.comparing(Campaign::getId))
+                        .toList();
+
+                createCampaignsSummarySheet(workbook, campaigns);
+                createDonationsDetailSheets(workbook, campaigns);
+
                 workbook.write(fileOut);
+            } finally {
+                workbook.dispose();
             }
 
-            workbook.close();
-
             log.info("Campaign report generated successfully: {}", filename);
             return filename;
 
@@ -64,8 +89,9 @@ public class ExcelReportService {
         }
     }
 
-    private void createCampaignsSummarySheet(Workbook workbook) {
-        Sheet sheet = workbook.createSheet("Campaigns Summary");
+    private void createCampaignsSummarySheet(SXSSFWorkbook workbook, List<Campaign> campaigns) {
+        SXSSFSheet sheet = workbook.createSheet("Campaigns Summary");
+        sheet.trackAllColumnsForAutoSizing();
 
         CellStyle headerStyle = createHeaderStyle(workbook);
         CellStyle currencyStyle = createCurrencyStyle(workbook);
@@ -80,7 +106,8 @@ public class ExcelReportService {
             cell.setCellStyle(headerStyle);
         }
 
-        List<Campaign> campaigns = campaignRepository.findAll();
+        Map<Long, Long> donationCounts = donationRepository.countByCampaign().stream()
+                .collect(Collectors.toMap(CampaignDonationCount::getCampaignId, CampaignDonationCount::getDonations));
 
         int rowNum = 1;
         for (Campaign campaign : campaigns) {
@@ -112,8 +139,7 @@ public class ExcelReportService {
             }
             row.createCell(9).setCellValue(createdBy);
 
-            List<Donation> donations = donationRepository.findByCampaignId(campaign.getId());
-            row.createCell(10).setCellValue(donations.size());
+            row.createCell(10).setCellValue(donationCounts.getOrDefault(campaign.getId(), 0L));
         }
 
         for (int i = 0; i < headers.length; i++) {
@@ -121,52 +147,40 @@ public class ExcelReportService {
         }
     }
 
-    private void createDonationsDetailSheets(Workbook workbook) {
-        List<Campaign> campaigns = campaignRepository.findAll();
+    /**
+     * One sheet per campaign with donations, in campaign order, filled from a single cursor that returns
+     * the donations grouped by campaign. The cursor runs after the campaigns were read, so it can reach
+     * campaigns created in between; their donations are left out, keeping the report to the campaigns its
+     * summary lists.
+     */
+    private void createDonationsDetailSheets(Workbook workbook, List<Campaign> campaigns) {
+        Map<Long, Campaign> campaignsById = campaigns.stream()
+                .collect(Collectors.toMap(Campaign::getId, Function.identity()));
 
         CellStyle headerStyle = createHeaderStyle(workbook);
         CellStyle currencyStyle = createCurrencyStyle(workbook);
 
-        for (Campaign campaign : campaigns) {
-            List<Donation> donations = donationRepository.findByCampaignId(campaign.getId());
-
-            if (donations.isEmpty()) {
-                continue;
-            }
-
-            String sheetName = campaign.getName().length() > 28
-                ? campaign.getName().substring(0, 28) + "..."
-                : campaign.getName();
-            sheetName = sheetName.replaceAll("[\\\\/:*?\\[\\]\"<>|]", "_"); // Remove invalid characters
-
-            Sheet sheet = workbook.createSheet(sheetName);
-
-            Row campaignInfoRow = sheet.createRow(0);
-            campaignInfoRow.createCell(0).setCellValue("Campaign: " + campaign.getName());
-
-            Row campaignGoalRow = sheet.createRow(1);
-            campaignGoalRow.createCell(0).setCellValue("Goal: $" + campaign.getGoalAmount());
-            campaignGoalRow.createCell(1).setCellValue("Raised: $" + (campaign.getRaisedAmount() != null ? campaign.getRaisedAmount() : 0.0));
+        try (Stream<ReportRow> donations = donationRepository.streamReportRows()) {
+            Sheet sheet = null;
+            Long sheetCampaignId = null;
+            int rowNum = 0;
+
+            for (ReportRow donation : (Iterable<ReportRow>) donations::iterator) {
+                if (!donation.getCampaignId().equals(sheetCampaignId)) {
+                    sheetCampaignId = donation.getCampaignId();
+                    Campaign campaign = campaignsById.get(sheetCampaignId);
+                    sheet = campaign != null ? createDonationsDetailSheet(workbook, campaign, headerStyle) : null;
+                    rowNum = 4;
+                }
+                if (sheet == null) {
+                    continue;
+                }
 
-            sheet.createRow(2);
-
-            Row headerRow = sheet.createRow(3);
-            String[] headers = {"Donation ID", "Donor Name", "Donor Email", "Amount",
-                              "Donation Date", "Payment Method", "Message"};
-
-            for (int i = 0; i < headers.length; i++) {
-                Cell cell = headerRow.createCell(i);
-                cell.setCellValue(headers[i]);
-                cell.setCellStyle(headerStyle);
-            }
-
-            int rowNum = 4;
-            for (Donation donation : donations) {
                 Row row = sheet.createRow(rowNum++);
 
                 row.createCell(0).setCellValue(donation.getId());
-                row.createCell(1).setCellValue(donation.getDonor().getFirstName() + " " + donation.getDonor().getLastName());
-                row.createCell(2).setCellValue(donation.getDonor().getEmail());
+                row.createCell(1).setCellValue(donation.getDonorName());
+                row.createCell(2).setCellValue(donation.getDonorEmail());
 
                 Cell amountCell = row.createCell(3);
                 amountCell.setCellValue(donation.getAmount().doubleValue());
@@ -176,11 +190,34 @@ public class ExcelReportService {
                 row.createCell(5).setCellValue(donation.getPaymentMethod().toString());
                 row.createCell(6).setCellValue(donation.getMessage() != null ? donation.getMessage() : "");
             }
+        }
+    }
 
-            for (int i = 0; i < headers.length; i++) {
-                sheet.autoSizeColumn(i);
-            }
+    private Sheet createDonationsDetailSheet(Workbook workbook, Campaign campaign, CellStyle headerStyle) {
+        String sheetName = campaign.getName().length() > 28
+            ? campaign.getName().substring(0, 28) + "..."
+            : campaign.getName();
+        sheetName = sheetName.replaceAll("[\\\\/:*?\\[\\]\"<>|]", "_"); // Remove invalid characters
+
+        Sheet sheet = workbook.createSheet(sheetName);
+
+        Row campaignInfoRow = sheet.createRow(0);
+        campaignInfoRow.createCell(0).setCellValue("Campaign: " + campaign.getName());
+
+        Row campaignGoalRow = sheet.createRow(1);
+        campaignGoalRow.createCell(0).setCellValue("Goal: $" + campaign.getGoalAmount());
+        campaignGoalRow.createCell(1).setCellValue("Raised: $" + (campaign.getRaisedAmount() != null ? campaign.getRaisedAmount() : 0.0));
+
+        sheet.createRow(2);
+
+        Row headerRow = sheet.createRow(3);
+        for (int i = 0; i < DETAIL_HEADERS.length; i++) {
+            Cell cell = headerRow.createCell(i);
+            cell.setCellValue(DETAIL_HEADERS[i]);
+            cell.setCellStyle(headerStyle);
+            sheet.setColumnWidth(i, DETAIL_COLUMN_WIDTHS[i] * 256);
         }
+        return sheet;
     }
 
     private CellStyle createHeaderStyle(Workbook workbook) {
@@ -0,0 +1,52 @@
+package hr.algebra.donfundy.service;
+
+import hr.algebra.donfundy.domain.Donation;
+import hr.algebra.donfundy.dto.LeaderboardEntryResponse;
+import hr.algebra.donfundy.exception.ResourceNotFoundException;
+import hr.algebra.donfundy.repository.CampaignDonorTotalRepository;
+import hr.algebra.donfundy.repository.CampaignRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * Keeps per-campaign donor totals in {@code campaign_donor_total} in step with donation writes, so top
+ * supporters are read from an index instead of grouping every donation of the campaign. Rows of deleted
+ * campaigns and donors go with them through the database cascade.
+ */
+@Service
+@RequiredArgsConstructor
+public class LeaderboardService {
+
+    public static final int DEFAULT_LIMIT = 10;
+    public static final int MAX_LIMIT = 100;
+
+    private final CampaignDonorTotalRepository campaignDonorTotalRepository;
+    private final CampaignRepository campaignRepository;
+
+    @Transactional(readOnly = true)
+    public List<LeaderboardEntryResponse> getLeaderboard(Long campaignId, int limit) {
+        if (!campaignRepository.existsById(campaignId)) {
+            throw new ResourceNotFoundException("error.campaign.not.found", new Object[]{campaignId});
+        }
+        return campaignDonorTotalRepository.findLeaderboard(campaignId, Limit.of(Math.clamp(limit, 1, MAX_LIMIT)));
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void donationsAdded(Long campaignId, Long donorId, BigDecimal amount, long count) {
+        campaignDonorTotalRepository.addDonations(campaignId, donorId, amount, count);
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void donationDeleted(Donation donation) {
+        Long campaignId = donation.getCampaign().getId();
+        Long donorId = donation.getDonor().getId();
+        campaignDonorTotalRepository.removeDonation(campaignId, donorId, donation.getAmount());
+        campaignDonorTotalRepository.deleteIfEmpty(campaignId, donorId);
+    }
+}
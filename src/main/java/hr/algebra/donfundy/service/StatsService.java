@@ -0,0 +1,94 @@
+package hr.algebra.donfundy.service;
+
+import hr.algebra.donfundy.domain.Campaign;
+import hr.algebra.donfundy.domain.Donor;
+import hr.algebra.donfundy.domain.StatsSummary;
+import hr.algebra.donfundy.domain.enums.Status;
+import hr.algebra.donfundy.dto.StatsSummaryResponse;
+import hr.algebra.donfundy.repository.DonationRepository;
+import hr.algebra.donfundy.repository.StatsSummaryRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Keeps the single {@code stats_summary} row in step with campaign, donation and donor writes. Every
+ * method joins the caller's transaction, so a rolled back write never leaves its delta behind.
+ */
+@Service
+@RequiredArgsConstructor
+public class StatsService {
+
+    private final StatsSummaryRepository statsSummaryRepository;
+    private final DonationRepository donationRepository;
+
+    @Transactional(readOnly = true)
+    public StatsSummaryResponse getSummary() {
+        StatsSummary summary = statsSummaryRepository.findById(StatsSummary.SINGLETON_ID)
+                .orElseThrow(() -> new IllegalStateException("stats_summary row is missing"));
+        return mapToResponse(summary);
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void campaignCreated(Status status) {
+        statsSummaryRepository.applyDelta(1, active(status), 0, 0, 0);
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void campaignChanged(Status oldStatus, Status newStatus, double raisedDelta) {
+        long activeDelta = active(newStatus) - active(oldStatus);
+        if (activeDelta != 0 || raisedDelta != 0) {
+            statsSummaryRepository.applyDelta(0, activeDelta, 0, 0, raisedDelta);
+        }
+    }
+
+    /**
+     * Must run before the campaign is removed: its donations are deleted by the database cascade and
+     * have to be counted while they still exist.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void campaignDeleted(Campaign campaign) {
+        long donations = donationRepository.countByCampaignId(campaign.getId());
+        double raised = campaign.getRaisedAmount() != null ? campaign.getRaisedAmount() : 0.0;
+        statsSummaryRepository.applyDelta(-1, -active(campaign.getStatus()), -donations, 0, -raised);
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void donationsAdded(long count) {
+        statsSummaryRepository.applyDelta(0, 0, count, 0, 0);
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void donationDeleted() {
+        statsSummaryRepository.applyDelta(0, 0, -1, 0, 0);
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void donorsAdded(long count) {
+        statsSummaryRepository.applyDelta(0, 0, 0, count, 0);
+    }
+
+    /**
+     * Must run before the donor is removed, for the same cascade reason as {@link #campaignDeleted}.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void donorDeleted(Donor donor) {
+        long donations = donationRepository.countByDonorId(donor.getId());
+        statsSummaryRepository.applyDelta(0, 0, -donations, -1, 0);
+    }
+
+    private static long active(Status status) {
+        return status == Status.ACTIVE ? 1 : 0;
+    }
+
+    private StatsSummaryResponse mapToResponse(StatsSummary summary) {
+        StatsSummaryResponse response = new StatsSummaryResponse();
+        response.setCampaignCount(summary.getCampaignCount());
+        response.setActiveCampaignCount(summary.getActiveCampaignCount());
+        response.setDonationCount(summary.getDonationCount());
+        response.setDonorCount(summary.getDonorCount());
+        response.setTotalRaised(summary.getTotalRaised());
+        return response;
+    }
+}
@@ -1,10 +1,13 @@
 package hr.algebra.donfundy.service;
 
+import hr.algebra.donfundy.domain.Donor;
 import hr.algebra.donfundy.domain.User;
 import hr.algebra.donfundy.domain.enums.Role;
 import hr.algebra.donfundy.dto.RegisterRequest;
 import hr.algebra.donfundy.exception.ValidationException;
 import hr.algebra.donfundy.repository.UserRepository;
+import hr.algebra.donfundy.security.AuthenticatedUser;
+import hr.algebra.donfundy.security.CustomUserDetailsService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.crypto.password.PasswordEncoder;
@@ -18,25 +21,42 @@ public class UserService {
     private final PasswordEncoder passwordEncoder;
     private final UserRepository userRepository;
     private final DonorService donorService;
+    private final CustomUserDetailsService userDetailsService;
 
+    /**
+     * Hashes the password of a registration. Called on the password hashing pool before {@link #save}, outside
+     * any transaction, so no database connection is held while BCrypt runs. Taken email addresses are only
+     * detected afterwards, which also keeps registering an existing address from answering measurably faster.
+     */
+    public String hashPassword(RegisterRequest registerRequest) {
+        if (!registerRequest.getPassword().equals(registerRequest.getRepeatPassword())) {
+            throw new ValidationException("error.password.mismatch");
+        }
+        return passwordEncoder.encode(registerRequest.getPassword());
+    }
+
+    /**
+     * Registers the user with a hash from {@link #hashPassword} and returns their principal, so a token can be
+     * issued without checking the password that was just hashed a second time.
+     */
     @Transactional
-    public void save(@Valid RegisterRequest registerRequest) {
+    public AuthenticatedUser save(@Valid RegisterRequest registerRequest, String passwordHash) {
         if (userRepository.findByEmail(registerRequest.getEmail()).isPresent()){
             throw new ValidationException("error.email.already.exists");
         }
 
-        if (!registerRequest.getPassword().equals(registerRequest.getRepeatPassword())) {
-            throw new ValidationException("error.password.mismatch");
-        }
-
         User user = new User();
         user.setFirstName(registerRequest.getFirstName());
         user.setLastName(registerRequest.getLastName());
         user.setEmail(registerRequest.getEmail());
-        user.setPasswordHash(passwordEncoder.encode(registerRequest.getPassword()));
+        user.setPasswordHash(passwordHash);
         user.setRole(Role.USER);
 
         User savedUser = userRepository.save(user);
-        donorService.createDonorForUser(savedUser);
+        Donor donor = donorService.createDonorForUser(savedUser);
+        userDetailsService.evict(savedUser.getEmail());
+
+        return AuthenticatedUser.of(savedUser.getEmail(), savedUser.getPasswordHash(), savedUser.getRole(),
+                savedUser.getId(), donor.getId(), savedUser.getTokenVersion());
     }
 }
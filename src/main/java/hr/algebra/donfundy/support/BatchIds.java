@@ -0,0 +1,39 @@
+package hr.algebra.donfundy.support;
+
+import hr.algebra.donfundy.exception.ValidationException;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * IDs of a batch fetch such as {@code GET /campaigns?ids=3,1,2}. The IDs are looked up with a single IN
+ * query and the rows put back into request order; duplicates are answered once and unknown IDs are
+ * left out rather than failing the whole batch.
+ */
+public final class BatchIds {
+
+    public static final int MAX_IDS = 100;
+
+    private BatchIds() {
+    }
+
+    public static List<Long> distinct(List<Long> ids) {
+        List<Long> distinct = ids == null ? List.of() : ids.stream().filter(Objects::nonNull).distinct().toList();
+        if (distinct.isEmpty() || distinct.size() > MAX_IDS) {
+            throw new ValidationException("error.batch.ids.invalid");
+        }
+        return distinct;
+    }
+
+    public static <T> List<T> inRequestOrder(List<Long> ids, Collection<T> rows, Function<T, Long> idOf) {
+        Map<Long, T> byId = rows.stream().collect(Collectors.toMap(idOf, Function.identity()));
+        return ids.stream()
+                .map(byId::get)
+                .filter(Objects::nonNull)
+                .toList();
+    }
+}
@@ -0,0 +1,283 @@
+package hr.algebra.donfundy.support;
+
+import hr.algebra.donfundy.domain.Campaign;
+import hr.algebra.donfundy.dto.CampaignProgressEvent;
+import hr.algebra.donfundy.exception.ServiceUnavailableException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter.DataWithMediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Pushes campaign progress to the campaign's Server-Sent Events subscribers. Publishing only records the
+ * latest state once the writing transaction commits; a dedicated thread sends whatever is pending once per
+ * coalescing window, so a burst of donations becomes a single event that is serialized once for all of the
+ * campaign's subscribers. An idle subscriber holds no thread, only its parked async response.
+ * <p>
+ * The scheduler thread never writes to a socket itself: each subscriber gets its frames through its own
+ * virtual thread, at most one at a time, with only the newest frame kept while a write is in flight. A client
+ * whose TCP window is full therefore only delays its own stream, and once a single write has been stuck for
+ * longer than the send timeout the subscriber is dropped. Every stream occupies one of the connector's
+ * connections for as long as it is open, so the number of subscribers per node is capped below
+ * {@code server.tomcat.max-connections} to keep connections free for the rest of the API.
+ */
+@Component
+@Slf4j
+public class CampaignEventBroadcaster implements SmartLifecycle {
+
+    public static final String PROGRESS_EVENT = "progress";
+
+    private static final long IDLE = Long.MIN_VALUE;
+
+    private final ConcurrentMap<Long, Channel> channels = new ConcurrentHashMap<>();
+    private final JsonMapper jsonMapper;
+    private final long coalesceWindowMillis;
+    private final long heartbeatIntervalMillis;
+    private final long timeoutMillis;
+    private final long sendTimeoutNanos;
+    private final int maxSubscribers;
+    private final long retryAfterSeconds;
+    private final AtomicInteger subscriberCount = new AtomicInteger();
+    private final Counter rejected;
+    private final Counter timedOut;
+    private ScheduledExecutorService scheduler;
+    private ExecutorService senders;
+    private volatile boolean running;
+
+    public CampaignEventBroadcaster(JsonMapper jsonMapper, MeterRegistry meterRegistry,
+                                    @Value("${campaign-events.coalesce-window}") Duration coalesceWindow,
+                                    @Value("${campaign-events.heartbeat-interval}") Duration heartbeatInterval,
+                                    @Value("${campaign-events.timeout}") Duration timeout,
+                                    @Value("${campaign-events.send-timeout}") Duration sendTimeout,
+                                    @Value("${campaign-events.max-subscribers}") int maxSubscribers,
+                                    @Value("${campaign-events.retry-after}") Duration retryAfter) {
+        this.jsonMapper = jsonMapper;
+        this.coalesceWindowMillis = coalesceWindow.toMillis();
+        this.heartbeatIntervalMillis = heartbeatInterval.toMillis();
+        this.timeoutMillis = timeout.toMillis();
+        this.sendTimeoutNanos = sendTimeout.toNanos();
+        this.maxSubscribers = maxSubscribers;
+        this.retryAfterSeconds = retryAfter.toSeconds();
+        Gauge.builder("campaign.events.subscribers", this, CampaignEventBroadcaster::subscriberCount)
+                .description("Open campaign event streams")
+                .register(meterRegistry);
+        this.rejected = Counter.builder("campaign.events.rejected")
+                .description("Event stream subscriptions refused because the node was at its subscriber limit")
+                .register(meterRegistry);
+        this.timedOut = Counter.builder("campaign.events.send.timeouts")
+                .description("Event stream subscribers dropped because a write stayed blocked past the send timeout")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Opens a stream for the campaign, starting with {@code current} so the client never waits a whole
+     * window for its first value.
+     */
+    public SseEmitter subscribe(CampaignProgressEvent current) {
+        if (subscriberCount.incrementAndGet() > maxSubscribers) {
+            subscriberCount.decrementAndGet();
+            rejected.increment();
+            throw new ServiceUnavailableException("error.campaign.events.busy", retryAfterSeconds);
+        }
+        Subscriber subscriber = new Subscriber(current.getCampaignId(), newEmitter(timeoutMillis));
+        subscriber.emitter.onCompletion(() -> unsubscribe(subscriber));
+        subscriber.emitter.onTimeout(() -> unsubscribe(subscriber));
+        subscriber.emitter.onError(e -> unsubscribe(subscriber));
+        offer(subscriber, progressFrame(current), true);
+        channels.compute(subscriber.campaignId, (id, channel) -> {
+            Channel target = channel != null ? channel : new Channel();
+            target.subscribers.add(subscriber);
+            return target;
+        });
+        return subscriber.emitter;
+    }
+
+    SseEmitter newEmitter(long timeoutMillis) {
+        return new SseEmitter(timeoutMillis);
+    }
+
+    public void publish(Campaign campaign) {
+        CampaignProgressEvent event = CampaignProgressEvent.of(campaign);
+        afterCommit(() -> {
+            Channel channel = channels.get(event.getCampaignId());
+            if (channel != null) {
+                channel.pending.set(event);
+            }
+        });
+    }
+
+    public void close(Long campaignId) {
+        afterCommit(() -> {
+            Channel channel = channels.remove(campaignId);
+            if (channel != null) {
+                channel.subscribers.forEach(subscriber -> subscriber.emitter.complete());
+            }
+        });
+    }
+
+    public int subscriberCount() {
+        return subscriberCount.get();
+    }
+
+    @Override
+    public void start() {
+        senders = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("campaign-events-send-", 0).factory());
+        scheduler = Executors.newSingleThreadScheduledExecutor(Thread.ofPlatform().name("campaign-events").daemon().factory());
+        scheduler.scheduleWithFixedDelay(this::flush, coalesceWindowMillis, coalesceWindowMillis, TimeUnit.MILLISECONDS);
+        scheduler.scheduleWithFixedDelay(this::heartbeat, heartbeatIntervalMillis, heartbeatIntervalMillis, TimeUnit.MILLISECONDS);
+        running = true;
+    }
+
+    /**
+     * Runs before the web server stops, so open streams are completed instead of holding up its shutdown.
+     */
+    @Override
+    public void stop() {
+        running = false;
+        scheduler.shutdownNow();
+        channels.values().forEach(channel -> channel.subscribers.forEach(subscriber -> subscriber.emitter.complete()));
+        channels.clear();
+        senders.shutdownNow();
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    void flush() {
+        channels.forEach((campaignId, channel) -> {
+            CampaignProgressEvent event = channel.pending.getAndSet(null);
+            if (event != null) {
+                Set<DataWithMediaType> frame = progressFrame(event);
+                channel.subscribers.forEach(subscriber -> offer(subscriber, frame, true));
+            }
+        });
+    }
+
+    /**
+     * Idle streams only write a comment now and then, which is how connections closed by the client or a
+     * proxy are noticed and dropped. A heartbeat never displaces a progress frame still waiting to be written.
+     */
+    void heartbeat() {
+        Set<DataWithMediaType> frame = SseEmitter.event().comment("keep-alive").build();
+        channels.values().forEach(channel ->
+                channel.subscribers.forEach(subscriber -> offer(subscriber, frame, false)));
+    }
+
+    private Set<DataWithMediaType> progressFrame(CampaignProgressEvent event) {
+        return SseEmitter.event()
+                .name(PROGRESS_EVENT)
+                .data(jsonMapper.writeValueAsString(event), MediaType.APPLICATION_JSON)
+                .build();
+    }
+
+    /**
+     * Hands the frame to the subscriber's sender, starting one unless a write is already in flight; in that
+     * case the frame replaces whatever was still waiting, or is discarded if it may not.
+     */
+    private void offer(Subscriber subscriber, Set<DataWithMediaType> frame, boolean replacePending) {
+        long busySince = subscriber.busySince.get();
+        if (busySince != IDLE && System.nanoTime() - busySince > sendTimeoutNanos) {
+            timedOut.increment();
+            log.debug("Dropping campaign {} event subscriber: write blocked past the send timeout", subscriber.campaignId);
+            unsubscribe(subscriber);
+            senders.execute(() -> subscriber.emitter.completeWithError(new TimeoutException("Event stream write timed out")));
+            return;
+        }
+        if (replacePending) {
+            subscriber.next.set(frame);
+        } else if (!subscriber.next.compareAndSet(null, frame)) {
+            return;
+        }
+        if (subscriber.busySince.compareAndSet(IDLE, System.nanoTime())) {
+            senders.execute(() -> drain(subscriber));
+        }
+    }
+
+    private void drain(Subscriber subscriber) {
+        while (subscriber.open.get()) {
+            Set<DataWithMediaType> frame = subscriber.next.getAndSet(null);
+            if (frame == null) {
+                subscriber.busySince.set(IDLE);
+                if (subscriber.next.get() == null || !subscriber.busySince.compareAndSet(IDLE, System.nanoTime())) {
+                    return;
+                }
+                continue;
+            }
+            subscriber.busySince.set(System.nanoTime());
+            try {
+                subscriber.emitter.send(frame);
+            } catch (IOException | IllegalStateException e) {
+                log.debug("Dropping campaign {} event subscriber: {}", subscriber.campaignId, e.getMessage());
+                unsubscribe(subscriber);
+            }
+        }
+    }
+
+    private void unsubscribe(Subscriber subscriber) {
+        if (!subscriber.open.compareAndSet(true, false)) {
+            return;
+        }
+        subscriberCount.decrementAndGet();
+        channels.computeIfPresent(subscriber.campaignId, (id, channel) -> {
+            channel.subscribers.remove(subscriber);
+            return channel.subscribers.isEmpty() ? null : channel;
+        });
+    }
+
+    private void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    private static final class Channel {
+        private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+        private final AtomicReference<CampaignProgressEvent> pending = new AtomicReference<>();
+    }
+
+    private static final class Subscriber {
+        private final Long campaignId;
+        private final SseEmitter emitter;
+        private final AtomicReference<Set<DataWithMediaType>> next = new AtomicReference<>();
+        private final AtomicBoolean open = new AtomicBoolean(true);
+        private final AtomicLong busySince = new AtomicLong(IDLE);
+
+        private Subscriber(Long campaignId, SseEmitter emitter) {
+            this.campaignId = campaignId;
+            this.emitter = emitter;
+        }
+    }
+}
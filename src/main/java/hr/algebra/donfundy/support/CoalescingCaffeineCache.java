@@ -0,0 +1,53 @@
+package hr.algebra.donfundy.support;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.cache.caffeine.CaffeineCache;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Caffeine-backed cache that reports how well loads through {@code @Cacheable(sync = true)} are coalesced.
+ * Such a load runs inside Caffeine's per-key computation, so callers that miss the same key while it runs
+ * wait for it and share its result instead of loading again. Calls that miss are counted in
+ * {@code single.flight.calls}, tagged {@code result=loaded} for the caller that ran the loader and
+ * {@code result=coalesced} for each caller that found no entry yet still did not have to load one. Looking
+ * for the entry beforehand goes through the map view, which leaves the cache's hit and miss statistics alone.
+ */
+public class CoalescingCaffeineCache extends CaffeineCache {
+
+    private final Counter loaded;
+    private final Counter coalesced;
+
+    public CoalescingCaffeineCache(String name, Cache<Object, Object> cache, boolean allowNullValues,
+                                   MeterRegistry meterRegistry) {
+        super(name, cache, allowNullValues);
+        this.loaded = counter(name, "loaded", meterRegistry);
+        this.coalesced = counter(name, "coalesced", meterRegistry);
+    }
+
+    @Override
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        boolean cached = getNativeCache().asMap().containsKey(key);
+        AtomicBoolean ranLoader = new AtomicBoolean();
+        T value = super.get(key, () -> {
+            ranLoader.set(true);
+            loaded.increment();
+            return valueLoader.call();
+        });
+        if (!cached && !ranLoader.get()) {
+            coalesced.increment();
+        }
+        return value;
+    }
+
+    private static Counter counter(String name, String result, MeterRegistry meterRegistry) {
+        return Counter.builder("single.flight.calls")
+                .description("Cache loads run or joined while another load of the same key was running")
+                .tag("name", name)
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,58 @@
+package hr.algebra.donfundy.support;
+
+import hr.algebra.donfundy.exception.ValidationException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+public record KeysetCursor(String sortKey, Long id) {
+
+    public static final int DEFAULT_LIMIT = 50;
+    public static final int MAX_LIMIT = 200;
+
+    private static final char SEPARATOR = '|';
+
+    public static KeysetCursor of(Object sortKey, Long id) {
+        return new KeysetCursor(String.valueOf(sortKey), id);
+    }
+
+    public static int clampLimit(int limit) {
+        return Math.clamp(limit, 1, MAX_LIMIT);
+    }
+
+    public String encode() {
+        String raw = sortKey + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static KeysetCursor decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = raw.lastIndexOf(SEPARATOR);
+            if (separator < 0) {
+                throw new ValidationException("error.invalid.cursor");
+            }
+            return new KeysetCursor(raw.substring(0, separator), Long.parseLong(raw.substring(separator + 1)));
+        } catch (IllegalArgumentException e) {
+            throw new ValidationException("error.invalid.cursor");
+        }
+    }
+
+    public float floatKey() {
+        try {
+            return Float.parseFloat(sortKey);
+        } catch (NumberFormatException e) {
+            throw new ValidationException("error.invalid.cursor");
+        }
+    }
+
+    public LocalDate dateKey() {
+        try {
+            return LocalDate.parse(sortKey);
+        } catch (DateTimeParseException e) {
+            throw new ValidationException("error.invalid.cursor");
+        }
+    }
+}
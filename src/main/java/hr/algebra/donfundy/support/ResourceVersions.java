@@ -0,0 +1,93 @@
+package hr.algebra.donfundy.support;
+
+import hr.algebra.donfundy.repository.ResourceVersionRepository;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.context.request.WebRequest;
+
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Change counters backing the ETags of collection-style resources, one row per resource in
+ * {@code resource_version}, so every instance hands out the same tag for the same data and sees writes
+ * made through any other. Reading a tag is a primary-key lookup of one row. The counters touched by a
+ * transaction are bumped in a single statement just before it commits, which keeps the row locks short
+ * and always taken in the same order. Tags are weak because one version is served in several
+ * representations: JSON, CBOR or Smile, compressed or not. Since the tag does not tell those apart, the
+ * responses carrying it vary on Accept, which keeps a shared cache from answering a JSON client with CBOR.
+ */
+@Component
+@RequiredArgsConstructor
+public class ResourceVersions {
+
+    public enum Resource {
+        CAMPAIGNS, DONATIONS
+    }
+
+    private final ResourceVersionRepository repository;
+
+    public String etag(Resource resource) {
+        return "W/\"" + resource.name().toLowerCase() + "-" + repository.findVersion(resource.name()) + "\"";
+    }
+
+    /**
+     * Checks the request's If-None-Match against the resource's tag, marking the response, 304 or not, as
+     * negotiated on Accept.
+     */
+    public boolean checkNotModified(WebRequest webRequest, Resource resource) {
+        return checkNotModified(webRequest, etag(resource));
+    }
+
+    /**
+     * Same as {@link #checkNotModified(WebRequest, Resource)} for a tag the caller derived itself, such as
+     * one computed from the representation about to be sent.
+     */
+    public boolean checkNotModified(WebRequest webRequest, String etag) {
+        if (webRequest instanceof ServletWebRequest servletWebRequest) {
+            HttpServletResponse response = servletWebRequest.getResponse();
+            if (response != null) {
+                response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT);
+            }
+        }
+        return webRequest.checkNotModified(etag);
+    }
+
+    public void changed(Resource... resources) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            increment(EnumSet.copyOf(Arrays.asList(resources)));
+            return;
+        }
+
+        @SuppressWarnings("unchecked")
+        Set<Resource> pending = (Set<Resource>) TransactionSynchronizationManager.getResource(this);
+        if (pending == null) {
+            Set<Resource> changed = EnumSet.noneOf(Resource.class);
+            TransactionSynchronizationManager.bindResource(this, changed);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void beforeCommit(boolean readOnly) {
+                    increment(changed);
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResource(ResourceVersions.this);
+                }
+            });
+            pending = changed;
+        }
+        pending.addAll(Arrays.asList(resources));
+    }
+
+    private void increment(Set<Resource> resources) {
+        repository.increment(resources.stream().map(Resource::name).collect(Collectors.toList()));
+    }
+}
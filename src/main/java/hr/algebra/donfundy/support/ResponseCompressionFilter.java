@@ -0,0 +1,335 @@
+package hr.algebra.donfundy.support;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import org.jspecify.annotations.NonNull;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.nio.charset.Charset;
+import java.util.List;
+import java.util.Locale;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Compresses JSON, CBOR and Smile responses with gzip or deflate, whichever the client prefers. The first
+ * {@code min-size} bytes are held back: a body that ends before reaching it is sent as is with a
+ * Content-Length, so small responses never pay for compression. Servlet container compression cannot do
+ * this because message converters flush, which makes every body chunked and therefore "large enough".
+ */
+@Component
+public class ResponseCompressionFilter extends OncePerRequestFilter {
+
+    static final String GZIP = "gzip";
+    static final String DEFLATE = "deflate";
+
+    private static final String RESPONSE_ATTRIBUTE = ResponseCompressionFilter.class.getName() + ".RESPONSE";
+
+    private final int minSize;
+    private final List<MediaType> mimeTypes;
+
+    public ResponseCompressionFilter(@Value("${response-compression.min-size}") DataSize minSize,
+                                     @Value("${response-compression.mime-types}") List<String> mimeTypes) {
+        this.minSize = (int) minSize.toBytes();
+        this.mimeTypes = mimeTypes.stream().map(MediaType::parseMediaType).toList();
+    }
+
+    @Override
+    protected void doFilterInternal(
+            HttpServletRequest request,
+            @NonNull HttpServletResponse response,
+            @NonNull FilterChain filterChain
+    ) throws ServletException, IOException {
+        CompressingResponse compressing = (CompressingResponse) request.getAttribute(RESPONSE_ATTRIBUTE);
+        if (compressing != null) {
+            filterChain.doFilter(request, response);
+        } else {
+            String encoding = negotiate(request.getHeader(HttpHeaders.ACCEPT_ENCODING));
+            if (encoding == null) {
+                filterChain.doFilter(request, response);
+                return;
+            }
+            compressing = new CompressingResponse(response, encoding);
+            request.setAttribute(RESPONSE_ATTRIBUTE, compressing);
+            filterChain.doFilter(request, compressing);
+        }
+
+        if (!request.isAsyncStarted()) {
+            compressing.finish();
+        }
+    }
+
+    /**
+     * Streaming and event-stream responses finish on a later async dispatch, which must be seen here too.
+     */
+    @Override
+    protected boolean shouldNotFilterAsyncDispatch() {
+        return false;
+    }
+
+    /**
+     * Picks gzip over deflate when both are acceptable; an explicit {@code q=0} rules an encoding out.
+     */
+    static String negotiate(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return null;
+        }
+        boolean deflate = false;
+        for (String part : acceptEncoding.toLowerCase(Locale.ROOT).split(",")) {
+            String[] tokens = part.trim().split(";");
+            String coding = tokens[0].trim();
+            boolean refused = tokens.length > 1 && tokens[1].replace(" ", "").matches("q=0(\\.0*)?");
+            if (refused) {
+                continue;
+            }
+            if (coding.equals(GZIP)) {
+                return GZIP;
+            }
+            deflate |= coding.equals(DEFLATE);
+        }
+        return deflate ? DEFLATE : null;
+    }
+
+    private boolean compressible(String contentType) {
+        if (contentType == null) {
+            return false;
+        }
+        MediaType mediaType = MediaType.parseMediaType(contentType);
+        return mimeTypes.stream().anyMatch(type -> type.includes(mediaType));
+    }
+
+    private final class CompressingResponse extends HttpServletResponseWrapper {
+
+        private final String encoding;
+        private CompressingOutputStream outputStream;
+        private PrintWriter writer;
+        private long contentLength = -1;
+
+        CompressingResponse(HttpServletResponse response, String encoding) {
+            super(response);
+            this.encoding = encoding;
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+            if (writer != null) {
+                throw new IllegalStateException("getWriter() has already been called");
+            }
+            if (outputStream == null) {
+                outputStream = new CompressingOutputStream(this, raw().getOutputStream());
+            }
+            return outputStream;
+        }
+
+        @Override
+        public PrintWriter getWriter() throws IOException {
+            if (writer == null) {
+                if (outputStream != null) {
+                    throw new IllegalStateException("getOutputStream() has already been called");
+                }
+                outputStream = new CompressingOutputStream(this, raw().getOutputStream());
+                writer = new PrintWriter(new OutputStreamWriter(outputStream, Charset.forName(getCharacterEncoding())));
+            }
+            return writer;
+        }
+
+        @Override
+        public void setContentLength(int length) {
+            setContentLengthLong(length);
+        }
+
+        @Override
+        public void setContentLengthLong(long length) {
+            contentLength = length;
+        }
+
+        @Override
+        public void setHeader(String name, String value) {
+            if (HttpHeaders.CONTENT_LENGTH.equalsIgnoreCase(name)) {
+                contentLength = value != null ? Long.parseLong(value) : -1;
+            } else {
+                super.setHeader(name, value);
+            }
+        }
+
+        @Override
+        public void addHeader(String name, String value) {
+            if (HttpHeaders.CONTENT_LENGTH.equalsIgnoreCase(name)) {
+                setHeader(name, value);
+            } else {
+                super.addHeader(name, value);
+            }
+        }
+
+        @Override
+        public void flushBuffer() throws IOException {
+            if (writer != null) {
+                writer.flush();
+            } else if (outputStream != null) {
+                outputStream.flush();
+            } else {
+                super.flushBuffer();
+            }
+        }
+
+        @Override
+        public void resetBuffer() {
+            if (outputStream != null) {
+                outputStream.resetBuffer();
+            }
+            super.resetBuffer();
+        }
+
+        @Override
+        public void reset() {
+            resetBuffer();
+            contentLength = -1;
+            super.reset();
+        }
+
+        void finish() throws IOException {
+            if (writer != null) {
+                writer.flush();
+            }
+            if (outputStream != null) {
+                outputStream.finish();
+            } else if (contentLength >= 0) {
+                getResponse().setContentLengthLong(contentLength);
+            }
+        }
+
+        boolean compressible() {
+            return !containsHeader(HttpHeaders.CONTENT_ENCODING) && ResponseCompressionFilter.this.compressible(getContentType());
+        }
+
+        HttpServletResponse raw() {
+            return (HttpServletResponse) getResponse();
+        }
+    }
+
+    private final class CompressingOutputStream extends ServletOutputStream {
+
+        private final CompressingResponse response;
+        private final ServletOutputStream raw;
+        private ByteArrayOutputStream pending = new ByteArrayOutputStream();
+        private OutputStream target;
+        private boolean finished;
+
+        CompressingOutputStream(CompressingResponse response, ServletOutputStream raw) {
+            this.response = response;
+            this.raw = raw;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            write(new byte[]{(byte) b}, 0, 1);
+        }
+
+        @Override
+        public void write(byte[] bytes, int offset, int length) throws IOException {
+            if (target == null) {
+                if (!response.compressible()) {
+                    passThrough();
+                } else if (pending.size() + length < minSize) {
+                    pending.write(bytes, offset, length);
+                    return;
+                } else {
+                    startCompressing();
+                }
+            }
+            target.write(bytes, offset, length);
+        }
+
+        /**
+         * Flushes of a body still under the threshold are held back; anything else, such as a
+         * Server-Sent Event, goes out right away.
+         */
+        @Override
+        public void flush() throws IOException {
+            if (target == null && response.compressible()) {
+                return;
+            }
+            if (target == null) {
+                passThrough();
+            }
+            target.flush();
+        }
+
+        @Override
+        public void close() throws IOException {
+            finish();
+        }
+
+        /**
+         * Bytes held back below the threshold only go to memory; once the body is on its way, readiness is
+         * the container's.
+         */
+        @Override
+        public boolean isReady() {
+            return target == null || raw.isReady();
+        }
+
+        @Override
+        public void setWriteListener(WriteListener writeListener) {
+            raw.setWriteListener(writeListener);
+        }
+
+        void resetBuffer() {
+            if (target == null) {
+                pending.reset();
+            }
+        }
+
+        void finish() throws IOException {
+            if (finished) {
+                return;
+            }
+            finished = true;
+            if (target == null) {
+                response.raw().setContentLength(pending.size());
+                passThrough();
+            }
+            if (target instanceof DeflaterOutputStream compressor) {
+                compressor.finish();
+            }
+            target.flush();
+        }
+
+        private void passThrough() throws IOException {
+            if (response.compressible()) {
+                response.raw().addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+            } else if (response.contentLength >= 0) {
+                response.raw().setContentLengthLong(response.contentLength);
+            }
+            target = raw;
+            pending.writeTo(target);
+            pending = null;
+        }
+
+        private void startCompressing() throws IOException {
+            response.raw().setHeader(HttpHeaders.CONTENT_ENCODING, response.encoding);
+            response.raw().addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+            target = GZIP.equals(response.encoding)
+                    ? new GZIPOutputStream(raw, 8192, true)
+                    : new DeflaterOutputStream(raw, new Deflater(), 8192, true);
+            pending.writeTo(target);
+            pending = null;
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package hr.algebra.donfundy.support;
+
+import java.util.Iterator;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.function.Consumer;
+
+/**
+ * Hashed timing wheel: items are hashed by deadline into a ring of buckets, one bucket per tick, so
+ * scheduling is O(1) and each tick only looks at the items of one bucket rather than at everything
+ * scheduled. Deadlines further out than one turn of the wheel share buckets with nearer ones and are
+ * simply skipped until a later turn reaches them.
+ * <p>
+ * Any thread may {@link #schedule}; {@link #advance} must be called from a single thread. Only ticks
+ * that have fully elapsed are swept, so an item expires within one tick after its deadline, or one turn
+ * later if it was scheduled into the very bucket that was being swept at that moment.
+ */
+public final class TimingWheel<T> {
+
+    private final long tickMillis;
+    private final Queue<Entry<T>>[] buckets;
+    private final int mask;
+    private volatile long nextTick;
+
+    @SuppressWarnings("unchecked")
+    public TimingWheel(long tickMillis, int wheelSize, long startMillis) {
+        if (tickMillis <= 0 || wheelSize <= 0 || Integer.bitCount(wheelSize) != 1) {
+            throw new IllegalArgumentException("Tick must be positive and wheel size a power of two");
+        }
+        this.tickMillis = tickMillis;
+        this.buckets = new Queue[wheelSize];
+        for (int i = 0; i < wheelSize; i++) {
+            buckets[i] = new ConcurrentLinkedQueue<>();
+        }
+        this.mask = wheelSize - 1;
+        this.nextTick = startMillis / tickMillis;
+    }
+
+    public void schedule(T item, long deadlineMillis) {
+        long tick = Math.max(deadlineMillis / tickMillis, nextTick);
+        buckets[(int) (tick & mask)].add(new Entry<>(item, deadlineMillis));
+    }
+
+    /**
+     * Sweeps the buckets of every tick elapsed since the last call, handing items whose deadline has
+     * passed to {@code expired}, and returns how many there were.
+     */
+    public int advance(long nowMillis, Consumer<T> expired) {
+        long nowTick = nowMillis / tickMillis;
+        long from = Math.max(nextTick, nowTick - buckets.length);
+        int count = 0;
+        for (long tick = from; tick < nowTick; tick++) {
+            Iterator<Entry<T>> entries = buckets[(int) (tick & mask)].iterator();
+            while (entries.hasNext()) {
+                Entry<T> entry = entries.next();
+                if (entry.deadlineMillis <= nowMillis) {
+                    entries.remove();
+                    expired.accept(entry.item);
+                    count++;
+                }
+            }
+        }
+        nextTick = Math.max(nextTick, nowTick);
+        return count;
+    }
+
+    private record Entry<T>(T item, long deadlineMillis) {
+    }
+}
@@ -0,0 +1,41 @@
+package hr.algebra.donfundy.support;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lock-free token bucket. Instead of a token count and a refill time, which would need a lock to update
+ * together, the whole state is one timestamp: the time at which the bucket will be full again. Taking a
+ * token pushes it one refill interval further out, and the bucket is empty once it lies more than
+ * {@code capacity} intervals ahead. A single compare-and-set therefore both refills and takes, and
+ * contended callers just retry with the fresh value.
+ */
+public final class TokenBucket {
+
+    private final long intervalNanos;
+    private final long burstNanos;
+    private final AtomicLong fullAt;
+
+    public TokenBucket(long capacity, double refillPerSecond, long nowNanos) {
+        this.intervalNanos = Math.max(1, (long) (1_000_000_000L / refillPerSecond));
+        this.burstNanos = Math.multiplyExact(intervalNanos, capacity);
+        this.fullAt = new AtomicLong(nowNanos);
+    }
+
+    /**
+     * Takes a token if one is available and returns 0, or returns how many nanoseconds to wait until one
+     * will be, without taking anything.
+     */
+    public long tryTake(long nowNanos) {
+        while (true) {
+            long current = fullAt.get();
+            long next = Math.max(current, nowNanos) + intervalNanos;
+            long waitNanos = next - burstNanos - nowNanos;
+            if (waitNanos > 0) {
+                return waitNanos;
+            }
+            if (fullAt.compareAndSet(current, next)) {
+                return 0;
+            }
+        }
+    }
+}
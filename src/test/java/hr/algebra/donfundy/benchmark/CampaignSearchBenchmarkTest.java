@@ -0,0 +1,124 @@
+package hr.algebra.donfundy.benchmark;
+
+import hr.algebra.donfundy.controller.BaseIntegrationTest;
+import hr.algebra.donfundy.domain.Donor;
+import hr.algebra.donfundy.domain.User;
+import hr.algebra.donfundy.domain.enums.Role;
+import hr.algebra.donfundy.repository.DonorRepository;
+import hr.algebra.donfundy.repository.UserRepository;
+import hr.algebra.donfundy.security.CustomUserDetailsService;
+import hr.algebra.donfundy.security.JwtUtil;
+import hr.algebra.donfundy.support.KeysetCursor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.Arrays;
+
+import static io.restassured.RestAssured.given;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.hasSize;
+
+@Tag("benchmark")
+@DisplayName("Campaign search benchmark")
+class CampaignSearchBenchmarkTest extends BaseIntegrationTest {
+
+    private static final int SMALL_CATALOG = 10_000;
+    private static final int LARGE_CATALOG = 1_000_000;
+    private static final int RARE_MATCHES = 40;
+    private static final int WARMUP_RUNS = 5;
+    private static final int MEASURED_RUNS = 21;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private DonorRepository donorRepository;
+    @Autowired
+    private JwtUtil jwtUtil;
+    @Autowired
+    private CustomUserDetailsService userDetailsService;
+
+    private String userToken;
+    private Donor donor;
+    private int totalCampaigns;
+
+    @BeforeEach
+    void setUp() {
+        User user = new User();
+        user.setEmail("user@example.com");
+        user.setPasswordHash("not-used");
+        user.setRole(Role.USER);
+        user = userRepository.save(user);
+
+        donor = new Donor();
+        donor.setUser(user);
+        donor.setFirstName("Search");
+        donor.setLastName("User");
+        donor.setEmail("user@example.com");
+        donor = donorRepository.save(donor);
+
+        jdbcTemplate.update(
+                "INSERT INTO campaign (name, description, goal_amount, raised_amount, start_date, status, created_by) " +
+                        "SELECT 'Zephyr relief ' || i, 'Shelter after the storm', 1000, 0, CURRENT_DATE, 'ACTIVE', ? " +
+                        "FROM generate_series(1, ?) i",
+                donor.getId(), RARE_MATCHES);
+        totalCampaigns = RARE_MATCHES;
+        userToken = jwtUtil.generateToken(userDetailsService.loadUserByUsername(user.getEmail()));
+    }
+
+    @Test
+    @DisplayName("Selective search latency stays flat from 10k to 1M campaigns")
+    void searchLatencyIsIndexBound() {
+        growCampaignsTo(SMALL_CATALOG);
+        double smallRare = medianMillis("zephyr", RARE_MATCHES);
+
+        growCampaignsTo(LARGE_CATALOG);
+        double largeRare = medianMillis("zephyr", RARE_MATCHES);
+        double largePhrase = medianMillis("\"school meals\" zephyr", 0);
+        double largeCommon = medianMillis("help", KeysetCursor.DEFAULT_LIMIT);
+
+        System.out.printf("campaign search median latency: rare term %d campaigns = %.1f ms, %d campaigns = %.1f ms%n",
+                SMALL_CATALOG, smallRare, LARGE_CATALOG, largeRare);
+        System.out.printf("campaign search median latency at %d campaigns: no-match phrase = %.1f ms, " +
+                "term in half the catalog = %.1f ms%n", LARGE_CATALOG, largePhrase, largeCommon);
+
+        assertThat(largeRare).isLessThan(smallRare * 3 + 5);
+    }
+
+    private void growCampaignsTo(int target) {
+        jdbcTemplate.update(
+                "INSERT INTO campaign (name, description, goal_amount, raised_amount, start_date, status, created_by) " +
+                        "SELECT (ARRAY['Clean water', 'School meals', 'Animal shelter', 'Library books'])[i % 4 + 1] || ' ' || i, " +
+                        "CASE WHEN i % 2 = 0 THEN 'Help our community reach its goal' ELSE 'Every donation counts' END, " +
+                        "1000 + i % 5000, 0, CURRENT_DATE - (i % 365), 'ACTIVE', ? " +
+                        "FROM generate_series(?, ?) i",
+                donor.getId(), totalCampaigns + 1, target);
+        jdbcTemplate.execute("ANALYZE campaign");
+        totalCampaigns = target;
+    }
+
+    private double medianMillis(String query, int expectedHits) {
+        double[] timings = new double[MEASURED_RUNS];
+        for (int run = -WARMUP_RUNS; run < MEASURED_RUNS; run++) {
+            long start = System.nanoTime();
+            given()
+                .header("Authorization", "Bearer " + userToken)
+                .queryParam("q", query)
+            .when()
+                .get("/campaigns/search")
+            .then()
+                .statusCode(200)
+                .body("items", hasSize(expectedHits));
+            if (run >= 0) {
+                timings[run] = (System.nanoTime() - start) / 1e6;
+            }
+        }
+        Arrays.sort(timings);
+        return timings[MEASURED_RUNS / 2];
+    }
+}
@@ -0,0 +1,175 @@
+package hr.algebra.donfundy.benchmark;
+
+import hr.algebra.donfundy.controller.BaseIntegrationTest;
+import hr.algebra.donfundy.domain.Campaign;
+import hr.algebra.donfundy.domain.Donor;
+import hr.algebra.donfundy.domain.User;
+import hr.algebra.donfundy.domain.enums.PaymentMethod;
+import hr.algebra.donfundy.domain.enums.Role;
+import hr.algebra.donfundy.domain.enums.Status;
+import hr.algebra.donfundy.repository.CampaignRepository;
+import hr.algebra.donfundy.repository.DonorRepository;
+import hr.algebra.donfundy.repository.UserRepository;
+import hr.algebra.donfundy.security.CustomUserDetailsService;
+import hr.algebra.donfundy.security.JwtUtil;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import tools.jackson.core.JsonParser;
+import tools.jackson.core.JsonToken;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.InputStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@Tag("benchmark")
+@DisplayName("Donation export benchmark")
+class DonationExportBenchmarkTest extends BaseIntegrationTest {
+
+    private static final int SMALL_EXPORT = 20_000;
+    private static final int LARGE_EXPORT = 400_000;
+    private static final long HEAP_SAMPLE_INTERVAL_MILLIS = 100;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private DonorRepository donorRepository;
+    @Autowired
+    private CampaignRepository campaignRepository;
+    @Autowired
+    private JwtUtil jwtUtil;
+    @Autowired
+    private CustomUserDetailsService userDetailsService;
+
+    private final JsonMapper jsonMapper = new JsonMapper();
+
+    private String adminToken;
+    private Campaign campaign;
+    private Donor donor;
+    private int totalDonations;
+
+    @BeforeEach
+    void setUp() {
+        User admin = new User();
+        admin.setEmail("admin@example.com");
+        admin.setPasswordHash("not-used");
+        admin.setRole(Role.ADMIN);
+        admin = userRepository.save(admin);
+
+        donor = new Donor();
+        donor.setUser(admin);
+        donor.setFirstName("Admin");
+        donor.setLastName("Donor");
+        donor.setEmail("admin@example.com");
+        donor = donorRepository.save(donor);
+
+        campaign = new Campaign();
+        campaign.setName("Export campaign");
+        campaign.setGoalAmount(1_000_000_000.0);
+        campaign.setRaisedAmount(0.0);
+        campaign.setStartDate(LocalDate.now());
+        campaign.setStatus(Status.ACTIVE);
+        campaign.setCreatedBy(donor);
+        campaign = campaignRepository.save(campaign);
+
+        totalDonations = 0;
+        adminToken = jwtUtil.generateToken(userDetailsService.loadUserByUsername(admin.getEmail()));
+    }
+
+    @Test
+    @DisplayName("Export heap use does not grow with the number of donations")
+    void exportHeapIsIndependentOfDonationCount() throws Exception {
+        growDonationsTo(SMALL_EXPORT);
+        long smallPeak = retainedHeapDuringExport(SMALL_EXPORT);
+
+        growDonationsTo(LARGE_EXPORT);
+        long largePeak = retainedHeapDuringExport(LARGE_EXPORT);
+
+        System.out.printf("donation export retained heap: %d donations = %.1f MB, %d donations = %.1f MB%n",
+                SMALL_EXPORT, smallPeak / 1e6, LARGE_EXPORT, largePeak / 1e6);
+
+        assertThat(largePeak).isLessThan(smallPeak + 32_000_000L);
+    }
+
+    private void growDonationsTo(int target) {
+        List<Integer> rows = IntStream.range(totalDonations, target).boxed().toList();
+        jdbcTemplate.batchUpdate(
+                "INSERT INTO donation (campaign_id, donor_id, amount, donation_date, message, payment_method) " +
+                        "VALUES (?, ?, ?, ?, ?, ?)",
+                rows, 5_000, (ps, i) -> {
+                    ps.setLong(1, campaign.getId());
+                    ps.setLong(2, donor.getId());
+                    ps.setBigDecimal(3, BigDecimal.valueOf(10 + i % 90));
+                    ps.setDate(4, Date.valueOf(LocalDate.now().minusDays(i % 365)));
+                    ps.setString(5, "Donation message " + i);
+                    ps.setString(6, PaymentMethod.CARD.name());
+                });
+        totalDonations = target;
+    }
+
+    /**
+     * Highest heap use observed right after a full collection while the export is being consumed, minus the
+     * same measurement taken before the request, i.e. the memory the export itself holds on to.
+     */
+    private long retainedHeapDuringExport(int expectedDonations) throws Exception {
+        MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        System.gc();
+        long baseline = memory.getHeapMemoryUsage().getUsed();
+        AtomicLong peak = new AtomicLong(baseline);
+        AtomicBoolean running = new AtomicBoolean(true);
+        Thread sampler = Thread.ofPlatform().daemon().start(() -> {
+            while (running.get()) {
+                System.gc();
+                peak.accumulateAndGet(memory.getHeapMemoryUsage().getUsed(), Math::max);
+                try {
+                    Thread.sleep(HEAP_SAMPLE_INTERVAL_MILLIS);
+                } catch (InterruptedException e) {
+                    return;
+                }
+            }
+        });
+
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/v1/donations/export"))
+                .header("Authorization", "Bearer " + adminToken)
+                .build();
+
+        int exported = 0;
+        try (HttpClient client = HttpClient.newHttpClient()) {
+            HttpResponse<InputStream> response = client.send(request, HttpResponse.BodyHandlers.ofInputStream());
+            assertThat(response.statusCode()).isEqualTo(200);
+            try (JsonParser parser = jsonMapper.createParser(response.body())) {
+                while (parser.nextToken() != null) {
+                    if (parser.currentToken() == JsonToken.START_OBJECT) {
+                        exported++;
+                        parser.skipChildren();
+                    }
+                }
+            }
+        } finally {
+            running.set(false);
+            sampler.join();
+        }
+
+        assertThat(exported).isEqualTo(expectedDonations);
+        return peak.get() - baseline;
+    }
+}
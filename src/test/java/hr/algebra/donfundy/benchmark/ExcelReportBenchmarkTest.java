@@ -0,0 +1,235 @@
+package hr.algebra.donfundy.benchmark;
+
+import hr.algebra.donfundy.controller.BaseIntegrationTest;
+import hr.algebra.donfundy.domain.Campaign;
+import hr.algebra.donfundy.domain.Donation;
+import hr.algebra.donfundy.domain.Donor;
+import hr.algebra.donfundy.domain.User;
+import hr.algebra.donfundy.domain.enums.PaymentMethod;
+import hr.algebra.donfundy.domain.enums.Role;
+import hr.algebra.donfundy.domain.enums.Status;
+import hr.algebra.donfundy.repository.CampaignRepository;
+import hr.algebra.donfundy.repository.DonationRepository;
+import hr.algebra.donfundy.repository.DonorRepository;
+import hr.algebra.donfundy.repository.UserRepository;
+import hr.algebra.donfundy.service.ExcelReportService;
+import org.apache.poi.openxml4j.exceptions.InvalidFormatException;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.ss.usermodel.Workbook;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Heap held while writing the campaign report, against the number of donations, for the streaming
+ * workbook the service uses and for a replay of the earlier in-memory one: every campaign's donations
+ * loaded as entities and every row kept in an {@link XSSFWorkbook} until the file is written. The replay
+ * skips auto-sizing the columns, which costs time rather than heap.
+ */
+@Tag("benchmark")
+@DisplayName("Excel report benchmark")
+class ExcelReportBenchmarkTest extends BaseIntegrationTest {
+
+    private static final int CAMPAIGNS = 4;
+    private static final int[] DONATION_COUNTS = {20_000, 100_000, 200_000};
+    private static final long HEAP_SAMPLE_INTERVAL_MILLIS = 100;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private DonorRepository donorRepository;
+    @Autowired
+    private CampaignRepository campaignRepository;
+    @Autowired
+    private DonationRepository donationRepository;
+    @Autowired
+    private ExcelReportService excelReportService;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private final List<Campaign> campaigns = new ArrayList<>();
+    private final List<Path> reports = new ArrayList<>();
+    private Donor donor;
+    private int totalDonations;
+
+    @BeforeEach
+    void setUp() {
+        User admin = new User();
+        admin.setEmail("admin@example.com");
+        admin.setPasswordHash("not-used");
+        admin.setRole(Role.ADMIN);
+        admin = userRepository.save(admin);
+
+        donor = new Donor();
+        donor.setUser(admin);
+        donor.setFirstName("Admin");
+        donor.setLastName("Donor");
+        donor.setEmail("admin@example.com");
+        donor = donorRepository.save(donor);
+
+        for (int i = 0; i < CAMPAIGNS; i++) {
+            Campaign campaign = new Campaign();
+            campaign.setName("Report campaign " + i);
+            campaign.setGoalAmount(1_000_000_000.0);
+            campaign.setRaisedAmount(0.0);
+            campaign.setStartDate(LocalDate.now());
+            campaign.setStatus(Status.ACTIVE);
+            campaign.setCreatedBy(donor);
+            campaigns.add(campaignRepository.save(campaign));
+        }
+
+        totalDonations = 0;
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        for (Path report : reports) {
+            Files.deleteIfExists(report);
+        }
+    }
+
+    @Test
+    @DisplayName("Streaming report heap use does not grow with the number of donations")
+    void streamingReportHeapIsIndependentOfDonationCount() throws Exception {
+        long[] streaming = new long[DONATION_COUNTS.length];
+        long[] inMemory = new long[DONATION_COUNTS.length];
+
+        for (int i = 0; i < DONATION_COUNTS.length; i++) {
+            growDonationsTo(DONATION_COUNTS[i]);
+            streaming[i] = retainedHeapDuring(() -> reports.add(Path.of(excelReportService.generateCampaignReport())));
+            inMemory[i] = retainedHeapDuring(this::generateInMemoryReport);
+        }
+
+        System.out.println("campaign report retained heap:");
+        System.out.printf("  %10s %12s %12s%n", "donations", "streaming", "in memory");
+        for (int i = 0; i < DONATION_COUNTS.length; i++) {
+            System.out.printf("  %10d %9.1f MB %9.1f MB%n", DONATION_COUNTS[i], streaming[i] / 1e6, inMemory[i] / 1e6);
+        }
+
+        int last = DONATION_COUNTS.length - 1;
+        assertThat(streaming[last]).isLessThan(streaming[0] + 32_000_000L);
+        assertThat(streaming[last]).isLessThan(inMemory[last]);
+        assertReportHasEveryDonation(reports.getFirst(), DONATION_COUNTS[0]);
+    }
+
+    private void growDonationsTo(int target) {
+        List<Integer> rows = IntStream.range(totalDonations, target).boxed().toList();
+        jdbcTemplate.batchUpdate(
+                "INSERT INTO donation (campaign_id, donor_id, amount, donation_date, message, payment_method) " +
+                        "VALUES (?, ?, ?, ?, ?, ?)",
+                rows, 5_000, (ps, i) -> {
+                    ps.setLong(1, campaigns.get(i % CAMPAIGNS).getId());
+                    ps.setLong(2, donor.getId());
+                    ps.setBigDecimal(3, BigDecimal.valueOf(10 + i % 90));
+                    ps.setDate(4, Date.valueOf(LocalDate.now().minusDays(i % 365)));
+                    ps.setString(5, "Donation message " + i);
+                    ps.setString(6, PaymentMethod.CARD.name());
+                });
+        totalDonations = target;
+    }
+
+    private void generateInMemoryReport() {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            try (Workbook workbook = new XSSFWorkbook(); OutputStream out = OutputStream.nullOutputStream()) {
+                Sheet summary = workbook.createSheet("Campaigns Summary");
+                int summaryRow = 1;
+                for (Campaign campaign : campaignRepository.findAll()) {
+                    Row row = summary.createRow(summaryRow++);
+                    row.createCell(0).setCellValue(campaign.getId());
+                    row.createCell(1).setCellValue(campaign.getName());
+                    row.createCell(2).setCellValue(donationRepository.findByCampaignId(campaign.getId()).size());
+                }
+
+                for (Campaign campaign : campaignRepository.findAll()) {
+                    Sheet sheet = workbook.createSheet(campaign.getName());
+                    int rowNum = 4;
+                    for (Donation donation : donationRepository.findByCampaignId(campaign.getId())) {
+                        Row row = sheet.createRow(rowNum++);
+                        row.createCell(0).setCellValue(donation.getId());
+                        row.createCell(1).setCellValue(donation.getDonor().getFirstName() + " " + donation.getDonor().getLastName());
+                        row.createCell(2).setCellValue(donation.getDonor().getEmail());
+                        row.createCell(3).setCellValue(donation.getAmount().doubleValue());
+                        row.createCell(4).setCellValue(donation.getDonationDate().toString());
+                        row.createCell(5).setCellValue(donation.getPaymentMethod().toString());
+                        row.createCell(6).setCellValue(donation.getMessage() != null ? donation.getMessage() : "");
+                    }
+                }
+
+                workbook.write(out);
+            } catch (IOException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+    }
+
+    private void assertReportHasEveryDonation(Path report, int expectedDonations) throws IOException {
+        try (Workbook workbook = new XSSFWorkbook(report.toFile())) {
+            assertThat(workbook.getNumberOfSheets()).isEqualTo(CAMPAIGNS + 1);
+            int donations = 0;
+            for (int i = 1; i <= CAMPAIGNS; i++) {
+                donations += workbook.getSheetAt(i).getLastRowNum() - 3;
+            }
+            assertThat(donations).isEqualTo(expectedDonations);
+        } catch (InvalidFormatException e) {
+            throw new IOException(e);
+        }
+    }
+
+    /**
+     * Highest heap use observed right after a full collection while the report is being written, minus the
+     * same measurement taken before, i.e. the memory the report itself holds on to.
+     */
+    private long retainedHeapDuring(Runnable report) throws InterruptedException {
+        MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        System.gc();
+        long baseline = memory.getHeapMemoryUsage().getUsed();
+        AtomicLong peak = new AtomicLong(baseline);
+        AtomicBoolean running = new AtomicBoolean(true);
+        Thread sampler = Thread.ofPlatform().daemon().start(() -> {
+            while (running.get()) {
+                System.gc();
+                peak.accumulateAndGet(memory.getHeapMemoryUsage().getUsed(), Math::max);
+                try {
+                    Thread.sleep(HEAP_SAMPLE_INTERVAL_MILLIS);
+                } catch (InterruptedException e) {
+                    return;
+                }
+            }
+        });
+
+        try {
+            report.run();
+        } finally {
+            running.set(false);
+            sampler.join();
+        }
+        return peak.get() - baseline;
+    }
+}
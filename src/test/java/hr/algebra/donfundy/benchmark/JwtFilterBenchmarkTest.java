@@ -0,0 +1,131 @@
+package hr.algebra.donfundy.benchmark;
+
+import hr.algebra.donfundy.config.CacheConfiguration;
+import hr.algebra.donfundy.domain.enums.Role;
+import hr.algebra.donfundy.repository.DonorRepository;
+import hr.algebra.donfundy.repository.RevokedTokenRepository;
+import hr.algebra.donfundy.repository.UserRepository;
+import hr.algebra.donfundy.security.CustomUserDetailsService;
+import hr.algebra.donfundy.security.JwtAuthenticationFilter;
+import hr.algebra.donfundy.security.JwtUtil;
+import hr.algebra.donfundy.security.RevokedTokens;
+import hr.algebra.donfundy.security.TokenVersions;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * CPU cost of authenticating one request in {@link JwtAuthenticationFilter}, which reads nothing but
+ * the token, the in-memory token version and the revoked token IDs. The "three parses" variant replays what the filter
+ * did before: a fresh key and parser for the username, then again for the username and expiration.
+ */
+@Tag("benchmark")
+@DisplayName("JWT filter benchmark")
+class JwtFilterBenchmarkTest {
+
+    private static final String SECRET = "IAmATestSecretKeyForJWTs12345678901234567890";
+    private static final String EMAIL = "user@example.com";
+    private static final int WARMUP_RUNS = 20_000;
+    private static final int MEASURED_RUNS = 50_000;
+
+    private JwtUtil jwtUtil;
+    private JwtAuthenticationFilter filter;
+    private String token;
+
+    @BeforeEach
+    void setUp() {
+        hr.algebra.donfundy.domain.User user = new hr.algebra.donfundy.domain.User();
+        user.setEmail(EMAIL);
+        user.setPasswordHash("not-used");
+        user.setRole(Role.USER);
+        user.setId(1L);
+        UserRepository userRepository = mock(UserRepository.class);
+        when(userRepository.findByEmail(EMAIL)).thenReturn(Optional.of(user));
+        TokenVersions tokenVersions = new TokenVersions(userRepository, 1_000, Duration.ofMinutes(1));
+
+        jwtUtil = new JwtUtil(SECRET, 86_400_000L);
+        RevokedTokens revokedTokens = new RevokedTokens(mock(RevokedTokenRepository.class), new SimpleMeterRegistry(),
+                Duration.ofMinutes(1), 2048);
+        filter = new JwtAuthenticationFilter(jwtUtil, tokenVersions, revokedTokens);
+        CustomUserDetailsService userDetailsService = new CustomUserDetailsService(userRepository,
+                mock(DonorRepository.class), tokenVersions, new ConcurrentMapCacheManager(CacheConfiguration.USERS));
+        token = jwtUtil.generateToken(userDetailsService.loadUserByUsername(EMAIL));
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    @DisplayName("Filter CPU per authenticated request")
+    void filterCpuPerRequest() {
+        double filter = medianMicros(this::authenticate);
+        double parseOnce = medianMicros(() -> jwtUtil.parseClaims(token));
+        double threeParses = medianMicros(() -> {
+            parseWithFreshKey(token).getSubject();
+            parseWithFreshKey(token).getSubject();
+            parseWithFreshKey(token).getExpiration();
+        });
+
+        System.out.printf("JWT handling, median of %d runs:%n", MEASURED_RUNS);
+        System.out.printf("  %-32s %8.2f us%n", "filter, parse once", filter);
+        System.out.printf("  %-32s %8.2f us%n", "parse once, cached key", parseOnce);
+        System.out.printf("  %-32s %8.2f us%n", "three parses, key per parse", threeParses);
+
+        assertThat(parseOnce).isLessThan(threeParses);
+    }
+
+    private void authenticate() {
+        SecurityContextHolder.clearContext();
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/campaigns");
+        request.addHeader("Authorization", "Bearer " + token);
+        try {
+            filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+        assertThat(SecurityContextHolder.getContext().getAuthentication()).isNotNull();
+    }
+
+    private static Claims parseWithFreshKey(String token) {
+        return Jwts.parser()
+                .verifyWith(Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8)))
+                .build()
+                .parseSignedClaims(token)
+                .getPayload();
+    }
+
+    private static double medianMicros(Runnable work) {
+        double[] timings = new double[MEASURED_RUNS];
+        for (int run = -WARMUP_RUNS; run < MEASURED_RUNS; run++) {
+            long start = System.nanoTime();
+            work.run();
+            if (run >= 0) {
+                timings[run] = (System.nanoTime() - start) / 1e3;
+            }
+        }
+        Arrays.sort(timings);
+        return timings[MEASURED_RUNS / 2];
+    }
+}
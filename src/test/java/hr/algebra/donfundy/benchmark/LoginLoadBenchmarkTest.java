@@ -0,0 +1,176 @@
+package hr.algebra.donfundy.benchmark;
+
+import hr.algebra.donfundy.controller.BaseIntegrationTest;
+import hr.algebra.donfundy.domain.Campaign;
+import hr.algebra.donfundy.domain.Donor;
+import hr.algebra.donfundy.domain.User;
+import hr.algebra.donfundy.domain.enums.Role;
+import hr.algebra.donfundy.domain.enums.Status;
+import hr.algebra.donfundy.repository.CampaignRepository;
+import hr.algebra.donfundy.repository.DonorRepository;
+import hr.algebra.donfundy.repository.UserRepository;
+import hr.algebra.donfundy.security.CustomUserDetailsService;
+import hr.algebra.donfundy.security.JwtUtil;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Browse latency with and without a concurrent login storm. Logins are hashed on their own bounded pool,
+ * so browsing should keep close to its idle latency while logins beyond the pool's queue get a 503.
+ */
+@Tag("benchmark")
+@DisplayName("Login load benchmark")
+class LoginLoadBenchmarkTest extends BaseIntegrationTest {
+
+    private static final int BROWSERS = 8;
+    private static final int LOGIN_CLIENTS = 64;
+    private static final Duration PHASE = Duration.ofSeconds(15);
+
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private DonorRepository donorRepository;
+    @Autowired
+    private CampaignRepository campaignRepository;
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+    @Autowired
+    private JwtUtil jwtUtil;
+    @Autowired
+    private CustomUserDetailsService userDetailsService;
+
+    private final HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(5)).build();
+    private String token;
+    private Long campaignId;
+
+    @BeforeEach
+    void setUp() {
+        User user = new User();
+        user.setEmail("user@example.com");
+        user.setPasswordHash(passwordEncoder.encode("password"));
+        user.setRole(Role.USER);
+        user = userRepository.save(user);
+
+        Donor donor = new Donor();
+        donor.setUser(user);
+        donor.setFirstName("Regular");
+        donor.setLastName("User");
+        donor.setEmail("user@example.com");
+        donor = donorRepository.save(donor);
+
+        Campaign campaign = new Campaign();
+        campaign.setName("Browsed campaign");
+        campaign.setGoalAmount(1000.0);
+        campaign.setRaisedAmount(0.0);
+        campaign.setStartDate(LocalDate.now());
+        campaign.setStatus(Status.ACTIVE);
+        campaign.setCreatedBy(donor);
+        campaignId = campaignRepository.save(campaign).getId();
+
+        token = jwtUtil.generateToken(userDetailsService.loadUserByUsername(user.getEmail()));
+    }
+
+    @Test
+    @DisplayName("Browsing stays responsive during a login storm")
+    void browsingStaysResponsiveDuringLoginStorm() throws Exception {
+        List<Long> idle = run(0, new ConcurrentHashMap<>());
+
+        ConcurrentMap<Integer, AtomicInteger> loginStatuses = new ConcurrentHashMap<>();
+        List<Long> storm = run(LOGIN_CLIENTS, loginStatuses);
+
+        System.out.printf("Browse latency with %d browsers over %ds:%n", BROWSERS, PHASE.toSeconds());
+        System.out.printf("  %-24s p50 %7.2f ms   p99 %7.2f ms   %6d requests%n", "idle",
+                percentile(idle, 50) / 1e6, percentile(idle, 99) / 1e6, idle.size());
+        System.out.printf("  %-24s p50 %7.2f ms   p99 %7.2f ms   %6d requests%n", LOGIN_CLIENTS + " login clients",
+                percentile(storm, 50) / 1e6, percentile(storm, 99) / 1e6, storm.size());
+        System.out.printf("  login responses: %s%n", loginStatuses);
+
+        assertThat(loginStatuses.keySet()).isSubsetOf(200, 503);
+        assertThat(loginStatuses.get(200)).isNotNull();
+        assertThat(percentile(storm, 99)).isLessThan(percentile(idle, 99) * 5 + 50_000_000L);
+    }
+
+    private List<Long> run(int loginClients, ConcurrentMap<Integer, AtomicInteger> loginStatuses) throws Exception {
+        List<Long> latencies = Collections.synchronizedList(new ArrayList<>());
+        long deadline = System.nanoTime() + PHASE.toNanos();
+        ExecutorService clients = Executors.newFixedThreadPool(BROWSERS + loginClients);
+
+        for (int i = 0; i < loginClients; i++) {
+            clients.execute(() -> {
+                while (System.nanoTime() < deadline) {
+                    int status = send(login()).statusCode();
+                    loginStatuses.computeIfAbsent(status, s -> new AtomicInteger()).incrementAndGet();
+                }
+            });
+        }
+        for (int i = 0; i < BROWSERS; i++) {
+            clients.execute(() -> {
+                while (System.nanoTime() < deadline) {
+                    long start = System.nanoTime();
+                    HttpResponse<String> response = send(browse());
+                    if (response.statusCode() == 200) {
+                        latencies.add(System.nanoTime() - start);
+                    }
+                }
+            });
+        }
+
+        clients.shutdown();
+        assertThat(clients.awaitTermination(PHASE.toSeconds() + 60, TimeUnit.SECONDS)).isTrue();
+        return latencies;
+    }
+
+    private HttpRequest login() {
+        return HttpRequest.newBuilder(uri("/auth/login"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString("{\"email\":\"user@example.com\",\"password\":\"password\"}"))
+                .build();
+    }
+
+    private HttpRequest browse() {
+        return HttpRequest.newBuilder(uri("/campaigns/" + campaignId))
+                .header("Authorization", "Bearer " + token)
+                .GET()
+                .build();
+    }
+
+    private URI uri(String path) {
+        return URI.create("http://localhost:" + port + "/api/v1" + path);
+    }
+
+    private HttpResponse<String> send(HttpRequest request) {
+        try {
+            return client.send(request, HttpResponse.BodyHandlers.ofString());
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static long percentile(List<Long> samples, int percentile) {
+        List<Long> sorted = new ArrayList<>(samples);
+        Collections.sort(sorted);
+        return sorted.get(Math.min(sorted.size() - 1, sorted.size() * percentile / 100));
+    }
+}
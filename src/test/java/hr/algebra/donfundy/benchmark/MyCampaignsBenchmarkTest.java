@@ -0,0 +1,158 @@
+package hr.algebra.donfundy.benchmark;
+
+import hr.algebra.donfundy.controller.BaseIntegrationTest;
+import hr.algebra.donfundy.domain.Campaign;
+import hr.algebra.donfundy.domain.Donor;
+import hr.algebra.donfundy.domain.User;
+import hr.algebra.donfundy.domain.enums.Role;
+import hr.algebra.donfundy.domain.enums.Status;
+import hr.algebra.donfundy.repository.CampaignRepository;
+import hr.algebra.donfundy.repository.DonorRepository;
+import hr.algebra.donfundy.repository.UserRepository;
+import hr.algebra.donfundy.security.CustomUserDetailsService;
+import hr.algebra.donfundy.security.JwtUtil;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static io.restassured.RestAssured.given;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.hasSize;
+
+@Tag("benchmark")
+@DisplayName("My campaigns benchmark")
+class MyCampaignsBenchmarkTest extends BaseIntegrationTest {
+
+    private static final int OWN_CAMPAIGNS = 20;
+    private static final int WARMUP_REQUESTS = 50;
+    private static final int MEASURED_REQUESTS = 200;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private DonorRepository donorRepository;
+    @Autowired
+    private CampaignRepository campaignRepository;
+    @Autowired
+    private JwtUtil jwtUtil;
+    @Autowired
+    private CustomUserDetailsService userDetailsService;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private String token;
+    private Donor otherDonor;
+    private int totalCampaigns;
+
+    @BeforeEach
+    void setUp() {
+        User owner = new User();
+        owner.setEmail("owner@example.com");
+        owner.setPasswordHash("not-used");
+        owner.setRole(Role.USER);
+        owner = userRepository.save(owner);
+
+        Donor ownerDonor = new Donor();
+        ownerDonor.setUser(owner);
+        ownerDonor.setFirstName("Owner");
+        ownerDonor.setLastName("Donor");
+        ownerDonor.setEmail("owner@example.com");
+        ownerDonor = donorRepository.save(ownerDonor);
+
+        otherDonor = new Donor();
+        otherDonor.setFirstName("Other");
+        otherDonor.setLastName("Donor");
+        otherDonor.setEmail("other@example.com");
+        otherDonor = donorRepository.save(otherDonor);
+
+        for (int i = 0; i < OWN_CAMPAIGNS; i++) {
+            Campaign campaign = new Campaign();
+            campaign.setName("Own campaign " + i);
+            campaign.setGoalAmount(1000.0);
+            campaign.setRaisedAmount(0.0);
+            campaign.setStartDate(LocalDate.now().minusDays(i));
+            campaign.setStatus(Status.ACTIVE);
+            campaign.setCreatedBy(ownerDonor);
+            campaignRepository.save(campaign);
+        }
+        totalCampaigns = OWN_CAMPAIGNS;
+
+        token = jwtUtil.generateToken(userDetailsService.loadUserByUsername(owner.getEmail()));
+    }
+
+    @Test
+    @DisplayName("My campaigns latency does not grow with the total campaign count")
+    void myCampaignsLatencyIsIndependentOfTotalCampaigns() {
+        growCampaignsTo(1_000);
+        long smallMedian = medianLatencyNanos();
+
+        growCampaignsTo(100_000);
+        long largeMedian = medianLatencyNanos();
+
+        System.out.printf("my-campaigns median latency: %d campaigns = %.2f ms, %d campaigns = %.2f ms%n",
+                1_000, smallMedian / 1e6, 100_000, largeMedian / 1e6);
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        requestMyCampaigns();
+        assertThat(statistics.getEntityStatistics(Campaign.class.getName()).getLoadCount())
+                .isEqualTo(OWN_CAMPAIGNS);
+
+        assertThat(largeMedian).isLessThan(smallMedian * 3 + 5_000_000L);
+    }
+
+    private void growCampaignsTo(int target) {
+        List<Integer> rows = IntStream.range(totalCampaigns, target).boxed().toList();
+        jdbcTemplate.batchUpdate(
+                "INSERT INTO campaign (name, goal_amount, raised_amount, start_date, status, created_by) " +
+                        "VALUES (?, ?, ?, ?, ?, ?)",
+                rows, 5_000, (ps, i) -> {
+                    ps.setString(1, "Other campaign " + i);
+                    ps.setDouble(2, 1000.0);
+                    ps.setDouble(3, 0.0);
+                    ps.setDate(4, Date.valueOf(LocalDate.now().minusDays(i % 365)));
+                    ps.setString(5, Status.ACTIVE.name());
+                    ps.setLong(6, otherDonor.getId());
+                });
+        jdbcTemplate.execute("ANALYZE campaign");
+        totalCampaigns = target;
+    }
+
+    private long medianLatencyNanos() {
+        for (int i = 0; i < WARMUP_REQUESTS; i++) {
+            requestMyCampaigns();
+        }
+        long[] samples = new long[MEASURED_REQUESTS];
+        for (int i = 0; i < MEASURED_REQUESTS; i++) {
+            long start = System.nanoTime();
+            requestMyCampaigns();
+            samples[i] = System.nanoTime() - start;
+        }
+        Arrays.sort(samples);
+        return samples[samples.length / 2];
+    }
+
+    private void requestMyCampaigns() {
+        given()
+            .header("Authorization", "Bearer " + token)
+        .when()
+            .get("/campaigns/my-campaigns")
+        .then()
+            .statusCode(200)
+            .body("items", hasSize(OWN_CAMPAIGNS));
+    }
+}
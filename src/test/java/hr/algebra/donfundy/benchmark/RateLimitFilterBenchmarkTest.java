@@ -0,0 +1,168 @@
+package hr.algebra.donfundy.benchmark;
+
+import hr.algebra.donfundy.config.RateLimitProperties;
+import hr.algebra.donfundy.domain.enums.Role;
+import hr.algebra.donfundy.security.AuthenticatedUser;
+import hr.algebra.donfundy.security.RateLimitFilter;
+import hr.algebra.donfundy.support.MessageService;
+import hr.algebra.donfundy.support.TokenBucket;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntFunction;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Cost of {@link RateLimitFilter} per request with every core busy, compared with calling the chain
+ * directly. "One user" has all threads take from the same bucket, the worst case for its compare-and-set;
+ * "user per thread" is the usual case of many clients. The budget is large enough that nothing is
+ * rejected, so only the bookkeeping is measured.
+ */
+@Tag("benchmark")
+@DisplayName("Rate limit filter benchmark")
+class RateLimitFilterBenchmarkTest {
+
+    private static final int THREADS = Math.max(8, Runtime.getRuntime().availableProcessors() * 2);
+    private static final int WARMUP_RUNS = 50_000;
+    private static final int MEASURED_RUNS = 200_000;
+    private static final FilterChain NO_OP_CHAIN = (request, response) -> { };
+
+    @Test
+    @DisplayName("Filter overhead per request under contention")
+    void filterOverheadUnderContention() throws Exception {
+        RateLimitFilter filter = filter(1_000_000_000L, 1e9);
+
+        IntFunction<FilterChain> userPerThread = thread -> {
+            authenticate((long) thread);
+            return (request, response) -> filter.doFilter(request, response, NO_OP_CHAIN);
+        };
+        nanosPerRequest(userPerThread);
+
+        double bare = nanosPerRequest(thread -> NO_OP_CHAIN);
+        double oneUser = nanosPerRequest(thread -> {
+            authenticate(1L);
+            return (request, response) -> filter.doFilter(request, response, NO_OP_CHAIN);
+        });
+        double manyUsers = nanosPerRequest(userPerThread);
+
+        System.out.printf("Rate limiting, %d threads on %d cores, %d requests per thread, wall time per request:%n",
+                THREADS, Runtime.getRuntime().availableProcessors(), MEASURED_RUNS);
+        System.out.printf("  %-24s %8.1f ns%n", "no filter", bare);
+        System.out.printf("  %-24s %8.1f ns%n", "one user", oneUser);
+        System.out.printf("  %-24s %8.1f ns%n", "user per thread", manyUsers);
+    }
+
+    @Test
+    @DisplayName("Contended bucket hands out exactly its capacity")
+    void contendedBucketHandsOutExactlyItsCapacity() throws Exception {
+        int capacity = 10_000;
+        TokenBucket bucket = new TokenBucket(capacity, 0.001, System.nanoTime());
+        AtomicInteger taken = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+
+        try (ExecutorService executor = Executors.newFixedThreadPool(THREADS)) {
+            for (int thread = 0; thread < THREADS; thread++) {
+                executor.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < capacity; i++) {
+                        if (bucket.tryTake(System.nanoTime()) == 0) {
+                            taken.incrementAndGet();
+                        }
+                    }
+                    return null;
+                });
+            }
+            start.countDown();
+        }
+
+        assertThat(taken.get()).isEqualTo(capacity);
+        assertThat(bucket.tryTake(System.nanoTime())).isPositive();
+    }
+
+    private static RateLimitFilter filter(long capacity, double refillPerSecond) {
+        RateLimitProperties properties = new RateLimitProperties(Duration.ofMinutes(10), 100_000, List.of(
+                new RateLimitProperties.Group("auth", List.of("/auth/login"), 10, 0.2),
+                new RateLimitProperties.Group("donations", List.of("/donations", "/donations/**"),
+                        capacity, refillPerSecond)));
+        return new RateLimitFilter(properties, mock(MessageService.class), JsonMapper.builder().build(),
+                new SimpleMeterRegistry());
+    }
+
+    private static void authenticate(long userId) {
+        AuthenticatedUser user = AuthenticatedUser.of("user" + userId + "@example.com", "", Role.USER,
+                userId, userId, 0);
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(user, null, user.getAuthorities()));
+    }
+
+    /**
+     * Runs {@code THREADS} threads at once, each with the request handler {@code handlerFor} returns for
+     * it after setting up its security context, and returns the wall time of the measured runs divided by
+     * the number of requests, i.e. the inverse of the throughput.
+     */
+    private static double nanosPerRequest(IntFunction<FilterChain> handlerFor) throws Exception {
+        CountDownLatch ready = new CountDownLatch(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> workers = new ArrayList<>();
+
+        try (ExecutorService executor = Executors.newFixedThreadPool(THREADS)) {
+            for (int thread = 0; thread < THREADS; thread++) {
+                int id = thread;
+                workers.add(executor.submit(() -> {
+                    try {
+                        FilterChain handler = handlerFor.apply(id);
+                        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/donations");
+                        request.setContextPath("/api/v1");
+                        request.setRemoteAddr("10.0.0." + id);
+                        MockHttpServletResponse response = new MockHttpServletResponse();
+                        for (int run = 0; run < WARMUP_RUNS; run++) {
+                            handle(handler, request, response);
+                        }
+                        ready.countDown();
+                        start.await();
+                        for (int run = 0; run < MEASURED_RUNS; run++) {
+                            handle(handler, request, response);
+                        }
+                        assertThat(response.getStatus()).isEqualTo(200);
+                        return null;
+                    } finally {
+                        SecurityContextHolder.clearContext();
+                    }
+                }));
+            }
+            ready.await();
+            long begin = System.nanoTime();
+            start.countDown();
+            for (Future<?> worker : workers) {
+                worker.get();
+            }
+            return (double) (System.nanoTime() - begin) / THREADS / MEASURED_RUNS;
+        }
+    }
+
+    private static void handle(FilterChain handler, MockHttpServletRequest request, MockHttpServletResponse response) {
+        try {
+            handler.doFilter(request, response);
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,199 @@
+package hr.algebra.donfundy.benchmark;
+
+import hr.algebra.donfundy.controller.BaseIntegrationTest;
+import hr.algebra.donfundy.domain.Campaign;
+import hr.algebra.donfundy.domain.Donor;
+import hr.algebra.donfundy.domain.User;
+import hr.algebra.donfundy.domain.enums.PaymentMethod;
+import hr.algebra.donfundy.domain.enums.Role;
+import hr.algebra.donfundy.domain.enums.Status;
+import hr.algebra.donfundy.dto.CursorPage;
+import hr.algebra.donfundy.dto.DonationResponse;
+import hr.algebra.donfundy.repository.CampaignRepository;
+import hr.algebra.donfundy.repository.DonorRepository;
+import hr.algebra.donfundy.repository.UserRepository;
+import hr.algebra.donfundy.security.CustomUserDetailsService;
+import hr.algebra.donfundy.security.JwtUtil;
+import hr.algebra.donfundy.support.KeysetCursor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import tools.jackson.databind.ObjectMapper;
+import tools.jackson.databind.json.JsonMapper;
+import tools.jackson.dataformat.cbor.CBORMapper;
+import tools.jackson.dataformat.smile.SmileMapper;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+import java.util.zip.GZIPOutputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@Tag("benchmark")
+@DisplayName("Response encoding benchmark")
+class ResponseEncodingBenchmarkTest extends BaseIntegrationTest {
+
+    private static final int DONATIONS = 1_000;
+    private static final int DONORS = 1_000;
+    private static final int WARMUP_RUNS = 200;
+    private static final int MEASURED_RUNS = 1_000;
+    private static final List<String> FORMATS = List.of("application/json", "application/cbor", "application/x-jackson-smile");
+    private static final List<String> ENCODINGS = List.of("identity", "gzip", "deflate");
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private DonorRepository donorRepository;
+    @Autowired
+    private CampaignRepository campaignRepository;
+    @Autowired
+    private JwtUtil jwtUtil;
+    @Autowired
+    private CustomUserDetailsService userDetailsService;
+
+    private String token;
+
+    @BeforeEach
+    void setUp() {
+        User user = new User();
+        user.setEmail("user@example.com");
+        user.setPasswordHash("not-used");
+        user.setRole(Role.USER);
+        user = userRepository.save(user);
+
+        Donor donor = new Donor();
+        donor.setUser(user);
+        donor.setFirstName("Bench");
+        donor.setLastName("User");
+        donor.setEmail("user@example.com");
+        donor = donorRepository.save(donor);
+
+        Campaign campaign = new Campaign();
+        campaign.setName("Encoding campaign");
+        campaign.setGoalAmount(1_000_000.0);
+        campaign.setRaisedAmount(0.0);
+        campaign.setStartDate(LocalDate.now());
+        campaign.setStatus(Status.ACTIVE);
+        campaign.setCreatedBy(donor);
+        campaign = campaignRepository.save(campaign);
+
+        jdbcTemplate.update(
+                "INSERT INTO donor (first_name, last_name, email, phone_number) " +
+                        "SELECT 'First' || i, 'Last' || i, 'donor' || i || '@example.com', '+385 1 555 ' || i " +
+                        "FROM generate_series(1, ?) i",
+                DONORS);
+
+        Long campaignId = campaign.getId();
+        Long donorId = donor.getId();
+        jdbcTemplate.batchUpdate(
+                "INSERT INTO donation (campaign_id, donor_id, amount, donation_date, message, payment_method) " +
+                        "VALUES (?, ?, ?, ?, ?, ?)",
+                IntStream.range(0, DONATIONS).boxed().toList(), 1_000, (ps, i) -> {
+                    ps.setLong(1, campaignId);
+                    ps.setLong(2, donorId);
+                    ps.setBigDecimal(3, BigDecimal.valueOf(10 + i % 90, 0));
+                    ps.setDate(4, Date.valueOf(LocalDate.now().minusDays(i % 365)));
+                    ps.setString(5, "Donation message " + i);
+                    ps.setString(6, PaymentMethod.CARD.name());
+                });
+
+        token = jwtUtil.generateToken(userDetailsService.loadUserByUsername(user.getEmail()));
+    }
+
+    @Test
+    @DisplayName("Bytes on the wire per format and content encoding")
+    void bytesOnTheWire() throws Exception {
+        for (String path : List.of("/donations?limit=" + KeysetCursor.MAX_LIMIT, "/donors?limit=" + KeysetCursor.MAX_LIMIT)) {
+            Map<String, Integer> sizes = new LinkedHashMap<>();
+            for (String format : FORMATS) {
+                for (String encoding : ENCODINGS) {
+                    HttpResponse<byte[]> response = fetch(path, format, encoding);
+                    assertThat(response.statusCode()).isEqualTo(200);
+                    String applied = response.headers().firstValue("Content-Encoding").orElse("identity");
+                    assertThat(applied).isEqualTo(encoding);
+                    sizes.put(format + " + " + encoding, response.body().length);
+                }
+            }
+            System.out.printf("%s bytes on the wire:%n", path);
+            sizes.forEach((variant, bytes) -> System.out.printf("  %-42s %,8d%n", variant, bytes));
+
+            int json = sizes.get("application/json + identity");
+            assertThat(sizes.get("application/cbor + identity")).isLessThan(json);
+            assertThat(sizes.get("application/x-jackson-smile + identity")).isLessThan(json);
+            assertThat(sizes.get("application/json + gzip")).isLessThan(json / 3);
+        }
+    }
+
+    @Test
+    @DisplayName("Serialization time per format for a full donation page")
+    void serializationTime() {
+        CursorPage<DonationResponse> page = new CursorPage<>(IntStream.range(0, KeysetCursor.MAX_LIMIT)
+                .mapToObj(i -> new DonationResponse((long) i, 1L, "Encoding campaign", 2L, "Bench User",
+                        BigDecimal.valueOf(10 + i % 90, 0), LocalDate.now().minusDays(i), "Donation message " + i,
+                        PaymentMethod.CARD))
+                .toList(), "MjAyNC0wMy0xNXw0Mg");
+
+        Map<String, ObjectMapper> mappers = new LinkedHashMap<>();
+        mappers.put("json", new JsonMapper());
+        mappers.put("cbor", new CBORMapper());
+        mappers.put("smile", new SmileMapper());
+
+        System.out.printf("serialization of %d donations, median of %d runs:%n", KeysetCursor.MAX_LIMIT, MEASURED_RUNS);
+        for (Map.Entry<String, ObjectMapper> mapper : mappers.entrySet()) {
+            double plain = medianMicros(() -> mapper.getValue().writeValueAsBytes(page));
+            double gzipped = medianMicros(() -> gzip(mapper.getValue().writeValueAsBytes(page)));
+            System.out.printf("  %-6s %8.1f us, with gzip %8.1f us%n", mapper.getKey(), plain, gzipped);
+        }
+    }
+
+    private HttpResponse<byte[]> fetch(String path, String accept, String acceptEncoding) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/v1" + path))
+                .header("Authorization", "Bearer " + token)
+                .header("Accept", accept)
+                .header("Accept-Encoding", acceptEncoding)
+                .build();
+        try (HttpClient client = HttpClient.newHttpClient()) {
+            return client.send(request, HttpResponse.BodyHandlers.ofByteArray());
+        }
+    }
+
+    private static byte[] gzip(byte[] bytes) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(bytes);
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+        return out.toByteArray();
+    }
+
+    private static double medianMicros(Runnable work) {
+        double[] timings = new double[MEASURED_RUNS];
+        for (int run = -WARMUP_RUNS; run < MEASURED_RUNS; run++) {
+            long start = System.nanoTime();
+            work.run();
+            if (run >= 0) {
+                timings[run] = (System.nanoTime() - start) / 1e3;
+            }
+        }
+        Arrays.sort(timings);
+        return timings[MEASURED_RUNS / 2];
+    }
+}
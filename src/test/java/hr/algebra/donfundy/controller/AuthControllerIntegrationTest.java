@@ -0,0 +1,356 @@
+package hr.algebra.donfundy.controller;
+
+import hr.algebra.donfundy.config.CacheConfiguration;
+import hr.algebra.donfundy.domain.Donor;
+import hr.algebra.donfundy.domain.User;
+import hr.algebra.donfundy.domain.enums.Role;
+import hr.algebra.donfundy.exception.ServiceUnavailableException;
+import hr.algebra.donfundy.repository.DonorRepository;
+import hr.algebra.donfundy.repository.RevokedTokenRepository;
+import hr.algebra.donfundy.repository.UserRepository;
+import hr.algebra.donfundy.security.JwtUtil;
+import hr.algebra.donfundy.security.PasswordHashing;
+import hr.algebra.donfundy.security.RevokedTokens;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.restassured.http.ContentType;
+import io.restassured.response.ValidatableResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static io.restassured.RestAssured.given;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.*;
+
+@DisplayName("AuthController Integration Tests")
+class AuthControllerIntegrationTest extends BaseIntegrationTest {
+
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private DonorRepository donorRepository;
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+    @Autowired
+    private MeterRegistry meterRegistry;
+    @Autowired
+    private JwtUtil jwtUtil;
+    @Autowired
+    private RevokedTokens revokedTokens;
+    @Autowired
+    private RevokedTokenRepository revokedTokenRepository;
+    @Autowired
+    private PasswordHashing passwordHashing;
+
+    @BeforeEach
+    void setUp() {
+        User user = new User();
+        user.setEmail("user@example.com");
+        user.setPasswordHash(passwordEncoder.encode("password"));
+        user.setRole(Role.USER);
+        user = userRepository.save(user);
+
+        Donor donor = new Donor();
+        donor.setUser(user);
+        donor.setFirstName("Regular");
+        donor.setLastName("User");
+        donor.setEmail("user@example.com");
+        donorRepository.save(donor);
+
+        User admin = new User();
+        admin.setEmail("admin@example.com");
+        admin.setPasswordHash(passwordEncoder.encode("password"));
+        admin.setRole(Role.ADMIN);
+        userRepository.save(admin);
+    }
+
+    @Test
+    @DisplayName("Should authenticate requests from token claims without reading the user")
+    void shouldAuthenticateFromClaimsAlone() {
+        String token = login("user@example.com");
+
+        assertThat(statementsFor(() -> given()
+            .header("Authorization", "Bearer " + token)
+        .when()
+            .post("/auth/logout-all")
+        .then()
+            .statusCode(204)))
+            .isEqualTo(1);
+
+        String fresh = login("user@example.com");
+        assertThat(statementsFor(() -> given()
+            .header("Authorization", "Bearer " + fresh)
+        .when()
+            .get("/donors/me")
+        .then()
+            .statusCode(200)
+            .body("email", equalTo("user@example.com"))))
+            .isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should take roles from the token")
+    void shouldTakeRolesFromToken() {
+        given()
+            .header("Authorization", "Bearer " + login("admin@example.com"))
+        .when()
+            .get("/stats/summary")
+        .then()
+            .statusCode(200);
+
+        given()
+            .header("Authorization", "Bearer " + login("user@example.com"))
+        .when()
+            .get("/stats/summary")
+        .then()
+            .statusCode(403);
+    }
+
+    @Test
+    @DisplayName("Should reject every earlier token after logging out everywhere")
+    void shouldRevokeAllTokensOnLogoutAll() {
+        String first = login("user@example.com");
+        String second = login("user@example.com");
+
+        given()
+            .header("Authorization", "Bearer " + first)
+        .when()
+            .post("/auth/logout-all")
+        .then()
+            .statusCode(204);
+
+        for (String revoked : new String[]{first, second}) {
+            given()
+                .header("Authorization", "Bearer " + revoked)
+            .when()
+                .get("/donors/me")
+            .then()
+                .statusCode(401);
+        }
+
+        given()
+            .header("Authorization", "Bearer " + login("user@example.com"))
+        .when()
+            .get("/donors/me")
+        .then()
+            .statusCode(200);
+
+        given()
+        .when()
+            .post("/auth/logout-all")
+        .then()
+            .statusCode(401);
+    }
+
+    @Test
+    @DisplayName("Should reject a token after logging out with it, and keep it rejected after a restart")
+    void shouldRevokeTokenOnLogout() {
+        String loggedOut = login("user@example.com");
+        String other = login("user@example.com");
+
+        given()
+            .header("Authorization", "Bearer " + loggedOut)
+        .when()
+            .post("/auth/logout")
+        .then()
+            .statusCode(200);
+
+        given()
+            .header("Authorization", "Bearer " + loggedOut)
+        .when()
+            .get("/donors/me")
+        .then()
+            .statusCode(401);
+
+        assertThat(statementsFor(() -> given()
+            .header("Authorization", "Bearer " + other)
+        .when()
+            .get("/donors/me")
+        .then()
+            .statusCode(200)))
+            .isEqualTo(1);
+
+        UUID tokenId = UUID.fromString(jwtUtil.parseClaims(loggedOut).getId());
+        assertThat(revokedTokens.isRevoked(tokenId)).isTrue();
+        RevokedTokens restarted = new RevokedTokens(revokedTokenRepository, new SimpleMeterRegistry(),
+                Duration.ofMinutes(1), 64);
+        restarted.start();
+        try {
+            assertThat(restarted.isRevoked(tokenId)).isTrue();
+            assertThat(restarted.isRevoked(UUID.fromString(jwtUtil.parseClaims(other).getId()))).isFalse();
+        } finally {
+            restarted.stop();
+        }
+    }
+
+    @Test
+    @DisplayName("Should reject a token on another instance within a tick of logging out with it")
+    void shouldRevokeTokenOnOtherInstances() throws InterruptedException {
+        String loggedOut = login("user@example.com");
+        UUID tokenId = UUID.fromString(jwtUtil.parseClaims(loggedOut).getId());
+        RevokedTokens otherInstance = new RevokedTokens(revokedTokenRepository, new SimpleMeterRegistry(),
+                Duration.ofMillis(100), 64);
+        otherInstance.start();
+        try {
+            assertThat(otherInstance.isRevoked(tokenId)).isFalse();
+
+            given()
+                .header("Authorization", "Bearer " + loggedOut)
+            .when()
+                .post("/auth/logout")
+            .then()
+                .statusCode(200);
+
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while (!otherInstance.isRevoked(tokenId) && System.nanoTime() < deadline) {
+                Thread.sleep(50);
+            }
+            assertThat(otherInstance.isRevoked(tokenId)).isTrue();
+        } finally {
+            otherInstance.stop();
+        }
+    }
+
+    @Test
+    @DisplayName("Should answer repeated logins and unknown emails from the user cache")
+    void shouldCacheUsersForLogin() {
+        login("user@example.com");
+        assertThat(statementsFor(() -> login("user@example.com"))).isZero();
+
+        assertThat(statementsFor(() -> attemptLogin("new@example.com").statusCode(401))).isEqualTo(1);
+        assertThat(statementsFor(() -> attemptLogin("new@example.com").statusCode(401))).isZero();
+
+        given()
+            .contentType(ContentType.JSON)
+            .body("""
+                {
+                  "firstName": "New",
+                  "lastName": "User",
+                  "email": "new@example.com",
+                  "password": "password",
+                  "repeatPassword": "password"
+                }
+                """)
+        .when()
+            .post("/auth/register")
+        .then()
+            .statusCode(200);
+
+        attemptLogin("new@example.com").statusCode(200);
+        assertThat(meterRegistry.get("cache.hit.ratio").tag("cache", CacheConfiguration.USERS).gauge().value())
+                .isGreaterThan(0.0);
+    }
+
+    @Test
+    @DisplayName("Should issue a usable token on registration without logging in again")
+    void shouldIssueTokenOnRegistration() {
+        String token = given()
+            .contentType(ContentType.JSON)
+            .body("""
+                {
+                  "firstName": "New",
+                  "lastName": "User",
+                  "email": "new@example.com",
+                  "password": "password",
+                  "repeatPassword": "password"
+                }
+                """)
+        .when()
+            .post("/auth/register")
+        .then()
+            .statusCode(200)
+            .body("email", equalTo("new@example.com"))
+            .body("role", equalTo("ROLE_USER"))
+            .extract().path("token");
+
+        given()
+            .header("Authorization", "Bearer " + token)
+        .when()
+            .get("/donors/me")
+        .then()
+            .statusCode(200)
+            .body("email", equalTo("new@example.com"));
+    }
+
+    @Test
+    @DisplayName("Should turn registrations away with 503 and Retry-After while the hashing pool is full")
+    void shouldRejectRegistrationWhenHashingPoolIsFull() {
+        CountDownLatch release = new CountDownLatch(1);
+        List<CompletableFuture<Boolean>> occupied = new ArrayList<>();
+        try {
+            while (true) {
+                occupied.add(passwordHashing.submit(() -> {
+                    try {
+                        return release.await(30, TimeUnit.SECONDS);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        return false;
+                    }
+                }));
+            }
+        } catch (ServiceUnavailableException e) {
+            // every thread is busy and the queue is full
+        }
+
+        try {
+            register("busy@example.com")
+                .statusCode(503)
+                .header("Retry-After", "1");
+            assertThat(userRepository.findByEmail("busy@example.com")).isEmpty();
+        } finally {
+            release.countDown();
+        }
+        CompletableFuture.allOf(occupied.toArray(CompletableFuture[]::new)).join();
+
+        register("busy@example.com").statusCode(200);
+    }
+
+    private ValidatableResponse register(String email) {
+        return given()
+            .contentType(ContentType.JSON)
+            .body(String.format("""
+                {
+                  "firstName": "New",
+                  "lastName": "User",
+                  "email": "%s",
+                  "password": "password",
+                  "repeatPassword": "password"
+                }
+                """, email))
+        .when()
+            .post("/auth/register")
+        .then();
+    }
+
+    private ValidatableResponse attemptLogin(String email) {
+        return given()
+            .contentType(ContentType.JSON)
+            .body(String.format("""
+                {
+                  "email": "%s",
+                  "password": "password"
+                }
+                """, email))
+        .when()
+            .post("/auth/login")
+        .then();
+    }
+
+    private String login(String email) {
+        return attemptLogin(email)
+            .statusCode(200)
+            .body("token", notNullValue())
+            .extract().path("token");
+    }
+}
@@ -1,26 +1,43 @@
 package hr.algebra.donfundy.controller;
 
 import io.restassured.RestAssured;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.BeforeEach;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.cache.CacheManager;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.context.DynamicPropertyRegistry;
 import org.springframework.test.context.DynamicPropertySource;
 import org.testcontainers.containers.PostgreSQLContainer;
 
+import java.util.List;
+
 @SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
 @ActiveProfiles("test")
 public class BaseIntegrationTest {
 
+    /**
+     * Reading the version row that backs campaign and donation ETags, done on every read of those lists.
+     */
+    protected static final long VERSION_CHECK_STATEMENTS = 1;
+
     @LocalServerPort
     protected int port;
 
     @Autowired
     private JdbcTemplate jdbcTemplate;
 
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private CacheManager cacheManager;
+
     static PostgreSQLContainer<?> postgres;
 
     static {
@@ -46,12 +63,32 @@ public class BaseIntegrationTest {
         cleanDatabase();
     }
 
+    protected long statementsFor(Runnable request) {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        request.run();
+        return statistics.getPrepareStatementCount();
+    }
+
+    /**
+     * JPQL and HQL strings run while handling the request, for asserting what a query selects.
+     */
+    protected List<String> queriesFor(Runnable request) {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        request.run();
+        return List.of(statistics.getQueries());
+    }
+
     private void cleanDatabase() {
         jdbcTemplate.execute("TRUNCATE TABLE \"user\" CASCADE");
         jdbcTemplate.execute("TRUNCATE TABLE campaign CASCADE");
         jdbcTemplate.execute("TRUNCATE TABLE donor CASCADE");
         jdbcTemplate.execute("TRUNCATE TABLE donation CASCADE");
-
+        jdbcTemplate.execute("TRUNCATE TABLE revoked_token");
+        jdbcTemplate.update("UPDATE stats_summary SET campaign_count = 0, active_campaign_count = 0, " +
+                "donation_count = 0, donor_count = 0, total_raised = 0");
+        cacheManager.getCacheNames().forEach(name -> cacheManager.getCache(name).clear());
     }
 
 }
@@ -1,25 +1,54 @@
 package hr.algebra.donfundy.controller;
 
+import hr.algebra.donfundy.config.CacheConfiguration;
 import hr.algebra.donfundy.domain.Campaign;
 import hr.algebra.donfundy.domain.Donor;
 import hr.algebra.donfundy.domain.User;
 import hr.algebra.donfundy.domain.enums.Role;
 import hr.algebra.donfundy.domain.enums.Status;
+import hr.algebra.donfundy.dto.CampaignResponse;
 import hr.algebra.donfundy.repository.CampaignRepository;
 import hr.algebra.donfundy.repository.DonorRepository;
+import hr.algebra.donfundy.repository.ResourceVersionRepository;
 import hr.algebra.donfundy.repository.UserRepository;
 import hr.algebra.donfundy.security.CustomUserDetailsService;
 import hr.algebra.donfundy.security.JwtUtil;
+import hr.algebra.donfundy.support.ResourceVersions;
+import hr.algebra.donfundy.support.ResourceVersions.Resource;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
 import io.restassured.http.ContentType;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
+import javax.sql.DataSource;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.sql.Connection;
+import java.time.DayOfWeek;
 import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
 
 import static io.restassured.RestAssured.given;
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.hamcrest.Matchers.*;
 
 @DisplayName("CampaignController Integration Tests")
@@ -37,6 +66,16 @@ class CampaignControllerIntegrationTest extends BaseIntegrationTest{
     private JwtUtil jwtUtil;
     @Autowired
     private CustomUserDetailsService userDetailsService;
+    @Autowired
+    private CacheManager cacheManager;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private ResourceVersionRepository resourceVersionRepository;
+    @Autowired
+    private DataSource dataSource;
+    @Autowired
+    private MeterRegistry meterRegistry;
 
     private String adminToken;
     private String userToken;
@@ -103,7 +142,21 @@ class CampaignControllerIntegrationTest extends BaseIntegrationTest{
             .get("/campaigns")
         .then()
             .statusCode(200)
-            .body("$", hasSize(greaterThanOrEqualTo(1)))
+            .body("items", hasSize(greaterThanOrEqualTo(1)))
+            .body("items[0].name", equalTo("Test Campaign"));
+    }
+
+    @Test
+    @DisplayName("Should return all campaigns as a list when unpaged")
+    void shouldGetAllCampaignsWhenUnpaged() {
+        given()
+            .header("Authorization", "Bearer " + userToken)
+            .queryParam("unpaged", true)
+        .when()
+            .get("/campaigns")
+        .then()
+            .statusCode(200)
+            .body("$", hasSize(1))
             .body("[0].name", equalTo("Test Campaign"));
     }
 
@@ -218,6 +271,101 @@ class CampaignControllerIntegrationTest extends BaseIntegrationTest{
             .body("goalAmount", equalTo(1500.0f));
     }
 
+    @Test
+    @DisplayName("Should coalesce concurrent reads of an uncached campaign into one load")
+    void shouldCoalesceConcurrentCampaignReads() throws Exception {
+        Counter loaded = meterRegistry.get("single.flight.calls").tag("name", CacheConfiguration.CAMPAIGNS)
+                .tag("result", "loaded").counter();
+        Counter coalesced = meterRegistry.get("single.flight.calls").tag("name", CacheConfiguration.CAMPAIGNS)
+                .tag("result", "coalesced").counter();
+        double loadedBefore = loaded.count();
+        double coalescedBefore = coalesced.count();
+
+        try (ExecutorService readers = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<Integer>> reads;
+            try (Connection lock = dataSource.getConnection()) {
+                // Holds the first load in its query while the other readers arrive
+                lock.setAutoCommit(false);
+                lock.createStatement().execute("LOCK TABLE campaign IN ACCESS EXCLUSIVE MODE");
+                try {
+                    reads = IntStream.range(0, 5)
+                            .mapToObj(i -> readers.submit(() -> given()
+                                .header("Authorization", "Bearer " + userToken)
+                            .when()
+                                .get("/campaigns/{id}", testCampaign.getId())
+                            .then()
+                                .extract().statusCode()))
+                            .toList();
+                    long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+                    while (System.nanoTime() < deadline && jdbcTemplate.queryForObject(
+                            "SELECT count(*) FROM pg_locks WHERE NOT granted AND relation = 'campaign'::regclass",
+                            Long.class) == 0) {
+                        Thread.sleep(10);
+                    }
+                    Thread.sleep(500);
+                } finally {
+                    lock.rollback();
+                }
+            }
+            for (Future<Integer> read : reads) {
+                assertThat(read.get(5, TimeUnit.SECONDS)).isEqualTo(200);
+            }
+        }
+
+        assertThat(loaded.count() - loadedBefore).isEqualTo(1.0);
+        assertThat(coalesced.count() - coalescedBefore).isGreaterThan(0.0);
+    }
+
+    @Test
+    @DisplayName("Should not keep a campaign loaded before an update committed")
+    void shouldNotCacheCampaignLoadedBeforeUpdate() throws Exception {
+        Cache campaigns = cacheManager.getCache(CacheConfiguration.CAMPAIGNS);
+        CampaignResponse stale = new CampaignResponse();
+        stale.setId(testCampaign.getId());
+        stale.setName("Stale Campaign");
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        CompletableFuture<Object> load = CompletableFuture.supplyAsync(() -> campaigns.get(testCampaign.getId(), () -> {
+            loading.countDown();
+            release.await();
+            return stale;
+        }));
+        assertThat(loading.await(5, TimeUnit.SECONDS)).isTrue();
+
+        String body = String.format("""
+            {
+              "name": "Updated Campaign",
+              "description": "Updated Description",
+              "status": "ACTIVE",
+              "goalAmount": 1500.0,
+              "startDate": "%s",
+              "endDate": "%s"
+            }
+            """, testCampaign.getStartDate(), testCampaign.getEndDate());
+        CompletableFuture<Integer> update = CompletableFuture.supplyAsync(() -> given()
+            .header("Authorization", "Bearer " + adminToken)
+            .contentType(ContentType.JSON)
+            .body(body)
+        .when()
+            .put("/campaigns/{id}", testCampaign.getId())
+        .then()
+            .extract().statusCode());
+
+        Thread.sleep(500);
+        release.countDown();
+        assertThat(load.get(5, TimeUnit.SECONDS)).isSameAs(stale);
+        assertThat(update.get(5, TimeUnit.SECONDS)).isEqualTo(200);
+
+        given()
+            .header("Authorization", "Bearer " + userToken)
+        .when()
+            .get("/campaigns/{id}", testCampaign.getId())
+        .then()
+            .statusCode(200)
+            .body("name", equalTo("Updated Campaign"));
+    }
+
     @Test
     @DisplayName("Regular user should not be able to update campaign")
     void regularUserShouldNotUpdateCampaign() {
@@ -284,4 +432,693 @@ class CampaignControllerIntegrationTest extends BaseIntegrationTest{
         .then()
             .statusCode(400);
     }
+
+    @Test
+    @DisplayName("Should list campaigns with their creators in one query")
+    void shouldListCampaignsWithCreatorsInOneQuery() {
+        for (int i = 0; i < 5; i++) {
+            Donor creator = new Donor();
+            creator.setFirstName("Creator" + i);
+            creator.setLastName("Many");
+            creator.setEmail("creator" + i + "@example.com");
+            creator = donorRepository.save(creator);
+
+            Campaign campaign = new Campaign();
+            campaign.setName("Campaign " + i);
+            campaign.setGoalAmount(1000.0);
+            campaign.setRaisedAmount(0.0);
+            campaign.setStartDate(LocalDate.now().minusDays(i + 1));
+            campaign.setStatus(Status.ACTIVE);
+            campaign.setCreatedBy(creator);
+            campaignRepository.save(campaign);
+        }
+
+        long authenticationStatements = statementsFor(() -> given()
+            .header("Authorization", "Bearer " + userToken)
+        .when()
+            .get("/actuator/health")
+        .then()
+            .statusCode(200));
+
+        assertThat(statementsFor(() -> given()
+            .header("Authorization", "Bearer " + userToken)
+        .when()
+            .get("/campaigns")
+        .then()
+            .statusCode(200)
+            .body("items", hasSize(6))
+            .body("items[5].createdByName", equalTo("Creator4 Many"))))
+            .isEqualTo(authenticationStatements + VERSION_CHECK_STATEMENTS + 1);
+
+        assertThat(statementsFor(() -> given()
+            .header("Authorization", "Bearer " + userToken)
+            .queryParam("unpaged", true)
+            .queryParam("status", "ACTIVE")
+        .when()
+            .get("/campaigns")
+        .then()
+            .statusCode(200)
+            .body("$", hasSize(6))))
+            .isEqualTo(authenticationStatements + VERSION_CHECK_STATEMENTS + 1);
+
+        assertThat(statementsFor(() -> given()
+            .header("Authorization", "Bearer " + userToken)
+        .when()
+            .get("/campaigns/{id}", testCampaign.getId())
+        .then()
+            .statusCode(200)
+            .body("createdByEmail", equalTo("admin@example.com"))))
+            .isEqualTo(authenticationStatements + 1);
+
+        assertThat(statementsFor(() -> given()
+            .header("Authorization", "Bearer " + adminToken)
+        .when()
+            .get("/campaigns/my-campaigns")
+        .then()
+            .statusCode(200)
+            .body("items[0].createdByName", equalTo("Admin User"))))
+            .isEqualTo(authenticationStatements + 1);
+
+        assertThat(statementsFor(() -> given()
+            .header("Authorization", "Bearer " + adminToken)
+            .queryParam("unpaged", true)
+        .when()
+            .get("/campaigns/my-campaigns")
+        .then()
+            .statusCode(200)
+            .body("[0].createdByName", equalTo("Admin User"))))
+            .isEqualTo(authenticationStatements + 1);
+    }
+
+    @Test
+    @DisplayName("Should serve repeated campaign reads from cache and refresh them on writes")
+    void shouldServeRepeatedCampaignReadsFromCache() {
+        long authenticationStatements = statementsFor(() -> given()
+            .header("Authorization", "Bearer " + userToken)
+        .when()
+            .get("/actuator/health")
+        .then()
+            .statusCode(200));
+
+        given()
+            .header("Authorization", "Bearer " + userToken)
+        .when()
+            .get("/campaigns/{id}", testCampaign.getId())
+        .then()
+            .statusCode(200);
+
+        assertThat(statementsFor(() -> given()
+            .header("Authorization", "Bearer " + userToken)
+        .when()
+            .get("/campaigns/{id}", testCampaign.getId())
+        .then()
+            .statusCode(200)
+            .body("name", equalTo("Test Campaign"))))
+            .isEqualTo(authenticationStatements);
+
+        String body = String.format("""
+            {
+              "name": "Updated Campaign",
+              "description": "Updated Description",
+              "status": "ACTIVE",
+              "goalAmount": 1500.0,
+              "startDate": "%s",
+              "endDate": "%s"
+            }
+            """, testCampaign.getStartDate(), testCampaign.getEndDate());
+
+        given()
+            .header("Authorization", "Bearer " + adminToken)
+            .contentType(ContentType.JSON)
+            .body(body)
+        .when()
+            .put("/campaigns/{id}", testCampaign.getId())
+        .then()
+            .statusCode(200);
+
+        assertThat(statementsFor(() -> given()
+            .header("Authorization", "Bearer " + userToken)
+        .when()
+            .get("/campaigns/{id}", testCampaign.getId())
+        .then()
+            .statusCode(200)
+            .body("name", equalTo("Updated Campaign"))))
+            .isEqualTo(authenticationStatements);
+
+        given()
+            .header("Authorization", "Bearer " + userToken)
+            .contentType(ContentType.JSON)
+            .body(String.format("""
+                {
+                  "campaignId": %d,
+                  "donorId": %d,
+                  "amount": 250.00,
+                  "paymentMethod": "CARD"
+                }
+                """, testCampaign.getId(), regularDonor.getId()))
+        .when()
+            .post("/donations")
+        .then()
+            .statusCode(201);
+
+        given()
+            .header("Authorization", "Bearer " + userToken)
+        .when()
+            .get("/campaigns/{id}", testCampaign.getId())
+        .then()
+            .statusCode(200)
+            .body("raisedAmount", equalTo(250.0f));
+    }
+
+    @Test
+    @DisplayName("Should expose campaign cache and load coalescing metrics to admins only")
+    void shouldExposeCampaignCacheMetricsToAdmins() {
+        given()
+            .header("Authorization", "Bearer " + userToken)
+        .when()
+            .get("/campaigns/{id}", testCampaign.getId())
+        .then()
+            .statusCode(200);
+
+        given()
+            .header("Authorization", "Bearer " + adminToken)
+            .queryParam("tag", "cache:campaigns")
+            .queryParam("tag", "result:miss")
+        .when()
+            .get("/actuator/metrics/cache.gets")
+        .then()
+            .statusCode(200)
+            .body("measurements[0].value", greaterThanOrEqualTo(1.0f));
+
+        given()
+            .header("Authorization", "Bearer " + adminToken)
+            .queryParam("tag", "name:campaigns")
+        .when()
+            .get("/actuator/metrics/single.flight.calls")
+        .then()
+            .statusCode(200)
+            .body("availableTags.find { it.tag == 'result' }.values", hasItems("loaded", "coalesced"));
+
+        given()
+            .header("Authorization", "Bearer " + userToken)
+        .when()
+            .get("/actuator/metrics/cache.gets")
+        .then()
+            .statusCode(403);
+    }
+
+    @Test
+    @DisplayName("Should answer unchanged campaign polls with 304 from the version row alone")
+    void shouldAnswerUnchangedCampaignPollsWithNotModified() {
+        String etag = given()
+            .header("Authorization", "Bearer " + userToken)
+        .when()
+            .get("/campaigns")
+        .then()
+            .statusCode(200)
+            .header("ETag", notNullValue())
+            .extract().header("ETag");
+
+        long authenticationStatements = statementsFor(() -> given()
+            .header("Authorization", "Bearer " + userToken)
+        .when()
+            .get("/actuator/health")
+        .then()
+            .statusCode(200));
+
+        assertThat(statementsFor(() -> given()
+            .header("Authorization", "Bearer " + userToken)
+            .header("If-None-Match", etag)
+        .when()
+            .get("/campaigns")
+        .then()
+            .statusCode(304)
+            .body(emptyString())))
+            .isEqualTo(authenticationStatements + VERSION_CHECK_STATEMENTS);
+
+        String campaignEtag = given()
+            .header("Authorization", "Bearer " + userToken)
+        .when()
+            .get("/campaigns/{id}", testCampaign.getId())
+        .then()
+            .statusCode(200)
+            .header("ETag", not(equalTo(etag)))
+            .extract().header("ETag");
+
+        assertThat(statementsFor(() -> given()
+            .header("Authorization", "Bearer " + userToken)
+            .header("If-None-Match", campaignEtag)
+        .when()
+            .get("/campaigns/{id}", testCampaign.getId())
+        .then()
+            .statusCode(304)))
+            .isEqualTo(authenticationStatements);
+
+        given()
+            .header("Authorization", "Bearer " + userToken)
+            .contentType(ContentType.JSON)
+            .body(String.format("""
+                {
+                  "campaignId": %d,
+                  "donorId": %d,
+                  "amount": 100.00,
+                  "paymentMethod": "CARD"
+                }
+                """, testCampaign.getId(), regularDonor.getId()))
+        .when()
+            .post("/donations")
+        .then()
+            .statusCode(201);
+
+        given()
+            .header("Authorization", "Bearer " + userToken)
+            .header("If-None-Match", campaignEtag)
+        .when()
+            .get("/campaigns/{id}", testCampaign.getId())
+        .then()
+            .statusCode(200)
+            .header("ETag", not(equalTo(campaignEtag)))
+            .body("raisedAmount", equalTo(100.0f));
+    }
+
+    @Test
+    @DisplayName("Should not answer 304 for a campaign served from cache after its write committed")
+    void shouldTagCampaignByTheBodyServed() {
+        given()
+            .header("Authorization", "Bearer " + userToken)
+        .when()
+            .get("/campaigns/{id}", testCampaign.getId())
+        .then()
+            .statusCode(200);
+
+        // A write has committed and bumped the counter, but its eviction of the cached campaign has not run yet
+        jdbcTemplate.update("UPDATE campaign SET name = 'Renamed' WHERE id = ?", testCampaign.getId());
+        new ResourceVersions(resourceVersionRepository).changed(Resource.CAMPAIGNS);
+        String staleEtag = given()
+            .header("Authorization", "Bearer " + userToken)
+        .when()
+            .get("/campaigns/{id}", testCampaign.getId())
+        .then()
+            .statusCode(200)
+            .body("name", equalTo("Test Campaign"))
+            .extract().header("ETag");
+
+        cacheManager.getCache(CacheConfiguration.CAMPAIGNS).evict(testCampaign.getId());
+
+        given()
+            .header("Authorization", "Bearer " + userToken)
+            .header("If-None-Match", staleEtag)
+        .when()
+            .get("/campaigns/{id}", testCampaign.getId())
+        .then()
+            .statusCode(200)
+            .header("ETag", not(equalTo(staleEtag)))
+            .body("name", equalTo("Renamed"));
+    }
+
+    @Test
+    @DisplayName("Should see campaign changes made through another instance")
+    void shouldSeeCampaignChangesFromAnotherInstance() {
+        String etag = given()
+            .header("Authorization", "Bearer " + userToken)
+        .when()
+            .get("/campaigns")
+        .then()
+            .statusCode(200)
+            .extract().header("ETag");
+
+        jdbcTemplate.update("UPDATE campaign SET name = 'Renamed Elsewhere' WHERE id = ?", testCampaign.getId());
+        new ResourceVersions(resourceVersionRepository).changed(Resource.CAMPAIGNS);
+
+        given()
+            .header("Authorization", "Bearer " + userToken)
+            .header("If-None-Match", etag)
+        .when()
+            .get("/campaigns")
+        .then()
+            .statusCode(200)
+            .header("ETag", not(equalTo(etag)))
+            .body("items.name", hasItem("Renamed Elsewhere"));
+    }
+
+    @Test
+    @DisplayName("Should rank name matches above description matches and page search results")
+    void shouldSearchCampaignsByNameAndDescription() {
+        Campaign descriptionMatch = new Campaign();
+        descriptionMatch.setName("School Library");
+        descriptionMatch.setDescription("Books, desks and clean drinking water for the reading room");
+        descriptionMatch.setGoalAmount(2000.0);
+        descriptionMatch.setRaisedAmount(0.0);
+        descriptionMatch.setStartDate(LocalDate.now());
+        descriptionMatch.setStatus(Status.ACTIVE);
+        descriptionMatch.setCreatedBy(adminDonor);
+        campaignRepository.save(descriptionMatch);
+
+        Campaign nameMatch = new Campaign();
+        nameMatch.setName("Clean Water Wells");
+        nameMatch.setDescription("Drilling wells in rural villages");
+        nameMatch.setGoalAmount(5000.0);
+        nameMatch.setRaisedAmount(0.0);
+        nameMatch.setStartDate(LocalDate.now());
+        nameMatch.setStatus(Status.ACTIVE);
+        nameMatch.setCreatedBy(adminDonor);
+        campaignRepository.save(nameMatch);
+
+        String nextCursor = given()
+            .header("Authorization", "Bearer " + userToken)
+            .queryParam("q", "water")
+            .queryParam("limit", 1)
+        .when()
+            .get("/campaigns/search")
+        .then()
+            .statusCode(200)
+            .body("items", hasSize(1))
+            .body("items[0].name", equalTo("Clean Water Wells"))
+            .body("items[0].createdByName", notNullValue())
+            .body("nextCursor", notNullValue())
+            .extract().path("nextCursor");
+
+        given()
+            .header("Authorization", "Bearer " + userToken)
+            .queryParam("q", "water")
+            .queryParam("limit", 1)
+            .queryParam("cursor", nextCursor)
+        .when()
+            .get("/campaigns/search")
+        .then()
+            .statusCode(200)
+            .body("items", hasSize(1))
+            .body("items[0].name", equalTo("School Library"))
+            .body("nextCursor", nullValue());
+
+        given()
+            .header("Authorization", "Bearer " + userToken)
+            .queryParam("q", "water -wells")
+        .when()
+            .get("/campaigns/search")
+        .then()
+            .statusCode(200)
+            .body("items.name", contains("School Library"));
+    }
+
+    @Test
+    @DisplayName("Should reject a blank search query")
+    void shouldRejectBlankSearchQuery() {
+        given()
+            .header("Authorization", "Bearer " + userToken)
+            .queryParam("q", " ")
+        .when()
+            .get("/campaigns/search")
+        .then()
+            .statusCode(400);
+    }
+
+    @Test
+    @DisplayName("Should keep the campaign leaderboard in step with donations, deletions and bulk imports")
+    void shouldMaintainCampaignLeaderboard() {
+        donate(regularDonor, "100.00", "CARD");
+        donate(regularDonor, "50.00", "CARD");
+        Integer adminDonationId = donate(adminDonor, "200.00", "CARD");
+
+        given()
+            .header("Authorization", "Bearer " + adminToken)
+        .when()
+            .delete("/donations/{id}", adminDonationId)
+        .then()
+            .statusCode(204);
+
+        String csv = "campaignId,amount,donorEmail,donorFirstName,donorLastName,paymentMethod,message\n" +
+                testCampaign.getId() + ",30.00,user@example.com,Regular,User,CARD,\n" +
+                testCampaign.getId() + ",120.00,new.donor@example.com,New,Donor,CARD,\n";
+
+        given()
+            .header("Authorization", "Bearer " + adminToken)
+            .multiPart("file", "donations.csv", csv.getBytes(), "text/csv")
+        .when()
+            .post("/bulk-donations/upload")
+        .then()
+            .statusCode(201);
+
+        given()
+            .header("Authorization", "Bearer " + userToken)
+        .when()
+            .get("/campaigns/{id}/leaderboard", testCampaign.getId())
+        .then()
+            .statusCode(200)
+            .body("$", hasSize(2))
+            .body("[0].donorId", equalTo(regularDonor.getId().intValue()))
+            .body("[0].donorName", equalTo("Regular User"))
+            .body("[0].totalAmount", equalTo(180.0f))
+            .body("[0].donationCount", equalTo(3))
+            .body("[1].donorName", equalTo("New Donor"))
+            .body("[1].totalAmount", equalTo(120.0f));
+
+        given()
+            .header("Authorization", "Bearer " + userToken)
+            .queryParam("limit", 1)
+        .when()
+            .get("/campaigns/{id}/leaderboard", testCampaign.getId())
+        .then()
+            .statusCode(200)
+            .body("$", hasSize(1));
+
+        given()
+            .header("Authorization", "Bearer " + userToken)
+        .when()
+            .get("/campaigns/{id}/leaderboard", 99999)
+        .then()
+            .statusCode(404);
+    }
+
+    @Test
+    @DisplayName("Should roll donations up per day and week and payment method")
+    void shouldServeCampaignTimeseriesFromRollups() {
+        donate(regularDonor, "100.00", "CARD");
+        donate(regularDonor, "50.00", "PAYPAL");
+
+        String csv = "campaignId,amount,donorEmail,donorFirstName,donorLastName,paymentMethod,message\n" +
+                testCampaign.getId() + ",30.00,new.donor@example.com,New,Donor,CARD,\n";
+
+        given()
+            .header("Authorization", "Bearer " + adminToken)
+            .multiPart("file", "donations.csv", csv.getBytes(), "text/csv")
+        .when()
+            .post("/bulk-donations/upload")
+        .then()
+            .statusCode(201);
+
+        given()
+            .header("Authorization", "Bearer " + userToken)
+        .when()
+            .get("/campaigns/{id}/timeseries", testCampaign.getId())
+        .then()
+            .statusCode(200)
+            .body("$", hasSize(2))
+            .body("[0].bucketStart", equalTo(LocalDate.now().toString()))
+            .body("[0].paymentMethod", equalTo("CARD"))
+            .body("[0].totalAmount", equalTo(130.0f))
+            .body("[0].donationCount", equalTo(2))
+            .body("[1].paymentMethod", equalTo("PAYPAL"))
+            .body("[1].totalAmount", equalTo(50.0f));
+
+        given()
+            .header("Authorization", "Bearer " + userToken)
+            .queryParam("bucket", "week")
+        .when()
+            .get("/campaigns/{id}/timeseries", testCampaign.getId())
+        .then()
+            .statusCode(200)
+            .body("$", hasSize(2))
+            .body("[0].bucketStart", equalTo(LocalDate.now().with(DayOfWeek.MONDAY).toString()))
+            .body("[0].totalAmount", equalTo(130.0f));
+
+        given()
+            .header("Authorization", "Bearer " + adminToken)
+        .when()
+            .delete("/donors/{id}", regularDonor.getId())
+        .then()
+            .statusCode(204);
+
+        given()
+            .header("Authorization", "Bearer " + adminToken)
+        .when()
+            .get("/campaigns/{id}/timeseries", testCampaign.getId())
+        .then()
+            .statusCode(200)
+            .body("$", hasSize(1))
+            .body("[0].paymentMethod", equalTo("CARD"))
+            .body("[0].totalAmount", equalTo(30.0f))
+            .body("[0].donationCount", equalTo(1));
+
+        given()
+            .header("Authorization", "Bearer " + adminToken)
+            .queryParam("bucket", "month")
+        .when()
+            .get("/campaigns/{id}/timeseries", testCampaign.getId())
+        .then()
+            .statusCode(400);
+    }
+
+    @Test
+    @DisplayName("Should select and return only the requested campaign fields")
+    void shouldReturnSparseCampaignFields() {
+        Campaign olderCampaign = new Campaign();
+        olderCampaign.setName("Older Campaign");
+        olderCampaign.setDescription("A long description nobody asked for");
+        olderCampaign.setGoalAmount(400.0);
+        olderCampaign.setRaisedAmount(100.0);
+        olderCampaign.setStartDate(LocalDate.now().minusDays(5));
+        olderCampaign.setStatus(Status.ACTIVE);
+        olderCampaign.setCreatedBy(adminDonor);
+        campaignRepository.save(olderCampaign);
+
+        List<String> queries = queriesFor(() -> given()
+            .header("Authorization", "Bearer " + userToken)
+            .queryParam("fields", "name, progressPercentage,id")
+            .queryParam("limit", 1)
+        .when()
+            .get("/campaigns")
+        .then()
+            .statusCode(200)
+            .body("items", hasSize(1))
+            .body("items[0].keySet()", contains("id", "name", "progressPercentage"))
+            .body("items[0].name", equalTo("Test Campaign"))
+            .body("nextCursor", notNullValue()));
+
+        assertThat(queries).filteredOn(query -> query.contains("FROM Campaign c"))
+                .singleElement()
+                .satisfies(query -> assertThat(query).doesNotContain("description", "createdBy"));
+
+        String nextCursor = given()
+            .header("Authorization", "Bearer " + userToken)
+            .queryParam("fields", "name")
+            .queryParam("limit", 1)
+        .when()
+            .get("/campaigns")
+        .then()
+            .extract().path("nextCursor");
+
+        given()
+            .header("Authorization", "Bearer " + userToken)
+            .queryParam("fields", "name,progressPercentage,createdByName")
+            .queryParam("cursor", nextCursor)
+        .when()
+            .get("/campaigns")
+        .then()
+            .statusCode(200)
+            .body("items", hasSize(1))
+            .body("items[0].name", equalTo("Older Campaign"))
+            .body("items[0].progressPercentage", equalTo(25.0f))
+            .body("items[0].createdByName", equalTo("Admin User"))
+            .body("nextCursor", nullValue());
+
+        given()
+            .header("Authorization", "Bearer " + userToken)
+            .queryParam("fields", "name,secret")
+        .when()
+            .get("/campaigns")
+        .then()
+            .statusCode(400);
+    }
+
+    @Test
+    @DisplayName("Should push campaign progress to event stream subscribers")
+    void shouldStreamCampaignProgressEvents() throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/v1/campaigns/" + testCampaign.getId() + "/events"))
+                .header("Authorization", "Bearer " + userToken)
+                .header("Accept", "text/event-stream")
+                .build();
+
+        try (HttpClient client = HttpClient.newHttpClient()) {
+            HttpResponse<Stream<String>> response = client.send(request, HttpResponse.BodyHandlers.ofLines());
+            assertThat(response.statusCode()).isEqualTo(200);
+
+            try (Stream<String> lines = response.body()) {
+                BlockingQueue<String> events = new LinkedBlockingQueue<>();
+                Thread.ofVirtual().start(() -> lines
+                        .filter(line -> line.startsWith("data:"))
+                        .forEach(line -> events.add(line.substring("data:".length()))));
+
+                assertThat(events.poll(5, TimeUnit.SECONDS)).contains("\"raisedAmount\":0.0", "\"status\":\"ACTIVE\"");
+
+                donate(regularDonor, "10.00", "CARD");
+                donate(regularDonor, "20.00", "CARD");
+                donate(adminDonor, "30.00", "PAYPAL");
+
+                String latest;
+                do {
+                    latest = events.poll(5, TimeUnit.SECONDS);
+                    assertThat(latest).isNotNull();
+                } while (!latest.contains("\"raisedAmount\":60.0"));
+                assertThat(latest).contains("\"progressPercentage\":6.0");
+            }
+            client.shutdownNow();
+        }
+
+        given()
+            .header("Authorization", "Bearer " + userToken)
+        .when()
+            .get("/campaigns/999999/events")
+        .then()
+            .statusCode(404);
+    }
+
+    @Test
+    @DisplayName("Should fetch campaigns by IDs in request order with one query")
+    void shouldFetchCampaignsByIdsInRequestOrder() {
+        Campaign other = new Campaign();
+        other.setName("Other Campaign");
+        other.setGoalAmount(500.0);
+        other.setRaisedAmount(0.0);
+        other.setStartDate(LocalDate.now().minusDays(1));
+        other.setStatus(Status.ACTIVE);
+        other.setCreatedBy(regularDonor);
+        other = campaignRepository.save(other);
+        String ids = other.getId() + ",999999," + testCampaign.getId() + "," + other.getId();
+
+        long authenticationStatements = statementsFor(() -> given()
+            .header("Authorization", "Bearer " + userToken)
+        .when()
+            .get("/actuator/health")
+        .then()
+            .statusCode(200));
+
+        assertThat(statementsFor(() -> given()
+            .header("Authorization", "Bearer " + userToken)
+            .queryParam("ids", ids)
+        .when()
+            .get("/campaigns")
+        .then()
+            .statusCode(200)
+            .body("name", contains("Other Campaign", "Test Campaign"))
+            .body("createdByName", contains("Regular User", "Admin User"))))
+            .isEqualTo(authenticationStatements + VERSION_CHECK_STATEMENTS + 1);
+
+        given()
+            .header("Authorization", "Bearer " + userToken)
+            .queryParam("ids", "")
+        .when()
+            .get("/campaigns")
+        .then()
+            .statusCode(400);
+    }
+
+    private Integer donate(Donor donor, String amount, String paymentMethod) {
+        return given()
+            .header("Authorization", "Bearer " + userToken)
+            .contentType(ContentType.JSON)
+            .body(String.format("""
+                {
+                  "campaignId": %d,
+                  "donorId": %d,
+                  "amount": %s,
+                  "paymentMethod": "%s"
+                }
+                """, testCampaign.getId(), donor.getId(), amount, paymentMethod))
+        .when()
+            .post("/donations")
+        .then()
+            .statusCode(201)
+            .extract().path("id");
+    }
 }
@@ -10,20 +10,37 @@ import hr.algebra.donfundy.domain.enums.Status;
 import hr.algebra.donfundy.repository.CampaignRepository;
 import hr.algebra.donfundy.repository.DonationRepository;
 import hr.algebra.donfundy.repository.DonorRepository;
+import hr.algebra.donfundy.repository.ResourceVersionRepository;
 import hr.algebra.donfundy.repository.UserRepository;
 import hr.algebra.donfundy.security.CustomUserDetailsService;
 import hr.algebra.donfundy.security.JwtUtil;
+import hr.algebra.donfundy.support.ResourceVersions;
+import hr.algebra.donfundy.support.ResourceVersions.Resource;
 import io.restassured.http.ContentType;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.crypto.password.PasswordEncoder;
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.json.JsonMapper;
+import tools.jackson.dataformat.cbor.CBORMapper;
+import tools.jackson.dataformat.smile.SmileMapper;
 
+import java.io.ByteArrayInputStream;
 import java.math.BigDecimal;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
 import java.time.LocalDate;
+import java.util.List;
+import java.util.stream.IntStream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.InflaterInputStream;
 
 import static io.restassured.RestAssured.given;
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.hamcrest.Matchers.*;
 
 @DisplayName("DonationController Integration Tests")
@@ -43,6 +60,8 @@ class DonationControllerIntegrationTest extends BaseIntegrationTest{
     private JwtUtil jwtUtil;
     @Autowired
     private CustomUserDetailsService userDetailsService;
+    @Autowired
+    private ResourceVersionRepository resourceVersionRepository;
 
     private String adminToken;
     private String userToken;
@@ -119,8 +138,8 @@ class DonationControllerIntegrationTest extends BaseIntegrationTest{
             .get("/donations")
         .then()
             .statusCode(200)
-            .body("$", hasSize(greaterThanOrEqualTo(1)))
-            .body("[0].amount", equalTo(100.0f));
+            .body("items", hasSize(greaterThanOrEqualTo(1)))
+            .body("items[0].amount", equalTo(100.0f));
     }
 
     @Test
@@ -143,8 +162,8 @@ class DonationControllerIntegrationTest extends BaseIntegrationTest{
             .get("/donations")
         .then()
             .statusCode(200)
-            .body("$", hasSize(greaterThanOrEqualTo(1)))
-            .body("[0].campaignId", equalTo(testCampaign.getId().intValue()));
+            .body("items", hasSize(greaterThanOrEqualTo(1)))
+            .body("items[0].campaignId", equalTo(testCampaign.getId().intValue()));
     }
 
     @Test
@@ -157,8 +176,8 @@ class DonationControllerIntegrationTest extends BaseIntegrationTest{
             .get("/donations")
         .then()
             .statusCode(200)
-            .body("$", hasSize(greaterThanOrEqualTo(1)))
-            .body("[0].donorId", equalTo(regularDonor.getId().intValue()));
+            .body("items", hasSize(greaterThanOrEqualTo(1)))
+            .body("items[0].donorId", equalTo(regularDonor.getId().intValue()));
     }
 
     @Test
@@ -410,7 +429,8 @@ class DonationControllerIntegrationTest extends BaseIntegrationTest{
             .get("/donations")
         .then()
             .statusCode(200)
-            .body("$", hasSize(0));
+            .body("items", hasSize(0))
+            .body("nextCursor", nullValue());
     }
 
     @Test
@@ -436,6 +456,350 @@ class DonationControllerIntegrationTest extends BaseIntegrationTest{
             .get("/donations")
         .then()
             .statusCode(200)
-            .body("$", hasSize(0));
+            .body("items", hasSize(0))
+            .body("nextCursor", nullValue());
+    }
+
+    @Test
+    @DisplayName("Should page through donations with a cursor")
+    void shouldPageThroughDonationsWithCursor() {
+        Donation olderDonation = new Donation();
+        olderDonation.setCampaign(testCampaign);
+        olderDonation.setDonor(regularDonor);
+        olderDonation.setAmount(new BigDecimal("25.00"));
+        olderDonation.setDonationDate(LocalDate.now().minusDays(1));
+        olderDonation.setPaymentMethod(PaymentMethod.PAYPAL);
+        donationRepository.save(olderDonation);
+
+        String nextCursor = given()
+            .header("Authorization", "Bearer " + userToken)
+            .queryParam("limit", 1)
+        .when()
+            .get("/donations")
+        .then()
+            .statusCode(200)
+            .body("items", hasSize(1))
+            .body("items[0].id", equalTo(testDonation.getId().intValue()))
+            .body("nextCursor", notNullValue())
+            .extract().path("nextCursor");
+
+        given()
+            .header("Authorization", "Bearer " + userToken)
+            .queryParam("limit", 1)
+            .queryParam("cursor", nextCursor)
+        .when()
+            .get("/donations")
+        .then()
+            .statusCode(200)
+            .body("items", hasSize(1))
+            .body("items[0].amount", equalTo(25.0f))
+            .body("nextCursor", nullValue());
+    }
+
+    @Test
+    @DisplayName("Should return 400 for a malformed cursor")
+    void shouldReturn400ForMalformedCursor() {
+        given()
+            .header("Authorization", "Bearer " + userToken)
+            .queryParam("cursor", "not-a-cursor")
+        .when()
+            .get("/donations")
+        .then()
+            .statusCode(400);
+    }
+
+    @Test
+    @DisplayName("Should return all donations as a list when unpaged")
+    void shouldReturnAllDonationsWhenUnpaged() {
+        given()
+            .header("Authorization", "Bearer " + userToken)
+            .queryParam("unpaged", true)
+        .when()
+            .get("/donations")
+        .then()
+            .statusCode(200)
+            .body("$", hasSize(1))
+            .body("[0].amount", equalTo(100.0f));
+    }
+
+    @Test
+    @DisplayName("Should list donations with one query regardless of row count")
+    void shouldListDonationsWithOneQueryRegardlessOfRowCount() {
+        for (int i = 0; i < 5; i++) {
+            Donor donor = new Donor();
+            donor.setFirstName("Donor" + i);
+            donor.setLastName("Many");
+            donor.setEmail("donor" + i + "@example.com");
+            donor = donorRepository.save(donor);
+
+            Campaign campaign = new Campaign();
+            campaign.setName("Campaign " + i);
+            campaign.setGoalAmount(1000.0);
+            campaign.setRaisedAmount(0.0);
+            campaign.setStartDate(LocalDate.now());
+            campaign.setStatus(Status.ACTIVE);
+            campaign.setCreatedBy(adminDonor);
+            campaign = campaignRepository.save(campaign);
+
+            Donation donation = new Donation();
+            donation.setCampaign(campaign);
+            donation.setDonor(donor);
+            donation.setAmount(new BigDecimal("10.00"));
+            donation.setDonationDate(LocalDate.now());
+            donation.setPaymentMethod(PaymentMethod.CARD);
+            donationRepository.save(donation);
+        }
+
+        long authenticationStatements = statementsFor(() -> given()
+            .header("Authorization", "Bearer " + userToken)
+        .when()
+            .get("/actuator/health")
+        .then()
+            .statusCode(200));
+
+        assertThat(statementsFor(() -> given()
+            .header("Authorization", "Bearer " + userToken)
+            .queryParam("unpaged", true)
+        .when()
+            .get("/donations")
+        .then()
+            .statusCode(200)
+            .body("$", hasSize(6))))
+            .isEqualTo(authenticationStatements + VERSION_CHECK_STATEMENTS + 1);
+
+        assertThat(statementsFor(() -> given()
+            .header("Authorization", "Bearer " + userToken)
+        .when()
+            .get("/donations")
+        .then()
+            .statusCode(200)
+            .body("items", hasSize(6))))
+            .isEqualTo(authenticationStatements + VERSION_CHECK_STATEMENTS + 1);
+
+        assertThat(statementsFor(() -> given()
+            .header("Authorization", "Bearer " + userToken)
+            .queryParam("unpaged", true)
+            .queryParam("campaignId", testCampaign.getId())
+        .when()
+            .get("/donations")
+        .then()
+            .statusCode(200)
+            .body("$", hasSize(1))))
+            .isEqualTo(authenticationStatements + VERSION_CHECK_STATEMENTS + 1);
+
+        assertThat(statementsFor(() -> given()
+            .header("Authorization", "Bearer " + userToken)
+            .queryParam("unpaged", true)
+            .queryParam("donorId", regularDonor.getId())
+        .when()
+            .get("/donations")
+        .then()
+            .statusCode(200)
+            .body("$", hasSize(1))))
+            .isEqualTo(authenticationStatements + VERSION_CHECK_STATEMENTS + 1);
+    }
+
+    @Test
+    @DisplayName("Should answer unchanged donation polls with 304 until a donation is made")
+    void shouldAnswerUnchangedDonationPollsWithNotModified() {
+        String etag = given()
+            .header("Authorization", "Bearer " + userToken)
+            .queryParam("campaignId", testCampaign.getId())
+        .when()
+            .get("/donations")
+        .then()
+            .statusCode(200)
+            .extract().header("ETag");
+
+        List<String> vary = given()
+            .header("Authorization", "Bearer " + userToken)
+            .header("If-None-Match", etag)
+            .queryParam("campaignId", testCampaign.getId())
+        .when()
+            .get("/donations")
+        .then()
+            .statusCode(304)
+            .extract().headers().getValues("Vary");
+        assertThat(vary).contains("Accept");
+
+        given()
+            .header("Authorization", "Bearer " + userToken)
+            .contentType(ContentType.JSON)
+            .body(String.format("""
+                {
+                  "campaignId": %d,
+                  "donorId": %d,
+                  "amount": 25.00,
+                  "paymentMethod": "CARD"
+                }
+                """, testCampaign.getId(), regularDonor.getId()))
+        .when()
+            .post("/donations")
+        .then()
+            .statusCode(201);
+
+        given()
+            .header("Authorization", "Bearer " + userToken)
+            .header("If-None-Match", etag)
+            .queryParam("campaignId", testCampaign.getId())
+        .when()
+            .get("/donations")
+        .then()
+            .statusCode(200)
+            .body("items", hasSize(2));
+    }
+
+    @Test
+    @DisplayName("Should see donations made through another instance")
+    void shouldSeeDonationsFromAnotherInstance() {
+        String etag = given()
+            .header("Authorization", "Bearer " + userToken)
+            .queryParam("campaignId", testCampaign.getId())
+        .when()
+            .get("/donations")
+        .then()
+            .statusCode(200)
+            .extract().header("ETag");
+
+        Donation elsewhere = new Donation();
+        elsewhere.setCampaign(testCampaign);
+        elsewhere.setDonor(regularDonor);
+        elsewhere.setAmount(new BigDecimal("40.00"));
+        elsewhere.setDonationDate(LocalDate.now());
+        elsewhere.setPaymentMethod(PaymentMethod.CARD);
+        donationRepository.save(elsewhere);
+        new ResourceVersions(resourceVersionRepository).changed(Resource.DONATIONS);
+
+        given()
+            .header("Authorization", "Bearer " + userToken)
+            .header("If-None-Match", etag)
+            .queryParam("campaignId", testCampaign.getId())
+        .when()
+            .get("/donations")
+        .then()
+            .statusCode(200)
+            .header("ETag", not(equalTo(etag)))
+            .body("items", hasSize(2));
+    }
+
+    @Test
+    @DisplayName("Admin should export all donations as one JSON array")
+    void adminShouldExportAllDonations() {
+        given()
+            .header("Authorization", "Bearer " + adminToken)
+        .when()
+            .get("/donations/export")
+        .then()
+            .statusCode(200)
+            .contentType(ContentType.JSON)
+            .body("$", hasSize(1))
+            .body("[0].id", equalTo(testDonation.getId().intValue()))
+            .body("[0].campaignName", equalTo("Test Campaign"))
+            .body("[0].donorName", equalTo("Regular User"));
+    }
+
+    @Test
+    @DisplayName("Regular user should not be able to export donations")
+    void regularUserShouldNotExportDonations() {
+        given()
+            .header("Authorization", "Bearer " + userToken)
+        .when()
+            .get("/donations/export")
+        .then()
+            .statusCode(403);
+    }
+
+    @Test
+    @DisplayName("Should select and return only the requested donation fields")
+    void shouldReturnSparseDonationFields() {
+        List<String> queries = queriesFor(() -> given()
+            .header("Authorization", "Bearer " + userToken)
+            .queryParam("fields", "amount,donorName")
+            .queryParam("campaignId", testCampaign.getId())
+        .when()
+            .get("/donations")
+        .then()
+            .statusCode(200)
+            .body("items", hasSize(1))
+            .body("items[0].keySet()", contains("donorName", "amount"))
+            .body("items[0].donorName", equalTo("Regular User"))
+            .body("items[0].amount", equalTo(100.0f)));
+
+        assertThat(queries).filteredOn(query -> query.contains("FROM Donation d"))
+                .singleElement()
+                .satisfies(query -> assertThat(query).doesNotContain("message", "JOIN d.campaign"));
+    }
+
+    @Test
+    @DisplayName("Should negotiate CBOR, Smile, gzip and deflate, leaving small responses uncompressed")
+    void shouldNegotiateCompactEncodings() throws Exception {
+        donationRepository.saveAll(IntStream.range(0, 60).mapToObj(i -> {
+            Donation donation = new Donation();
+            donation.setCampaign(testCampaign);
+            donation.setDonor(regularDonor);
+            donation.setAmount(new BigDecimal("10.00"));
+            donation.setDonationDate(LocalDate.now().minusDays(1));
+            donation.setPaymentMethod(PaymentMethod.CARD);
+            donation.setMessage("Keep up the good work " + i);
+            return donation;
+        }).toList());
+
+        HttpResponse<byte[]> json = fetch("/donations?limit=100", "application/json", "identity");
+        assertThat(json.headers().firstValue("Content-Encoding")).isEmpty();
+        JsonNode expected = new JsonMapper().readTree(json.body());
+        assertThat(expected.get("items").size()).isEqualTo(61);
+
+        HttpResponse<byte[]> cbor = fetch("/donations?limit=100", "application/cbor", "identity");
+        assertThat(cbor.headers().firstValue("Content-Type")).hasValue("application/cbor");
+        assertThat(cbor.headers().firstValue("ETag")).isEqualTo(json.headers().firstValue("ETag"));
+        assertThat(cbor.headers().allValues("Vary")).contains("Accept");
+        assertSameDonations(new CBORMapper().readTree(cbor.body()), expected);
+        assertThat(cbor.body().length).isLessThan(json.body().length);
+
+        HttpResponse<byte[]> smile = fetch("/donations?limit=100", "application/x-jackson-smile", "identity");
+        assertThat(smile.headers().firstValue("Content-Type")).hasValue("application/x-jackson-smile");
+        assertSameDonations(new SmileMapper().readTree(smile.body()), expected);
+
+        HttpResponse<byte[]> gzipped = fetch("/donations?limit=100", "application/json", "gzip");
+        assertThat(gzipped.headers().firstValue("Content-Encoding")).hasValue("gzip");
+        assertThat(gzipped.body().length).isLessThan(json.body().length / 4);
+        try (GZIPInputStream body = new GZIPInputStream(new ByteArrayInputStream(gzipped.body()))) {
+            assertSameDonations(new JsonMapper().readTree(body), expected);
+        }
+
+        HttpResponse<byte[]> deflated = fetch("/donations?limit=100", "application/cbor", "deflate, gzip;q=0");
+        assertThat(deflated.headers().firstValue("Content-Encoding")).hasValue("deflate");
+        try (InflaterInputStream body = new InflaterInputStream(new ByteArrayInputStream(deflated.body()))) {
+            assertSameDonations(new CBORMapper().readTree(body), expected);
+        }
+
+        HttpResponse<byte[]> small = fetch("/donations/" + testDonation.getId(), "application/json", "gzip");
+        assertThat(small.statusCode()).isEqualTo(200);
+        assertThat(small.headers().firstValue("Content-Encoding")).isEmpty();
+    }
+
+    private void assertSameDonations(JsonNode actual, JsonNode expected) {
+        assertThat(actual.get("items").size()).isEqualTo(expected.get("items").size());
+        for (int i = 0; i < expected.get("items").size(); i++) {
+            JsonNode actualItem = actual.get("items").get(i);
+            JsonNode expectedItem = expected.get("items").get(i);
+            assertThat(actualItem.get("id").asLong()).isEqualTo(expectedItem.get("id").asLong());
+            assertThat(actualItem.get("amount").decimalValue()).isEqualByComparingTo(expectedItem.get("amount").decimalValue());
+            assertThat(actualItem.get("donationDate").asString()).isEqualTo(expectedItem.get("donationDate").asString());
+            assertThat(actualItem.get("message").asString()).isEqualTo(expectedItem.get("message").asString());
+        }
+    }
+
+    private HttpResponse<byte[]> fetch(String path, String accept, String acceptEncoding) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/v1" + path))
+                .header("Authorization", "Bearer " + userToken)
+                .header("Accept", accept)
+                .header("Accept-Encoding", acceptEncoding)
+                .build();
+        try (HttpClient client = HttpClient.newHttpClient()) {
+            HttpResponse<byte[]> response = client.send(request, HttpResponse.BodyHandlers.ofByteArray());
+            assertThat(response.statusCode()).isEqualTo(200);
+            return response;
+        }
     }
 }
@@ -0,0 +1,247 @@
+package hr.algebra.donfundy.controller;
+
+import hr.algebra.donfundy.domain.Campaign;
+import hr.algebra.donfundy.domain.Donor;
+import hr.algebra.donfundy.domain.User;
+import hr.algebra.donfundy.domain.enums.Role;
+import hr.algebra.donfundy.domain.enums.Status;
+import hr.algebra.donfundy.repository.CampaignRepository;
+import hr.algebra.donfundy.repository.DonorRepository;
+import hr.algebra.donfundy.repository.UserRepository;
+import hr.algebra.donfundy.security.CustomUserDetailsService;
+import hr.algebra.donfundy.security.JwtUtil;
+import hr.algebra.donfundy.support.BatchIds;
+import io.restassured.http.ContentType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import tools.jackson.databind.JsonNode;
+import tools.jackson.dataformat.smile.SmileMapper;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.stream.LongStream;
+
+import static io.restassured.RestAssured.given;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.*;
+
+@DisplayName("DonorController Integration Tests")
+class DonorControllerIntegrationTest extends BaseIntegrationTest {
+
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private DonorRepository donorRepository;
+    @Autowired
+    private CampaignRepository campaignRepository;
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+    @Autowired
+    private JwtUtil jwtUtil;
+    @Autowired
+    private CustomUserDetailsService userDetailsService;
+
+    private String userToken;
+
+    @BeforeEach
+    void setUp() {
+        User regularUser = new User();
+        regularUser.setEmail("user@example.com");
+        regularUser.setPasswordHash(passwordEncoder.encode("password"));
+        regularUser.setRole(Role.USER);
+        regularUser = userRepository.save(regularUser);
+
+        Donor regularDonor = new Donor();
+        regularDonor.setUser(regularUser);
+        regularDonor.setFirstName("Regular");
+        regularDonor.setLastName("User");
+        regularDonor.setEmail("user@example.com");
+        regularDonor.setPhoneNumber("+385 1 234 5678");
+        donorRepository.save(regularDonor);
+
+        Donor guestDonor = new Donor();
+        guestDonor.setFirstName("Guest");
+        guestDonor.setLastName("Anderson");
+        guestDonor.setEmail("guest@example.com");
+        donorRepository.save(guestDonor);
+
+        userToken = jwtUtil.generateToken(userDetailsService.loadUserByUsername(regularUser.getEmail()));
+    }
+
+    @Test
+    @DisplayName("Should select and return only the requested donor fields")
+    void shouldReturnSparseDonorFields() {
+        List<String> queries = queriesFor(() -> given()
+            .header("Authorization", "Bearer " + userToken)
+            .queryParam("fields", "lastName,id")
+        .when()
+            .get("/donors")
+        .then()
+            .statusCode(200)
+            .body("items", hasSize(2))
+            .body("items[0].keySet()", contains("id", "lastName"))
+            .body("items.lastName", contains("Anderson", "User")));
+
+        assertThat(queries).filteredOn(query -> query.contains("FROM Donor d"))
+                .singleElement()
+                .satisfies(query -> assertThat(query).doesNotContain("email", "phoneNumber"));
+
+        String nextCursor = given()
+            .header("Authorization", "Bearer " + userToken)
+            .queryParam("fields", "lastName")
+            .queryParam("limit", 1)
+        .when()
+            .get("/donors")
+        .then()
+            .statusCode(200)
+            .body("items[0].lastName", equalTo("Anderson"))
+            .extract().path("nextCursor");
+
+        given()
+            .header("Authorization", "Bearer " + userToken)
+            .queryParam("fields", "lastName,phoneNumber")
+            .queryParam("cursor", nextCursor)
+        .when()
+            .get("/donors")
+        .then()
+            .statusCode(200)
+            .body("items", hasSize(1))
+            .body("items[0].phoneNumber", equalTo("+385 1 234 5678"))
+            .body("nextCursor", nullValue());
+    }
+
+    @Test
+    @DisplayName("Should reject unknown donor fields")
+    void shouldRejectUnknownDonorFields() {
+        given()
+            .header("Authorization", "Bearer " + userToken)
+            .queryParam("fields", "passwordHash")
+        .when()
+            .get("/donors")
+        .then()
+            .statusCode(400);
+    }
+
+    @Test
+    @DisplayName("Should serve donors as Smile when asked for it")
+    void shouldServeDonorsAsSmile() {
+        byte[] body = given()
+            .header("Authorization", "Bearer " + userToken)
+            .accept("application/x-jackson-smile")
+        .when()
+            .get("/donors")
+        .then()
+            .statusCode(200)
+            .contentType("application/x-jackson-smile")
+            .extract().asByteArray();
+
+        JsonNode page = new SmileMapper().readTree(body);
+        assertThat(page.get("items").findValuesAsString("lastName")).containsExactly("Anderson", "User");
+    }
+
+    @Test
+    @DisplayName("Should fetch donors by IDs in request order and reject oversized batches")
+    void shouldFetchDonorsByIds() {
+        Long guestId = donorRepository.findByEmail("guest@example.com").orElseThrow().getId();
+        Long regularId = donorRepository.findByEmail("user@example.com").orElseThrow().getId();
+
+        given()
+            .header("Authorization", "Bearer " + userToken)
+            .queryParam("ids", regularId + "," + guestId + ",999999")
+        .when()
+            .get("/donors")
+        .then()
+            .statusCode(200)
+            .body("firstName", contains("Regular", "Guest"));
+
+        given()
+            .header("Authorization", "Bearer " + userToken)
+            .queryParam("ids", LongStream.rangeClosed(1, BatchIds.MAX_IDS + 1).boxed().toList())
+        .when()
+            .get("/donors")
+        .then()
+            .statusCode(400);
+    }
+
+    @Test
+    @DisplayName("Should summarize a donor's giving in one query")
+    void shouldSummarizeDonorGiving() {
+        Donor guest = donorRepository.findByEmail("guest@example.com").orElseThrow();
+        Long firstCampaign = createCampaign("First Campaign");
+        Long secondCampaign = createCampaign("Second Campaign");
+        donate(firstCampaign, guest.getId(), "25.00");
+        donate(firstCampaign, guest.getId(), "15.50");
+        donate(secondCampaign, guest.getId(), "100.00");
+
+        long authenticationStatements = statementsFor(() -> given()
+            .header("Authorization", "Bearer " + userToken)
+        .when()
+            .get("/actuator/health")
+        .then()
+            .statusCode(200));
+
+        assertThat(statementsFor(() -> given()
+            .header("Authorization", "Bearer " + userToken)
+        .when()
+            .get("/donors/{id}/summary", guest.getId())
+        .then()
+            .statusCode(200)
+            .body("donorId", equalTo(guest.getId().intValue()))
+            .body("totalAmount", equalTo(140.5f))
+            .body("donationCount", equalTo(3))
+            .body("campaignCount", equalTo(2))
+            .body("firstDonationDate", equalTo(LocalDate.now().toString()))
+            .body("lastDonationDate", equalTo(LocalDate.now().toString()))))
+            .isEqualTo(authenticationStatements + 1);
+
+        Long regularId = donorRepository.findByEmail("user@example.com").orElseThrow().getId();
+        given()
+            .header("Authorization", "Bearer " + userToken)
+        .when()
+            .get("/donors/{id}/summary", regularId)
+        .then()
+            .statusCode(200)
+            .body("totalAmount", equalTo(0))
+            .body("donationCount", equalTo(0))
+            .body("campaignCount", equalTo(0))
+            .body("firstDonationDate", nullValue());
+
+        given()
+            .header("Authorization", "Bearer " + userToken)
+        .when()
+            .get("/donors/999999/summary")
+        .then()
+            .statusCode(404);
+    }
+
+    private Long createCampaign(String name) {
+        Campaign campaign = new Campaign();
+        campaign.setName(name);
+        campaign.setGoalAmount(10_000.0);
+        campaign.setRaisedAmount(0.0);
+        campaign.setStartDate(LocalDate.now());
+        campaign.setStatus(Status.ACTIVE);
+        return campaignRepository.save(campaign).getId();
+    }
+
+    private void donate(Long campaignId, Long donorId, String amount) {
+        given()
+            .header("Authorization", "Bearer " + userToken)
+            .contentType(ContentType.JSON)
+            .body(String.format("""
+                {
+                  "campaignId": %d,
+                  "donorId": %d,
+                  "amount": %s,
+                  "paymentMethod": "CARD"
+                }
+                """, campaignId, donorId, amount))
+        .when()
+            .post("/donations")
+        .then()
+            .statusCode(201);
+    }
+}
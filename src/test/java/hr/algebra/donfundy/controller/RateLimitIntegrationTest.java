@@ -0,0 +1,154 @@
+package hr.algebra.donfundy.controller;
+
+import hr.algebra.donfundy.domain.User;
+import hr.algebra.donfundy.domain.enums.Role;
+import hr.algebra.donfundy.repository.UserRepository;
+import hr.algebra.donfundy.security.CustomUserDetailsService;
+import hr.algebra.donfundy.security.JwtUtil;
+import io.restassured.http.ContentType;
+import io.restassured.response.ValidatableResponse;
+import io.restassured.specification.RequestSpecification;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.TestPropertySource;
+
+import static io.restassured.RestAssured.given;
+import static org.hamcrest.Matchers.*;
+
+@DisplayName("Rate limit Integration Tests")
+@TestPropertySource(properties = {
+        "rate-limits.groups[0].name=auth",
+        "rate-limits.groups[0].paths=/auth/login",
+        "rate-limits.groups[0].capacity=2",
+        "rate-limits.groups[0].refill-per-second=0.001",
+        "rate-limits.groups[1].name=donations",
+        "rate-limits.groups[1].paths=/donations,/donations/**",
+        "rate-limits.groups[1].capacity=3",
+        "rate-limits.groups[1].refill-per-second=0.001"
+})
+class RateLimitIntegrationTest extends BaseIntegrationTest {
+
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+    @Autowired
+    private JwtUtil jwtUtil;
+    @Autowired
+    private CustomUserDetailsService userDetailsService;
+
+    @Test
+    @DisplayName("Should reject a user over budget with 429 and Retry-After, without affecting other users")
+    void shouldLimitPerUser() {
+        String greedy = tokenFor(createUser("greedy@example.com"));
+        String other = tokenFor(createUser("other@example.com"));
+
+        for (int i = 0; i < 3; i++) {
+            given()
+                .header("Authorization", "Bearer " + greedy)
+            .when()
+                .get("/donations")
+            .then()
+                .statusCode(200);
+        }
+
+        given()
+            .header("Authorization", "Bearer " + greedy)
+        .when()
+            .get("/donations/export")
+        .then()
+            .statusCode(429)
+            .header("Retry-After", notNullValue())
+            .header("Retry-After", not("0"))
+            .body("message", equalTo("Too many requests. Please slow down and try again shortly."));
+
+        given()
+            .header("Authorization", "Bearer " + other)
+        .when()
+            .get("/donations")
+        .then()
+            .statusCode(200);
+
+        given()
+            .header("Authorization", "Bearer " + greedy)
+        .when()
+            .get("/actuator/health")
+        .then()
+            .statusCode(200);
+    }
+
+    @Test
+    @DisplayName("Should limit anonymous requests by address")
+    void shouldLimitAnonymousRequestsByAddress() {
+        createUser("user@example.com");
+
+        for (int i = 0; i < 2; i++) {
+            attemptLogin().statusCode(200);
+        }
+
+        attemptLogin()
+            .statusCode(429)
+            .header("Retry-After", notNullValue());
+    }
+
+    @Test
+    @DisplayName("Should limit anonymous requests by the client address forwarded by a trusted proxy")
+    void shouldLimitByForwardedClientAddress() {
+        createUser("user@example.com");
+
+        for (int i = 0; i < 2; i++) {
+            attemptLogin("203.0.113.10").statusCode(200);
+        }
+        attemptLogin("203.0.113.10").statusCode(429);
+
+        attemptLogin("203.0.113.11").statusCode(200);
+    }
+
+    @Test
+    @DisplayName("Should ignore addresses forwarded by an untrusted peer")
+    void shouldIgnoreAddressesForwardedByUntrustedPeer() {
+        createUser("user@example.com");
+
+        // The test client is a trusted proxy relaying for 198.51.100.20, which is not, so what that peer
+        // claims to forward for must not pick the bucket.
+        attemptLogin("198.51.100.1, 198.51.100.20").statusCode(200);
+        attemptLogin("198.51.100.2, 198.51.100.20").statusCode(200);
+        attemptLogin("198.51.100.3, 198.51.100.20").statusCode(429);
+    }
+
+    private User createUser(String email) {
+        User user = new User();
+        user.setEmail(email);
+        user.setPasswordHash(passwordEncoder.encode("password"));
+        user.setRole(Role.USER);
+        return userRepository.save(user);
+    }
+
+    private String tokenFor(User user) {
+        return jwtUtil.generateToken(userDetailsService.loadUserByUsername(user.getEmail()));
+    }
+
+    private ValidatableResponse attemptLogin() {
+        return attemptLogin(null);
+    }
+
+    private ValidatableResponse attemptLogin(String forwardedFor) {
+        RequestSpecification request = given();
+        if (forwardedFor != null) {
+            request.header("X-Forwarded-For", forwardedFor);
+        }
+        return request
+            .contentType(ContentType.JSON)
+            .body("""
+                {
+                  "email": "user@example.com",
+                  "password": "password"
+                }
+                """)
+        .when()
+            .post("/auth/login")
+        .then();
+    }
+}
@@ -0,0 +1,215 @@
+package hr.algebra.donfundy.controller;
+
+import hr.algebra.donfundy.domain.Donor;
+import hr.algebra.donfundy.domain.User;
+import hr.algebra.donfundy.domain.enums.Role;
+import hr.algebra.donfundy.repository.DonorRepository;
+import hr.algebra.donfundy.repository.UserRepository;
+import hr.algebra.donfundy.security.CustomUserDetailsService;
+import hr.algebra.donfundy.security.JwtUtil;
+import io.restassured.http.ContentType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.LocalDate;
+
+import static io.restassured.RestAssured.given;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+
+@DisplayName("StatsController Integration Tests")
+class StatsControllerIntegrationTest extends BaseIntegrationTest {
+
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private DonorRepository donorRepository;
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+    @Autowired
+    private JwtUtil jwtUtil;
+    @Autowired
+    private CustomUserDetailsService userDetailsService;
+
+    private String adminToken;
+    private String userToken;
+    private Donor adminDonor;
+
+    @BeforeEach
+    void setUp() {
+        User adminUser = new User();
+        adminUser.setEmail("admin@example.com");
+        adminUser.setPasswordHash(passwordEncoder.encode("password"));
+        adminUser.setRole(Role.ADMIN);
+        adminUser = userRepository.save(adminUser);
+
+        adminDonor = new Donor();
+        adminDonor.setUser(adminUser);
+        adminDonor.setFirstName("Admin");
+        adminDonor.setLastName("User");
+        adminDonor.setEmail("admin@example.com");
+        adminDonor = donorRepository.save(adminDonor);
+
+        User regularUser = new User();
+        regularUser.setEmail("user@example.com");
+        regularUser.setPasswordHash(passwordEncoder.encode("password"));
+        regularUser.setRole(Role.USER);
+        regularUser = userRepository.save(regularUser);
+
+        adminToken = jwtUtil.generateToken(userDetailsService.loadUserByUsername(adminUser.getEmail()));
+        userToken = jwtUtil.generateToken(userDetailsService.loadUserByUsername(regularUser.getEmail()));
+    }
+
+    @Test
+    @DisplayName("Should keep the summary in step with campaign and donation writes")
+    void shouldKeepSummaryInStepWithWrites() {
+        Integer campaignId = given()
+            .header("Authorization", "Bearer " + adminToken)
+            .contentType(ContentType.JSON)
+            .body(String.format("""
+                {
+                  "name": "Stats Campaign",
+                  "status": "ACTIVE",
+                  "goalAmount": 100.0,
+                  "startDate": "%s"
+                }
+                """, LocalDate.now()))
+        .when()
+            .post("/campaigns")
+        .then()
+            .statusCode(201)
+            .extract().path("id");
+
+        given()
+            .header("Authorization", "Bearer " + adminToken)
+        .when()
+            .get("/stats/summary")
+        .then()
+            .statusCode(200)
+            .body("campaignCount", equalTo(1))
+            .body("activeCampaignCount", equalTo(1))
+            .body("donationCount", equalTo(0))
+            .body("totalRaised", equalTo(0.0f));
+
+        given()
+            .header("Authorization", "Bearer " + adminToken)
+            .contentType(ContentType.JSON)
+            .body(String.format("""
+                {
+                  "campaignId": %d,
+                  "donorId": %d,
+                  "amount": 100.00,
+                  "paymentMethod": "CARD"
+                }
+                """, campaignId, adminDonor.getId()))
+        .when()
+            .post("/donations")
+        .then()
+            .statusCode(201);
+
+        given()
+            .header("Authorization", "Bearer " + adminToken)
+        .when()
+            .get("/stats/summary")
+        .then()
+            .statusCode(200)
+            .body("campaignCount", equalTo(1))
+            .body("activeCampaignCount", equalTo(0))
+            .body("donationCount", equalTo(1))
+            .body("totalRaised", equalTo(100.0f));
+
+        given()
+            .header("Authorization", "Bearer " + adminToken)
+        .when()
+            .delete("/campaigns/{id}", campaignId)
+        .then()
+            .statusCode(204);
+
+        given()
+            .header("Authorization", "Bearer " + adminToken)
+        .when()
+            .get("/stats/summary")
+        .then()
+            .statusCode(200)
+            .body("campaignCount", equalTo(0))
+            .body("activeCampaignCount", equalTo(0))
+            .body("donationCount", equalTo(0))
+            .body("totalRaised", equalTo(0.0f));
+    }
+
+    @Test
+    @DisplayName("Should count donations and donors created by a bulk import")
+    void shouldCountBulkImportedDonationsAndDonors() {
+        Integer campaignId = given()
+            .header("Authorization", "Bearer " + adminToken)
+            .contentType(ContentType.JSON)
+            .body(String.format("""
+                {
+                  "name": "Bulk Campaign",
+                  "status": "ACTIVE",
+                  "goalAmount": 1000.0,
+                  "startDate": "%s"
+                }
+                """, LocalDate.now()))
+        .when()
+            .post("/campaigns")
+        .then()
+            .statusCode(201)
+            .extract().path("id");
+
+        String csv = "campaignId,amount,donorEmail,donorFirstName,donorLastName,paymentMethod,message\n" +
+                campaignId + ",40.00,new.donor@example.com,New,Donor,CARD,\n" +
+                campaignId + ",60.00,anonymous,,,CARD,\n";
+
+        given()
+            .header("Authorization", "Bearer " + adminToken)
+            .multiPart("file", "donations.csv", csv.getBytes(), "text/csv")
+        .when()
+            .post("/bulk-donations/upload")
+        .then()
+            .statusCode(201);
+
+        given()
+            .header("Authorization", "Bearer " + adminToken)
+        .when()
+            .get("/stats/summary")
+        .then()
+            .statusCode(200)
+            .body("donationCount", equalTo(2))
+            .body("donorCount", equalTo(2))
+            .body("totalRaised", equalTo(100.0f));
+    }
+
+    @Test
+    @DisplayName("Should read the summary with a single query")
+    void shouldReadSummaryWithSingleQuery() {
+        long authenticationStatements = statementsFor(() -> given()
+            .header("Authorization", "Bearer " + adminToken)
+        .when()
+            .get("/actuator/health")
+        .then()
+            .statusCode(200));
+
+        assertThat(statementsFor(() -> given()
+            .header("Authorization", "Bearer " + adminToken)
+        .when()
+            .get("/stats/summary")
+        .then()
+            .statusCode(200)))
+            .isEqualTo(authenticationStatements + 1);
+    }
+
+    @Test
+    @DisplayName("Regular user should not be able to read summary statistics")
+    void regularUserShouldNotReadSummary() {
+        given()
+            .header("Authorization", "Bearer " + userToken)
+        .when()
+            .get("/stats/summary")
+        .then()
+            .statusCode(403);
+    }
+}
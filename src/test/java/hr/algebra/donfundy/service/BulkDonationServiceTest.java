@@ -2,10 +2,13 @@ package hr.algebra.donfundy.service;
 
 import hr.algebra.donfundy.domain.Campaign;
 import hr.algebra.donfundy.domain.Donor;
+import hr.algebra.donfundy.domain.enums.PaymentMethod;
 import hr.algebra.donfundy.domain.enums.Status;
 import hr.algebra.donfundy.dto.BulkDonationResult;
 import hr.algebra.donfundy.repository.CampaignRepository;
 import hr.algebra.donfundy.repository.DonorRepository;
+import hr.algebra.donfundy.support.CampaignEventBroadcaster;
+import hr.algebra.donfundy.support.ResourceVersions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -18,6 +21,7 @@ import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.mock.web.MockMultipartFile;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.util.Optional;
 
@@ -38,6 +42,21 @@ class BulkDonationServiceTest {
     @Mock
     private CampaignRepository campaignRepository;
 
+    @Mock
+    private ResourceVersions resourceVersions;
+
+    @Mock
+    private StatsService statsService;
+
+    @Mock
+    private LeaderboardService leaderboardService;
+
+    @Mock
+    private DonationRollupService donationRollupService;
+
+    @Mock
+    private CampaignEventBroadcaster campaignEventBroadcaster;
+
     @InjectMocks
     private BulkDonationService bulkDonationService;
 
@@ -105,6 +124,74 @@ class BulkDonationServiceTest {
         assertThat(result.getTotalRows()).isEqualTo(2);
         verify(jdbcTemplate, times(1)).batchUpdate(anyString(), any(BatchPreparedStatementSetter.class));
         verify(campaignRepository, atLeastOnce()).save(any(Campaign.class));
+        verify(leaderboardService).donationsAdded(1L, 1L, new BigDecimal("100.50"), 1);
+        verify(leaderboardService).donationsAdded(1L, 2L, new BigDecimal("50.00"), 1);
+    }
+
+    @Test
+    @DisplayName("Should add each donor's combined donations to the campaign leaderboard once")
+    void shouldCombineDonorTotalsForLeaderboard() {
+        // Given
+        String csvContent = """
+                campaignId,amount,donorEmail,donorFirstName,donorLastName,paymentMethod,message
+                1,100.00,john@example.com,John,Doe,CARD,
+                1,25.00,john@example.com,John,Doe,CARD,
+                """;
+
+        MultipartFile file = new MockMultipartFile(
+                "file",
+                "donations.csv",
+                "text/csv",
+                csvContent.getBytes()
+        );
+
+        when(campaignRepository.findById(1L)).thenReturn(Optional.of(testCampaign));
+        when(donorRepository.findByEmail("anonymous@donfundy.com")).thenReturn(Optional.of(anonymousDonor));
+        when(donorRepository.findByEmail("john@example.com")).thenReturn(Optional.of(testDonor));
+        when(jdbcTemplate.batchUpdate(anyString(), any(BatchPreparedStatementSetter.class)))
+                .thenReturn(new int[]{1, 1});
+        when(campaignRepository.save(any(Campaign.class))).thenReturn(testCampaign);
+
+        // When
+        bulkDonationService.processBulkDonations(file);
+
+        // Then
+        verify(leaderboardService).donationsAdded(1L, 1L, new BigDecimal("125.00"), 2);
+        verifyNoMoreInteractions(leaderboardService);
+    }
+
+    @Test
+    @DisplayName("Should add bulk donations to the daily rollup once per payment method")
+    void shouldCombineDailyRollupsPerPaymentMethod() {
+        // Given
+        String csvContent = """
+                campaignId,amount,donorEmail,donorFirstName,donorLastName,paymentMethod,message
+                1,100.00,john@example.com,John,Doe,CARD,
+                1,25.00,anonymous,,,CARD,
+                1,40.00,john@example.com,John,Doe,PAYPAL,
+                """;
+
+        MultipartFile file = new MockMultipartFile(
+                "file",
+                "donations.csv",
+                "text/csv",
+                csvContent.getBytes()
+        );
+
+        when(campaignRepository.findById(1L)).thenReturn(Optional.of(testCampaign));
+        when(donorRepository.findByEmail("anonymous@donfundy.com")).thenReturn(Optional.of(anonymousDonor));
+        when(donorRepository.findByEmail("john@example.com")).thenReturn(Optional.of(testDonor));
+        when(jdbcTemplate.batchUpdate(anyString(), any(BatchPreparedStatementSetter.class)))
+                .thenReturn(new int[]{1, 1, 1});
+        when(campaignRepository.save(any(Campaign.class))).thenReturn(testCampaign);
+
+        // When
+        bulkDonationService.processBulkDonations(file);
+
+        // Then
+        verify(donationRollupService).donationsAdded(1L, LocalDate.now(), PaymentMethod.CARD, new BigDecimal("125.00"), 2);
+        verify(donationRollupService).donationsAdded(1L, LocalDate.now(), PaymentMethod.PAYPAL, new BigDecimal("40.00"), 1);
+        verifyNoMoreInteractions(donationRollupService);
     }
 
     @Test
@@ -300,6 +387,7 @@ class BulkDonationServiceTest {
         // Then
         assertThat(result.getSuccessCount()).isEqualTo(2);
         verify(campaignRepository, atLeastOnce()).save(any(Campaign.class));
+        verify(campaignEventBroadcaster).publish(testCampaign);
     }
 
     @Test
@@ -2,15 +2,21 @@ package hr.algebra.donfundy.service;
 
 import hr.algebra.donfundy.domain.Campaign;
 import hr.algebra.donfundy.domain.Donor;
-import hr.algebra.donfundy.domain.User;
 import hr.algebra.donfundy.domain.enums.Status;
 import hr.algebra.donfundy.dto.CampaignRequest;
 import hr.algebra.donfundy.dto.CampaignResponse;
+import hr.algebra.donfundy.dto.CursorPage;
 import hr.algebra.donfundy.exception.BusinessException;
 import hr.algebra.donfundy.exception.ResourceNotFoundException;
+import hr.algebra.donfundy.exception.ValidationException;
 import hr.algebra.donfundy.repository.CampaignRepository;
 import hr.algebra.donfundy.repository.DonorRepository;
-import hr.algebra.donfundy.repository.UserRepository;
+import hr.algebra.donfundy.repository.SparseQuery;
+import hr.algebra.donfundy.repository.SparseQueryRepository;
+import hr.algebra.donfundy.security.CurrentUser;
+import hr.algebra.donfundy.support.CampaignEventBroadcaster;
+import hr.algebra.donfundy.support.KeysetCursor;
+import hr.algebra.donfundy.support.ResourceVersions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -18,13 +24,12 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.security.core.Authentication;
-import org.springframework.security.core.context.SecurityContext;
-import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.data.domain.Limit;
 
 import java.time.LocalDate;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -40,36 +45,35 @@ class CampaignServiceTest {
     private CampaignRepository campaignRepository;
 
     @Mock
-    private UserRepository userRepository;
+    private DonorRepository donorRepository;
 
     @Mock
-    private DonorRepository donorRepository;
+    private ResourceVersions resourceVersions;
+
+    @Mock
+    private StatsService statsService;
+
+    @Mock
+    private SparseQueryRepository sparseQueryRepository;
 
     @Mock
-    private SecurityContext securityContext;
+    private CampaignEventBroadcaster campaignEventBroadcaster;
 
     @Mock
-    private Authentication authentication;
+    private CurrentUser currentUser;
 
     @InjectMocks
     private CampaignService campaignService;
 
     private Campaign testCampaign;
     private Donor testDonor;
-    private User testUser;
     private CampaignRequest testRequest;
 
     @BeforeEach
     void setUp() {
-        // Setup test user
-        testUser = new User();
-        testUser.setId(1L);
-        testUser.setEmail("test@example.com");
-
         // Setup test donor
         testDonor = new Donor();
         testDonor.setId(1L);
-        testDonor.setUser(testUser);
         testDonor.setFirstName("Test");
         testDonor.setLastName("Donor");
         testDonor.setEmail("test@example.com");
@@ -94,9 +98,6 @@ class CampaignServiceTest {
         testRequest.setStartDate(LocalDate.now());
         testRequest.setEndDate(LocalDate.now().plusDays(30));
         testRequest.setStatus(Status.ACTIVE);
-
-        // Setup security context
-        SecurityContextHolder.setContext(securityContext);
     }
 
     @Test
@@ -137,7 +138,7 @@ class CampaignServiceTest {
     @DisplayName("Should find campaign by ID")
     void shouldFindCampaignById() {
         // Given
-        when(campaignRepository.findById(1L)).thenReturn(Optional.of(testCampaign));
+        when(campaignRepository.findWithCreatorById(1L)).thenReturn(Optional.of(testCampaign));
 
         // When
         CampaignResponse result = campaignService.findById(1L);
@@ -146,29 +147,27 @@ class CampaignServiceTest {
         assertThat(result).isNotNull();
         assertThat(result.getId()).isEqualTo(1L);
         assertThat(result.getName()).isEqualTo("Test Campaign");
-        verify(campaignRepository, times(1)).findById(1L);
+        verify(campaignRepository, times(1)).findWithCreatorById(1L);
     }
 
     @Test
     @DisplayName("Should throw exception when campaign not found")
     void shouldThrowExceptionWhenCampaignNotFound() {
         // Given
-        when(campaignRepository.findById(999L)).thenReturn(Optional.empty());
+        when(campaignRepository.findWithCreatorById(999L)).thenReturn(Optional.empty());
 
         // When & Then
         assertThatThrownBy(() -> campaignService.findById(999L))
                 .isInstanceOf(ResourceNotFoundException.class);
-        verify(campaignRepository, times(1)).findById(999L);
+        verify(campaignRepository, times(1)).findWithCreatorById(999L);
     }
 
     @Test
     @DisplayName("Should create campaign successfully")
     void shouldCreateCampaignSuccessfully() {
         // Given
-        when(securityContext.getAuthentication()).thenReturn(authentication);
-        when(authentication.getName()).thenReturn("test@example.com");
-        when(userRepository.findByEmail("test@example.com")).thenReturn(Optional.of(testUser));
-        when(donorRepository.findByUserId(1L)).thenReturn(Optional.of(testDonor));
+        when(currentUser.donorId()).thenReturn(1L);
+        when(donorRepository.findById(1L)).thenReturn(Optional.of(testDonor));
         when(campaignRepository.save(any(Campaign.class))).thenReturn(testCampaign);
 
         // When
@@ -191,7 +190,7 @@ class CampaignServiceTest {
                 .isInstanceOf(BusinessException.class);
 
         verify(campaignRepository, never()).save(any(Campaign.class));
-        verifyNoInteractions(userRepository, donorRepository);
+        verifyNoInteractions(currentUser, donorRepository);
     }
 
     @Test
@@ -199,10 +198,7 @@ class CampaignServiceTest {
     void shouldUpdateCampaignSuccessfully() {
         // Given
         when(campaignRepository.findById(1L)).thenReturn(Optional.of(testCampaign));
-        when(securityContext.getAuthentication()).thenReturn(authentication);
-        when(authentication.getName()).thenReturn("test@example.com");
-        when(userRepository.findByEmail("test@example.com")).thenReturn(Optional.of(testUser));
-        when(donorRepository.findByUserId(1L)).thenReturn(Optional.of(testDonor));
+        when(currentUser.donorId()).thenReturn(1L);
         when(campaignRepository.save(any(Campaign.class))).thenReturn(testCampaign);
 
         testRequest.setName("Updated Campaign");
@@ -213,6 +209,20 @@ class CampaignServiceTest {
         // Then
         assertThat(result).isNotNull();
         verify(campaignRepository, times(1)).save(any(Campaign.class));
+        verifyNoInteractions(donorRepository);
+    }
+
+    @Test
+    @DisplayName("Should reject updating another donor's campaign")
+    void shouldRejectUpdatingAnotherDonorsCampaign() {
+        // Given
+        when(campaignRepository.findById(1L)).thenReturn(Optional.of(testCampaign));
+        when(currentUser.donorId()).thenReturn(2L);
+
+        // When & Then
+        assertThatThrownBy(() -> campaignService.update(1L, testRequest))
+                .isInstanceOf(BusinessException.class);
+        verify(campaignRepository, never()).save(any(Campaign.class));
     }
 
     @Test
@@ -220,16 +230,16 @@ class CampaignServiceTest {
     void shouldDeleteCampaignSuccessfully() {
         // Given
         when(campaignRepository.findById(1L)).thenReturn(Optional.of(testCampaign));
-        when(securityContext.getAuthentication()).thenReturn(authentication);
-        when(authentication.getName()).thenReturn("test@example.com");
-        when(userRepository.findByEmail("test@example.com")).thenReturn(Optional.of(testUser));
-        when(donorRepository.findByUserId(1L)).thenReturn(Optional.of(testDonor));
+        when(currentUser.donorId()).thenReturn(1L);
 
         // When
         campaignService.delete(1L);
 
         // Then
         verify(campaignRepository, times(1)).delete(testCampaign);
+        verify(statsService).campaignDeleted(testCampaign);
+        verify(campaignEventBroadcaster).close(1L);
+        verifyNoInteractions(donorRepository);
     }
 
     @Test
@@ -244,6 +254,7 @@ class CampaignServiceTest {
 
         // Then
         verify(campaignRepository, times(1)).save(any(Campaign.class));
+        verify(campaignEventBroadcaster).publish(testCampaign);
     }
 
     @Test
@@ -266,6 +277,7 @@ class CampaignServiceTest {
 
         // Then
         verify(campaignRepository, times(1)).save(any(Campaign.class));
+        verify(statsService).campaignChanged(Status.ACTIVE, Status.COMPLETED, 100.0);
     }
 
     @Test
@@ -274,7 +286,7 @@ class CampaignServiceTest {
         // Given
         testCampaign.setRaisedAmount(500.0);
         testCampaign.setGoalAmount(1000.0);
-        when(campaignRepository.findById(1L)).thenReturn(Optional.of(testCampaign));
+        when(campaignRepository.findWithCreatorById(1L)).thenReturn(Optional.of(testCampaign));
 
         // When
         CampaignResponse result = campaignService.findById(1L);
@@ -282,4 +294,178 @@ class CampaignServiceTest {
         // Then
         assertThat(result.getProgressPercentage()).isEqualTo(50.0);
     }
+
+    @Test
+    @DisplayName("Should return first page of campaigns with next cursor")
+    void shouldReturnFirstPageOfCampaignsWithNextCursor() {
+        // Given
+        Campaign olderCampaign = new Campaign();
+        olderCampaign.setId(2L);
+        olderCampaign.setName("Older Campaign");
+        olderCampaign.setGoalAmount(500.0);
+        olderCampaign.setStartDate(LocalDate.now().minusDays(10));
+        olderCampaign.setStatus(Status.ACTIVE);
+        when(campaignRepository.findAllByOrderByStartDateDescIdDesc(Limit.of(2)))
+                .thenReturn(List.of(testCampaign, olderCampaign));
+
+        // When
+        CursorPage<CampaignResponse> result = campaignService.findPage(null, null, 1);
+
+        // Then
+        assertThat(result.getItems()).hasSize(1);
+        assertThat(result.getItems().get(0).getId()).isEqualTo(1L);
+        assertThat(KeysetCursor.decode(result.getNextCursor()))
+                .isEqualTo(KeysetCursor.of(testCampaign.getStartDate(), 1L));
+    }
+
+    @Test
+    @DisplayName("Should seek past cursor when fetching next page of campaigns by status")
+    void shouldSeekPastCursorForCampaignsByStatus() {
+        // Given
+        LocalDate startDate = LocalDate.of(2024, 1, 15);
+        String cursor = KeysetCursor.of(startDate, 7L).encode();
+        when(campaignRepository.findPageByStatusAfter(Status.ACTIVE, startDate, 7L, Limit.of(11)))
+                .thenReturn(List.of(testCampaign));
+
+        // When
+        CursorPage<CampaignResponse> result = campaignService.findPage(Status.ACTIVE, cursor, 10);
+
+        // Then
+        assertThat(result.getItems()).hasSize(1);
+        assertThat(result.getNextCursor()).isNull();
+    }
+
+    @Test
+    @DisplayName("Should reject malformed campaign cursor")
+    void shouldRejectMalformedCampaignCursor() {
+        assertThatThrownBy(() -> campaignService.findPage(null, "bm8tc2VwYXJhdG9y", 10))
+                .isInstanceOf(ValidationException.class);
+        verifyNoInteractions(campaignRepository);
+    }
+
+    @Test
+    @DisplayName("Should find current user's campaigns with a creator query")
+    void shouldFindCurrentUsersCampaignsWithCreatorQuery() {
+        // Given
+        when(currentUser.donorId()).thenReturn(1L);
+        when(campaignRepository.findByCreatedById(1L)).thenReturn(List.of(testCampaign));
+
+        // When
+        List<CampaignResponse> result = campaignService.findByCurrentUser();
+
+        // Then
+        assertThat(result).hasSize(1);
+        assertThat(result.get(0).getCreatedById()).isEqualTo(1L);
+        verify(campaignRepository, never()).findAll();
+    }
+
+    @Test
+    @DisplayName("Should page current user's campaigns from cursor")
+    void shouldPageCurrentUsersCampaignsFromCursor() {
+        // Given
+        LocalDate startDate = LocalDate.of(2024, 6, 1);
+        String cursor = KeysetCursor.of(startDate, 5L).encode();
+        when(currentUser.donorId()).thenReturn(1L);
+        when(campaignRepository.findPageByCreatedByIdAfter(1L, startDate, 5L, Limit.of(21)))
+                .thenReturn(List.of(testCampaign));
+
+        // When
+        CursorPage<CampaignResponse> result = campaignService.findPageByCurrentUser(cursor, 20);
+
+        // Then
+        assertThat(result.getItems()).hasSize(1);
+        assertThat(result.getNextCursor()).isNull();
+    }
+
+    @Test
+    @DisplayName("Should return search hits in rank order with a rank cursor")
+    void shouldReturnSearchHitsInRankOrder() {
+        // Given
+        Campaign otherCampaign = new Campaign();
+        otherCampaign.setId(2L);
+        otherCampaign.setName("Other Campaign");
+        otherCampaign.setGoalAmount(500.0);
+        otherCampaign.setStartDate(LocalDate.now());
+        otherCampaign.setStatus(Status.ACTIVE);
+        when(campaignRepository.search("water", 3))
+                .thenReturn(List.of(new Hit(2L, 0.6f), new Hit(1L, 0.3f), new Hit(3L, 0.1f)));
+        when(campaignRepository.findByIdIn(List.of(2L, 1L))).thenReturn(List.of(testCampaign, otherCampaign));
+
+        // When
+        CursorPage<CampaignResponse> result = campaignService.search("water", null, 2);
+
+        // Then
+        assertThat(result.getItems()).extracting(CampaignResponse::getId).containsExactly(2L, 1L);
+        assertThat(KeysetCursor.decode(result.getNextCursor())).isEqualTo(KeysetCursor.of(0.3f, 1L));
+    }
+
+    @Test
+    @DisplayName("Should skip search hits whose campaign was deleted meanwhile")
+    void shouldSkipSearchHitsDeletedBeforeLoading() {
+        // Given
+        when(campaignRepository.search("water", 3))
+                .thenReturn(List.of(new Hit(1L, 0.6f), new Hit(2L, 0.3f), new Hit(3L, 0.1f)));
+        when(campaignRepository.findByIdIn(List.of(1L, 2L))).thenReturn(List.of(testCampaign));
+
+        // When
+        CursorPage<CampaignResponse> result = campaignService.search("water", null, 2);
+
+        // Then
+        assertThat(result.getItems()).extracting(CampaignResponse::getId).containsExactly(1L);
+        assertThat(KeysetCursor.decode(result.getNextCursor())).isEqualTo(KeysetCursor.of(0.3f, 2L));
+    }
+
+    @Test
+    @DisplayName("Should seek past rank cursor when searching")
+    void shouldSeekPastRankCursorWhenSearching() {
+        // Given
+        String cursor = KeysetCursor.of(0.3f, 1L).encode();
+        when(campaignRepository.searchAfter("water", 0.3f, 1L, 11)).thenReturn(List.of(new Hit(1L, 0.3f)));
+        when(campaignRepository.findByIdIn(List.of(1L))).thenReturn(List.of(testCampaign));
+
+        // When
+        CursorPage<CampaignResponse> result = campaignService.search("water", cursor, 10);
+
+        // Then
+        assertThat(result.getItems()).hasSize(1);
+        assertThat(result.getNextCursor()).isNull();
+    }
+
+    @Test
+    @DisplayName("Should reject blank search query")
+    void shouldRejectBlankSearchQuery() {
+        assertThatThrownBy(() -> campaignService.search("  ", null, 10))
+                .isInstanceOf(ValidationException.class);
+        verifyNoInteractions(campaignRepository);
+    }
+
+    @Test
+    @DisplayName("Should return only the requested campaign fields with a next cursor")
+    void shouldReturnRequestedCampaignFields() {
+        // Given
+        LocalDate startDate = LocalDate.of(2024, 3, 1);
+        when(sparseQueryRepository.find(any(SparseQuery.class), eq(2))).thenReturn(List.of(
+                new SparseQuery.Row(startDate, 9L, Map.of("name", "First")),
+                new SparseQuery.Row(startDate, 8L, Map.of("name", "Second"))));
+
+        // When
+        CursorPage<Map<String, Object>> result = campaignService.findSparsePage(Status.ACTIVE, null, 1, "name");
+
+        // Then
+        assertThat(result.getItems()).containsExactly(Map.of("name", "First"));
+        assertThat(KeysetCursor.decode(result.getNextCursor())).isEqualTo(KeysetCursor.of(startDate, 9L));
+    }
+
+    @Test
+    @DisplayName("Should reject unknown campaign fields")
+    void shouldRejectUnknownCampaignFields() {
+        assertThatThrownBy(() -> campaignService.findSparsePage(null, null, 10, "name,passwordHash"))
+                .isInstanceOf(ValidationException.class);
+        assertThatThrownBy(() -> campaignService.findSparsePage(null, null, 10, " , "))
+                .isInstanceOf(ValidationException.class);
+        verifyNoInteractions(sparseQueryRepository);
+    }
+
+    private record Hit(Long getId, Float getRank) implements CampaignRepository.SearchHit {
+    }
 }
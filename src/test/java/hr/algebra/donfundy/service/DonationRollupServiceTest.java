@@ -0,0 +1,126 @@
+package hr.algebra.donfundy.service;
+
+import hr.algebra.donfundy.domain.Donor;
+import hr.algebra.donfundy.domain.enums.PaymentMethod;
+import hr.algebra.donfundy.dto.TimeseriesPointResponse;
+import hr.algebra.donfundy.exception.ResourceNotFoundException;
+import hr.algebra.donfundy.exception.ValidationException;
+import hr.algebra.donfundy.repository.CampaignDailyTotalRepository;
+import hr.algebra.donfundy.repository.CampaignDailyTotalRepository.BucketTotal;
+import hr.algebra.donfundy.repository.CampaignRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("DonationRollupService Unit Tests")
+class DonationRollupServiceTest {
+
+    @Mock
+    private CampaignDailyTotalRepository campaignDailyTotalRepository;
+
+    @Mock
+    private CampaignRepository campaignRepository;
+
+    @InjectMocks
+    private DonationRollupService donationRollupService;
+
+    @Test
+    @DisplayName("Should read daily totals for the requested range")
+    void shouldReadDailyTotals() {
+        // Given
+        LocalDate from = LocalDate.of(2024, 3, 1);
+        LocalDate to = LocalDate.of(2024, 3, 31);
+        when(campaignRepository.existsById(1L)).thenReturn(true);
+        when(campaignDailyTotalRepository.findDailyTotals(1L, from, to))
+                .thenReturn(List.of(new Total(LocalDate.of(2024, 3, 15), "CARD", new BigDecimal("150.00"), 2L)));
+
+        // When
+        List<TimeseriesPointResponse> result = donationRollupService.getTimeseries(1L, "day", from, to);
+
+        // Then
+        assertThat(result).containsExactly(new TimeseriesPointResponse(
+                LocalDate.of(2024, 3, 15), PaymentMethod.CARD, new BigDecimal("150.00"), 2L));
+    }
+
+    @Test
+    @DisplayName("Should align weekly ranges to Monday")
+    void shouldAlignWeeklyRangeToMonday() {
+        // Given
+        LocalDate wednesday = LocalDate.of(2024, 3, 13);
+        LocalDate to = LocalDate.of(2024, 4, 30);
+        when(campaignRepository.existsById(1L)).thenReturn(true);
+
+        // When
+        donationRollupService.getTimeseries(1L, "WEEK", wednesday, to);
+
+        // Then
+        verify(campaignDailyTotalRepository).findWeeklyTotals(1L, LocalDate.of(2024, 3, 11), to);
+    }
+
+    @Test
+    @DisplayName("Should default to the last days up to today")
+    void shouldDefaultToRecentDays() {
+        // Given
+        LocalDate today = LocalDate.now();
+        when(campaignRepository.existsById(1L)).thenReturn(true);
+
+        // When
+        donationRollupService.getTimeseries(1L, "day", null, null);
+
+        // Then
+        verify(campaignDailyTotalRepository).findDailyTotals(1L, today.minusDays(DonationRollupService.DEFAULT_DAYS - 1), today);
+    }
+
+    @Test
+    @DisplayName("Should reject unknown buckets and oversized ranges before querying")
+    void shouldRejectInvalidRequests() {
+        assertThatThrownBy(() -> donationRollupService.getTimeseries(1L, "month", null, null))
+                .isInstanceOf(ValidationException.class);
+        assertThatThrownBy(() -> donationRollupService.getTimeseries(1L, "day", LocalDate.of(2020, 1, 1), LocalDate.of(2024, 1, 1)))
+                .isInstanceOf(ValidationException.class);
+        assertThatThrownBy(() -> donationRollupService.getTimeseries(1L, "day", LocalDate.of(2024, 2, 1), LocalDate.of(2024, 1, 1)))
+                .isInstanceOf(ValidationException.class);
+        verifyNoInteractions(campaignRepository, campaignDailyTotalRepository);
+    }
+
+    @Test
+    @DisplayName("Should throw exception when campaign not found")
+    void shouldThrowExceptionWhenCampaignNotFound() {
+        when(campaignRepository.existsById(999L)).thenReturn(false);
+
+        assertThatThrownBy(() -> donationRollupService.getTimeseries(999L, "day", null, null))
+                .isInstanceOf(ResourceNotFoundException.class);
+        verifyNoInteractions(campaignDailyTotalRepository);
+    }
+
+    @Test
+    @DisplayName("Should subtract a deleted donor's donations and drop emptied rows")
+    void shouldSubtractDeletedDonorsDonations() {
+        // Given
+        Donor donor = new Donor();
+        donor.setId(3L);
+        when(campaignDailyTotalRepository.removeDonationsByDonor(3L)).thenReturn(2);
+
+        // When
+        donationRollupService.donorDeleted(donor);
+
+        // Then
+        verify(campaignDailyTotalRepository).deleteEmptyForDonor(3L);
+    }
+
+    private record Total(LocalDate getBucketStart, String getPaymentMethod, BigDecimal getTotalAmount,
+                         Long getDonationCount) implements BucketTotal {
+    }
+}
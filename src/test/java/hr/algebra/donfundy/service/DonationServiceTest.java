@@ -5,6 +5,7 @@ import hr.algebra.donfundy.domain.Donation;
 import hr.algebra.donfundy.domain.Donor;
 import hr.algebra.donfundy.domain.enums.PaymentMethod;
 import hr.algebra.donfundy.domain.enums.Status;
+import hr.algebra.donfundy.dto.CursorPage;
 import hr.algebra.donfundy.dto.DonationRequest;
 import hr.algebra.donfundy.dto.DonationResponse;
 import hr.algebra.donfundy.exception.BusinessException;
@@ -12,6 +13,9 @@ import hr.algebra.donfundy.exception.ResourceNotFoundException;
 import hr.algebra.donfundy.repository.CampaignRepository;
 import hr.algebra.donfundy.repository.DonationRepository;
 import hr.algebra.donfundy.repository.DonorRepository;
+import hr.algebra.donfundy.repository.SparseQueryRepository;
+import hr.algebra.donfundy.support.KeysetCursor;
+import hr.algebra.donfundy.support.ResourceVersions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -19,12 +23,15 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
-import java.util.Arrays;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
@@ -47,12 +54,28 @@ class DonationServiceTest {
     @Mock
     private CampaignService campaignService;
 
+    @Mock
+    private ResourceVersions resourceVersions;
+
+    @Mock
+    private StatsService statsService;
+
+    @Mock
+    private LeaderboardService leaderboardService;
+
+    @Mock
+    private DonationRollupService donationRollupService;
+
+    @Mock
+    private SparseQueryRepository sparseQueryRepository;
+
     @InjectMocks
     private DonationService donationService;
 
     private Campaign testCampaign;
     private Donor testDonor;
     private Donation testDonation;
+    private DonationResponse testResponse;
     private DonationRequest testRequest;
 
     @BeforeEach
@@ -83,6 +106,10 @@ class DonationServiceTest {
         testDonation.setPaymentMethod(PaymentMethod.CARD);
         testDonation.setMessage("Test donation");
 
+        // Setup projected donation row
+        testResponse = new DonationResponse(1L, 1L, "Test Campaign", 1L, "John Doe",
+                new BigDecimal("100.00"), LocalDate.now(), "Test donation", PaymentMethod.CARD);
+
         // Setup test request
         testRequest = new DonationRequest();
         testRequest.setCampaignId(1L);
@@ -96,8 +123,7 @@ class DonationServiceTest {
     @DisplayName("Should find all donations")
     void shouldFindAllDonations() {
         // Given
-        List<Donation> donations = Arrays.asList(testDonation);
-        when(donationRepository.findAll()).thenReturn(donations);
+        when(donationRepository.findAllResponses()).thenReturn(List.of(testResponse));
 
         // When
         List<DonationResponse> result = donationService.findAll();
@@ -106,15 +132,31 @@ class DonationServiceTest {
         assertThat(result).isNotEmpty();
         assertThat(result).hasSize(1);
         assertThat(result.get(0).getAmount()).isEqualByComparingTo(new BigDecimal("100.00"));
-        verify(donationRepository, times(1)).findAll();
+        verify(donationRepository, times(1)).findAllResponses();
+    }
+
+    @Test
+    @DisplayName("Should pass every exported donation to the sink and close the cursor")
+    void shouldExportAllDonationsThroughSink() {
+        // Given
+        AtomicBoolean closed = new AtomicBoolean();
+        when(donationRepository.streamAllResponses())
+                .thenReturn(Stream.of(testResponse).onClose(() -> closed.set(true)));
+        List<DonationResponse> exported = new ArrayList<>();
+
+        // When
+        donationService.exportAll(exported::add);
+
+        // Then
+        assertThat(exported).containsExactly(testResponse);
+        assertThat(closed).isTrue();
     }
 
     @Test
     @DisplayName("Should find donations by campaign ID")
     void shouldFindDonationsByCampaignId() {
         // Given
-        List<Donation> donations = Arrays.asList(testDonation);
-        when(donationRepository.findByCampaignId(1L)).thenReturn(donations);
+        when(donationRepository.findResponsesByCampaignId(1L)).thenReturn(List.of(testResponse));
 
         // When
         List<DonationResponse> result = donationService.findByCampaignId(1L);
@@ -123,15 +165,14 @@ class DonationServiceTest {
         assertThat(result).isNotEmpty();
         assertThat(result).hasSize(1);
         assertThat(result.get(0).getCampaignId()).isEqualTo(1L);
-        verify(donationRepository, times(1)).findByCampaignId(1L);
+        verify(donationRepository, times(1)).findResponsesByCampaignId(1L);
     }
 
     @Test
     @DisplayName("Should find donations by donor ID")
     void shouldFindDonationsByDonorId() {
         // Given
-        List<Donation> donations = Arrays.asList(testDonation);
-        when(donationRepository.findByDonorId(1L)).thenReturn(donations);
+        when(donationRepository.findResponsesByDonorId(1L)).thenReturn(List.of(testResponse));
 
         // When
         List<DonationResponse> result = donationService.findByDonorId(1L);
@@ -140,7 +181,7 @@ class DonationServiceTest {
         assertThat(result).isNotEmpty();
         assertThat(result).hasSize(1);
         assertThat(result.get(0).getDonorId()).isEqualTo(1L);
-        verify(donationRepository, times(1)).findByDonorId(1L);
+        verify(donationRepository, times(1)).findResponsesByDonorId(1L);
     }
 
     @Test
@@ -188,6 +229,8 @@ class DonationServiceTest {
         assertThat(result.getAmount()).isEqualByComparingTo(new BigDecimal("100.00"));
         verify(donationRepository, times(1)).save(any(Donation.class));
         verify(campaignService, times(1)).updateRaisedAmount(eq(1L), anyDouble());
+        verify(leaderboardService).donationsAdded(1L, 1L, testRequest.getAmount(), 1);
+        verify(donationRollupService).donationsAdded(1L, LocalDate.now(), PaymentMethod.CARD, testRequest.getAmount(), 1);
     }
 
     @Test
@@ -264,6 +307,8 @@ class DonationServiceTest {
 
         // Then
         verify(donationRepository, times(1)).delete(testDonation);
+        verify(leaderboardService).donationDeleted(testDonation);
+        verify(donationRollupService).donationDeleted(testDonation);
     }
 
     @Test
@@ -285,4 +330,54 @@ class DonationServiceTest {
         assertThat(result.getPaymentMethod()).isEqualTo(testDonation.getPaymentMethod());
         assertThat(result.getMessage()).isEqualTo(testDonation.getMessage());
     }
+
+    @Test
+    @DisplayName("Should return last page of donations without next cursor")
+    void shouldReturnLastPageOfDonationsWithoutNextCursor() {
+        // Given
+        when(donationRepository.findResponsePage(Limit.of(51)))
+                .thenReturn(List.of(testResponse));
+
+        // When
+        CursorPage<DonationResponse> result = donationService.findPage(null, null, null, KeysetCursor.DEFAULT_LIMIT);
+
+        // Then
+        assertThat(result.getItems()).hasSize(1);
+        assertThat(result.getNextCursor()).isNull();
+    }
+
+    @Test
+    @DisplayName("Should seek past cursor when fetching next page of campaign donations")
+    void shouldSeekPastCursorForCampaignDonations() {
+        // Given
+        DonationResponse olderDonation = new DonationResponse(2L, 1L, "Test Campaign", 1L, "John Doe",
+                new BigDecimal("25.00"), LocalDate.now().minusDays(1), null, PaymentMethod.PAYPAL);
+
+        LocalDate cursorDate = LocalDate.now().plusDays(1);
+        String cursor = KeysetCursor.of(cursorDate, 9L).encode();
+        when(donationRepository.findResponsePageByCampaignIdAfter(1L, cursorDate, 9L, Limit.of(2)))
+                .thenReturn(List.of(testResponse, olderDonation));
+
+        // When
+        CursorPage<DonationResponse> result = donationService.findPage(1L, null, cursor, 1);
+
+        // Then
+        assertThat(result.getItems()).extracting(DonationResponse::getId).containsExactly(1L);
+        assertThat(KeysetCursor.decode(result.getNextCursor()))
+                .isEqualTo(KeysetCursor.of(testResponse.getDonationDate(), 1L));
+    }
+
+    @Test
+    @DisplayName("Should cap donation page size")
+    void shouldCapDonationPageSize() {
+        // Given
+        when(donationRepository.findResponsePageByDonorId(1L, Limit.of(KeysetCursor.MAX_LIMIT + 1)))
+                .thenReturn(List.of(testResponse));
+
+        // When
+        CursorPage<DonationResponse> result = donationService.findPage(null, 1L, null, 10_000);
+
+        // Then
+        assertThat(result.getItems()).hasSize(1);
+    }
 }
@@ -2,13 +2,19 @@ package hr.algebra.donfundy.service;
 
 import hr.algebra.donfundy.domain.Donor;
 import hr.algebra.donfundy.domain.User;
+import hr.algebra.donfundy.dto.CursorPage;
 import hr.algebra.donfundy.dto.DonorRequest;
 import hr.algebra.donfundy.dto.DonorResponse;
 import hr.algebra.donfundy.exception.BusinessException;
 import hr.algebra.donfundy.exception.ResourceNotFoundException;
 import hr.algebra.donfundy.repository.DonorRepository;
+import hr.algebra.donfundy.repository.SparseQueryRepository;
 import hr.algebra.donfundy.repository.UserRepository;
-import org.junit.jupiter.api.AfterEach;
+import hr.algebra.donfundy.security.CurrentUser;
+import hr.algebra.donfundy.security.CustomUserDetailsService;
+import hr.algebra.donfundy.security.TokenVersions;
+import hr.algebra.donfundy.support.KeysetCursor;
+import hr.algebra.donfundy.support.ResourceVersions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -16,9 +22,7 @@ import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.security.core.Authentication;
-import org.springframework.security.core.context.SecurityContext;
-import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.data.domain.Limit;
 
 import java.util.List;
 import java.util.Optional;
@@ -33,12 +37,16 @@ class DonorServiceTest {
 
     @Mock private DonorRepository donorRepository;
     @Mock private UserRepository userRepository;
+    @Mock private ResourceVersions resourceVersions;
+    @Mock private StatsService statsService;
+    @Mock private DonationRollupService donationRollupService;
+    @Mock private SparseQueryRepository sparseQueryRepository;
+    @Mock private CustomUserDetailsService userDetailsService;
+    @Mock private CurrentUser currentUser;
+    @Mock private TokenVersions tokenVersions;
 
     @InjectMocks private DonorService donorService;
 
-    @Mock private SecurityContext securityContext;
-    @Mock private Authentication authentication;
-
     private Donor donor;
     private User user;
 
@@ -57,14 +65,6 @@ class DonorServiceTest {
         donor.setEmail("donor@example.com");
         donor.setPhoneNumber("123");
         donor.setUser(user);
-
-        // Make SecurityContextHolder safe/isolated per test
-        SecurityContextHolder.setContext(securityContext);
-    }
-
-    @AfterEach
-    void tearDown() {
-        SecurityContextHolder.clearContext();
     }
 
     @Test
@@ -106,6 +106,17 @@ class DonorServiceTest {
         verifyNoMoreInteractions(donorRepository, userRepository);
     }
 
+    @Test
+    void getSummary_shouldThrow_whenDonorNotFound() {
+        when(donorRepository.findSummary(99L)).thenReturn(Optional.empty());
+
+        assertThatThrownBy(() -> donorService.getSummary(99L))
+                .isInstanceOf(ResourceNotFoundException.class);
+
+        verify(donorRepository).findSummary(99L);
+        verifyNoMoreInteractions(donorRepository, userRepository);
+    }
+
     @Test
     void findByUserId_shouldReturnResponse_whenFound() {
         when(donorRepository.findByUserId(1L)).thenReturn(Optional.of(donor));
@@ -131,54 +142,31 @@ class DonorServiceTest {
     }
 
     @Test
-    void findCurrentUserDonor_shouldReturnResponse_whenUserAndDonorExist() {
-        when(securityContext.getAuthentication()).thenReturn(authentication);
-        when(authentication.getName()).thenReturn("test@example.com");
-        when(userRepository.findByEmail("test@example.com")).thenReturn(Optional.of(user));
-        when(donorRepository.findByUserId(1L)).thenReturn(Optional.of(donor));
+    void findCurrentUserDonor_shouldLoadDonorFromTokenClaim() {
+        when(currentUser.donorId()).thenReturn(10L);
+        when(donorRepository.findById(10L)).thenReturn(Optional.of(donor));
 
         DonorResponse result = donorService.findCurrentUserDonor();
 
         assertThat(result.getId()).isEqualTo(10L);
         assertThat(result.getUserId()).isEqualTo(1L);
 
-        verify(securityContext).getAuthentication();
-        verify(authentication).getName();
-        verify(userRepository).findByEmail("test@example.com");
-        verify(donorRepository).findByUserId(1L);
-        verifyNoMoreInteractions(donorRepository, userRepository, securityContext, authentication);
-    }
-
-    @Test
-    void findCurrentUserDonor_shouldThrowBusinessException_whenUserNotFound() {
-        when(securityContext.getAuthentication()).thenReturn(authentication);
-        when(authentication.getName()).thenReturn("missing@example.com");
-        when(userRepository.findByEmail("missing@example.com")).thenReturn(Optional.empty());
-
-        assertThatThrownBy(() -> donorService.findCurrentUserDonor())
-                .isInstanceOf(BusinessException.class);
-
-        verify(securityContext).getAuthentication();
-        verify(authentication).getName();
-        verify(userRepository).findByEmail("missing@example.com");
-        verifyNoMoreInteractions(donorRepository, userRepository, securityContext, authentication);
+        verify(donorRepository).findById(10L);
+        verifyNoMoreInteractions(donorRepository);
+        verifyNoInteractions(userRepository);
     }
 
     @Test
-    void findCurrentUserDonor_shouldThrowBusinessException_whenDonorNotFoundForUser() {
-        when(securityContext.getAuthentication()).thenReturn(authentication);
-        when(authentication.getName()).thenReturn("test@example.com");
-        when(userRepository.findByEmail("test@example.com")).thenReturn(Optional.of(user));
-        when(donorRepository.findByUserId(1L)).thenReturn(Optional.empty());
+    void findCurrentUserDonor_shouldThrowBusinessException_whenDonorNoLongerExists() {
+        when(currentUser.donorId()).thenReturn(10L);
+        when(donorRepository.findById(10L)).thenReturn(Optional.empty());
 
         assertThatThrownBy(() -> donorService.findCurrentUserDonor())
                 .isInstanceOf(BusinessException.class);
 
-        verify(securityContext).getAuthentication();
-        verify(authentication).getName();
-        verify(userRepository).findByEmail("test@example.com");
-        verify(donorRepository).findByUserId(1L);
-        verifyNoMoreInteractions(donorRepository, userRepository, securityContext, authentication);
+        verify(donorRepository).findById(10L);
+        verifyNoMoreInteractions(donorRepository);
+        verifyNoInteractions(userRepository);
     }
 
     @Test
@@ -302,7 +290,33 @@ class DonorServiceTest {
         verify(donorRepository).findById(10L);
         verify(userRepository).findById(1L);
         verify(donorRepository).save(donor);
-        verifyNoMoreInteractions(donorRepository, userRepository);
+        verify(userDetailsService).evict("test@example.com");
+        verifyNoMoreInteractions(donorRepository, userRepository, userDetailsService);
+    }
+
+    @Test
+    void update_shouldRevokeTokensOfPreviousUser_whenRelinked() {
+        User other = new User();
+        other.setId(2L);
+        other.setEmail("other@example.com");
+
+        DonorRequest req = new DonorRequest();
+        req.setFirstName("New");
+        req.setLastName("Name");
+        req.setEmail("new@example.com");
+        req.setUserId(2L);
+
+        when(donorRepository.findById(10L)).thenReturn(Optional.of(donor));
+        when(userRepository.findById(2L)).thenReturn(Optional.of(other));
+        when(donorRepository.save(any(Donor.class))).thenAnswer(inv -> inv.getArgument(0));
+
+        DonorResponse result = donorService.update(10L, req);
+
+        assertThat(result.getUserId()).isEqualTo(2L);
+        verify(userDetailsService).evict("test@example.com");
+        verify(userDetailsService).evict("other@example.com");
+        verify(tokenVersions).revokeAll(1L);
+        verifyNoMoreInteractions(tokenVersions);
     }
 
     @Test
@@ -352,6 +366,9 @@ class DonorServiceTest {
 
         verify(donorRepository).findById(10L);
         verify(donorRepository).delete(donor);
+        verify(donationRollupService).donorDeleted(donor);
+        verify(userDetailsService).evict("test@example.com");
+        verify(tokenVersions).revokeAll(1L);
         verifyNoMoreInteractions(donorRepository, userRepository);
     }
 
@@ -372,7 +389,7 @@ class DonorServiceTest {
         when(donorRepository.findByUserId(1L)).thenReturn(Optional.empty());
         when(donorRepository.save(any(Donor.class))).thenAnswer(inv -> inv.getArgument(0));
 
-        donorService.createDonorForUser(user);
+        Donor created = donorService.createDonorForUser(user);
 
         ArgumentCaptor<Donor> captor = ArgumentCaptor.forClass(Donor.class);
         verify(donorRepository).findByUserId(1L);
@@ -380,17 +397,38 @@ class DonorServiceTest {
         Donor saved = captor.getValue();
         assertThat(saved.getUser()).isEqualTo(user);
         assertThat(saved.getEmail()).isEqualTo("test@example.com");
+        assertThat(created).isSameAs(saved);
         verifyNoMoreInteractions(donorRepository, userRepository);
     }
 
     @Test
-    void createDonorForUser_shouldDoNothing_whenAlreadyExists() {
+    void createDonorForUser_shouldReturnExisting_whenAlreadyExists() {
         when(donorRepository.findByUserId(1L)).thenReturn(Optional.of(donor));
 
-        donorService.createDonorForUser(user);
+        assertThat(donorService.createDonorForUser(user)).isSameAs(donor);
 
         verify(donorRepository).findByUserId(1L);
         verify(donorRepository, never()).save(any());
         verifyNoMoreInteractions(donorRepository, userRepository);
     }
-}
\ No newline at end of file
+
+    @Test
+    void findPage_shouldSeekPastCursor_andReturnNextCursor() {
+        Donor next = new Donor();
+        next.setId(11L);
+        next.setFirstName("Donor");
+        next.setLastName("Two");
+        next.setEmail("two@example.com");
+
+        String cursor = KeysetCursor.of("Adams", 3L).encode();
+        when(donorRepository.findPageAfter("Adams", 3L, Limit.of(2))).thenReturn(List.of(donor, next));
+
+        CursorPage<DonorResponse> result = donorService.findPage(cursor, 1);
+
+        assertThat(result.getItems()).extracting(DonorResponse::getId).containsExactly(10L);
+        assertThat(KeysetCursor.decode(result.getNextCursor())).isEqualTo(KeysetCursor.of("One", 10L));
+
+        verify(donorRepository).findPageAfter("Adams", 3L, Limit.of(2));
+        verifyNoMoreInteractions(donorRepository, userRepository);
+    }
+}
@@ -0,0 +1,176 @@
+package hr.algebra.donfundy.service;
+
+import hr.algebra.donfundy.domain.Campaign;
+import hr.algebra.donfundy.domain.Donor;
+import hr.algebra.donfundy.domain.enums.PaymentMethod;
+import hr.algebra.donfundy.domain.enums.Status;
+import hr.algebra.donfundy.repository.CampaignRepository;
+import hr.algebra.donfundy.repository.DonationRepository;
+import hr.algebra.donfundy.repository.DonationRepository.CampaignDonationCount;
+import hr.algebra.donfundy.repository.DonationRepository.ReportRow;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.ss.usermodel.Workbook;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ExcelReportService Unit Tests")
+class ExcelReportServiceTest {
+
+    @Mock
+    private CampaignRepository campaignRepository;
+
+    @Mock
+    private DonationRepository donationRepository;
+
+    @InjectMocks
+    private ExcelReportService excelReportService;
+
+    private Path report;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(excelReportService, "rowWindow", 2);
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        if (report != null) {
+            Files.deleteIfExists(report);
+        }
+    }
+
+    @Test
+    @DisplayName("Should list every campaign with its donation count and one detail sheet per campaign with donations")
+    void shouldWriteSummaryAndDetailRows() throws IOException {
+        // Given
+        when(campaignRepository.findAll()).thenReturn(List.of(campaign(2L, "Library"), campaign(1L, "School")));
+        when(donationRepository.countByCampaign()).thenReturn(List.of(donationCount(1L, 3L)));
+        when(donationRepository.streamReportRows()).thenReturn(Stream.of(
+                reportRow(1L, 10L, "25.00"),
+                reportRow(1L, 11L, "50.00"),
+                reportRow(1L, 12L, "75.00"),
+                reportRow(3L, 13L, "100.00")));
+
+        // When
+        report = Path.of(excelReportService.generateCampaignReport());
+
+        // Then
+        try (InputStream in = Files.newInputStream(report); Workbook workbook = new XSSFWorkbook(in)) {
+            assertThat(workbook.getNumberOfSheets()).isEqualTo(2);
+
+            Sheet summary = workbook.getSheet("Campaigns Summary");
+            assertThat(summary.getLastRowNum()).isEqualTo(2);
+            assertThat(summary.getRow(1).getCell(1).getStringCellValue()).isEqualTo("School");
+            assertThat(summary.getRow(1).getCell(9).getStringCellValue()).isEqualTo("Jane Doe");
+            assertThat(summary.getRow(1).getCell(10).getNumericCellValue()).isEqualTo(3.0);
+            assertThat(summary.getRow(2).getCell(1).getStringCellValue()).isEqualTo("Library");
+            assertThat(summary.getRow(2).getCell(10).getNumericCellValue()).isZero();
+
+            Sheet details = workbook.getSheet("School");
+            assertThat(details.getRow(0).getCell(0).getStringCellValue()).isEqualTo("Campaign: School");
+            assertThat(details.getLastRowNum()).isEqualTo(6);
+            Row first = details.getRow(4);
+            assertThat(first.getCell(0).getNumericCellValue()).isEqualTo(10.0);
+            assertThat(first.getCell(1).getStringCellValue()).isEqualTo("Donor 10");
+            assertThat(first.getCell(3).getNumericCellValue()).isEqualTo(25.0);
+            assertThat(first.getCell(5).getStringCellValue()).isEqualTo("CARD");
+            assertThat(details.getRow(6).getCell(0).getNumericCellValue()).isEqualTo(12.0);
+        }
+    }
+
+    private static Campaign campaign(Long id, String name) {
+        Donor createdBy = new Donor();
+        createdBy.setFirstName("Jane");
+        createdBy.setLastName("Doe");
+
+        Campaign campaign = new Campaign();
+        campaign.setId(id);
+        campaign.setName(name);
+        campaign.setGoalAmount(1000.0);
+        campaign.setRaisedAmount(150.0);
+        campaign.setStartDate(LocalDate.of(2024, 1, 1));
+        campaign.setStatus(Status.ACTIVE);
+        campaign.setCreatedBy(createdBy);
+        return campaign;
+    }
+
+    private static CampaignDonationCount donationCount(Long campaignId, Long donations) {
+        return new CampaignDonationCount() {
+            @Override
+            public Long getCampaignId() {
+                return campaignId;
+            }
+
+            @Override
+            public Long getDonations() {
+                return donations;
+            }
+        };
+    }
+
+    private static ReportRow reportRow(Long campaignId, Long id, String amount) {
+        return new ReportRow() {
+            @Override
+            public Long getCampaignId() {
+                return campaignId;
+            }
+
+            @Override
+            public Long getId() {
+                return id;
+            }
+
+            @Override
+            public String getDonorName() {
+                return "Donor " + id;
+            }
+
+            @Override
+            public String getDonorEmail() {
+                return "donor" + id + "@example.com";
+            }
+
+            @Override
+            public BigDecimal getAmount() {
+                return new BigDecimal(amount);
+            }
+
+            @Override
+            public LocalDate getDonationDate() {
+                return LocalDate.of(2024, 2, 1);
+            }
+
+            @Override
+            public PaymentMethod getPaymentMethod() {
+                return PaymentMethod.CARD;
+            }
+
+            @Override
+            public String getMessage() {
+                return null;
+            }
+        };
+    }
+}
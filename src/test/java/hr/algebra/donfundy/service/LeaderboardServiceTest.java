@@ -0,0 +1,86 @@
+package hr.algebra.donfundy.service;
+
+import hr.algebra.donfundy.domain.Campaign;
+import hr.algebra.donfundy.domain.Donation;
+import hr.algebra.donfundy.domain.Donor;
+import hr.algebra.donfundy.dto.LeaderboardEntryResponse;
+import hr.algebra.donfundy.exception.ResourceNotFoundException;
+import hr.algebra.donfundy.repository.CampaignDonorTotalRepository;
+import hr.algebra.donfundy.repository.CampaignRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("LeaderboardService Unit Tests")
+class LeaderboardServiceTest {
+
+    @Mock
+    private CampaignDonorTotalRepository campaignDonorTotalRepository;
+
+    @Mock
+    private CampaignRepository campaignRepository;
+
+    @InjectMocks
+    private LeaderboardService leaderboardService;
+
+    @Test
+    @DisplayName("Should read the top donors with a capped limit")
+    void shouldReadTopDonorsWithCappedLimit() {
+        // Given
+        LeaderboardEntryResponse entry = new LeaderboardEntryResponse(3L, "John Doe", new BigDecimal("450.00"), 3L);
+        when(campaignRepository.existsById(1L)).thenReturn(true);
+        when(campaignDonorTotalRepository.findLeaderboard(1L, Limit.of(LeaderboardService.MAX_LIMIT)))
+                .thenReturn(List.of(entry));
+
+        // When
+        List<LeaderboardEntryResponse> result = leaderboardService.getLeaderboard(1L, 10_000);
+
+        // Then
+        assertThat(result).containsExactly(entry);
+    }
+
+    @Test
+    @DisplayName("Should throw exception when campaign not found")
+    void shouldThrowExceptionWhenCampaignNotFound() {
+        when(campaignRepository.existsById(999L)).thenReturn(false);
+
+        assertThatThrownBy(() -> leaderboardService.getLeaderboard(999L, 10))
+                .isInstanceOf(ResourceNotFoundException.class);
+        verifyNoInteractions(campaignDonorTotalRepository);
+    }
+
+    @Test
+    @DisplayName("Should subtract a deleted donation and drop the donor's row once it is empty")
+    void shouldSubtractDeletedDonation() {
+        // Given
+        Campaign campaign = new Campaign();
+        campaign.setId(1L);
+        Donor donor = new Donor();
+        donor.setId(3L);
+        Donation donation = new Donation();
+        donation.setCampaign(campaign);
+        donation.setDonor(donor);
+        donation.setAmount(new BigDecimal("50.00"));
+
+        // When
+        leaderboardService.donationDeleted(donation);
+
+        // Then
+        InOrder inOrder = inOrder(campaignDonorTotalRepository);
+        inOrder.verify(campaignDonorTotalRepository).removeDonation(1L, 3L, new BigDecimal("50.00"));
+        inOrder.verify(campaignDonorTotalRepository).deleteIfEmpty(1L, 3L);
+    }
+}
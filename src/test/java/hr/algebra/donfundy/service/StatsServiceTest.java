@@ -0,0 +1,120 @@
+package hr.algebra.donfundy.service;
+
+import hr.algebra.donfundy.domain.Campaign;
+import hr.algebra.donfundy.domain.Donor;
+import hr.algebra.donfundy.domain.StatsSummary;
+import hr.algebra.donfundy.domain.enums.Status;
+import hr.algebra.donfundy.dto.StatsSummaryResponse;
+import hr.algebra.donfundy.repository.DonationRepository;
+import hr.algebra.donfundy.repository.StatsSummaryRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("StatsService Unit Tests")
+class StatsServiceTest {
+
+    @Mock
+    private StatsSummaryRepository statsSummaryRepository;
+
+    @Mock
+    private DonationRepository donationRepository;
+
+    @InjectMocks
+    private StatsService statsService;
+
+    @Test
+    @DisplayName("Should read the summary row")
+    void shouldReadSummaryRow() {
+        // Given
+        StatsSummary summary = new StatsSummary();
+        summary.setId(StatsSummary.SINGLETON_ID);
+        summary.setCampaignCount(3L);
+        summary.setActiveCampaignCount(2L);
+        summary.setDonationCount(10L);
+        summary.setDonorCount(4L);
+        summary.setTotalRaised(550.0);
+        when(statsSummaryRepository.findById(StatsSummary.SINGLETON_ID)).thenReturn(Optional.of(summary));
+
+        // When
+        StatsSummaryResponse result = statsService.getSummary();
+
+        // Then
+        assertThat(result.getCampaignCount()).isEqualTo(3L);
+        assertThat(result.getActiveCampaignCount()).isEqualTo(2L);
+        assertThat(result.getDonationCount()).isEqualTo(10L);
+        assertThat(result.getDonorCount()).isEqualTo(4L);
+        assertThat(result.getTotalRaised()).isEqualTo(550.0);
+    }
+
+    @Test
+    @DisplayName("Should count an active campaign as created and active")
+    void shouldCountActiveCampaignCreation() {
+        // When
+        statsService.campaignCreated(Status.ACTIVE);
+
+        // Then
+        verify(statsSummaryRepository).applyDelta(1, 1, 0, 0, 0);
+    }
+
+    @Test
+    @DisplayName("Should move a completed campaign out of the active count and add its raised amount")
+    void shouldApplyCampaignCompletion() {
+        // When
+        statsService.campaignChanged(Status.ACTIVE, Status.COMPLETED, 100.0);
+
+        // Then
+        verify(statsSummaryRepository).applyDelta(0, -1, 0, 0, 100.0);
+    }
+
+    @Test
+    @DisplayName("Should skip the update when nothing tracked changed")
+    void shouldSkipNoOpCampaignChange() {
+        // When
+        statsService.campaignChanged(Status.ACTIVE, Status.ACTIVE, 0);
+
+        // Then
+        verifyNoInteractions(statsSummaryRepository);
+    }
+
+    @Test
+    @DisplayName("Should subtract a deleted campaign together with its cascaded donations")
+    void shouldSubtractDeletedCampaignAndItsDonations() {
+        // Given
+        Campaign campaign = new Campaign();
+        campaign.setId(7L);
+        campaign.setStatus(Status.ACTIVE);
+        campaign.setRaisedAmount(250.0);
+        when(donationRepository.countByCampaignId(7L)).thenReturn(5L);
+
+        // When
+        statsService.campaignDeleted(campaign);
+
+        // Then
+        verify(statsSummaryRepository).applyDelta(-1, -1, -5, 0, -250.0);
+    }
+
+    @Test
+    @DisplayName("Should subtract a deleted donor together with its cascaded donations")
+    void shouldSubtractDeletedDonorAndItsDonations() {
+        // Given
+        Donor donor = new Donor();
+        donor.setId(3L);
+        when(donationRepository.countByDonorId(3L)).thenReturn(2L);
+
+        // When
+        statsService.donorDeleted(donor);
+
+        // Then
+        verify(statsSummaryRepository).applyDelta(0, 0, -2, -1, 0);
+    }
+}
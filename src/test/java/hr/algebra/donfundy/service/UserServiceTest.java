@@ -1,10 +1,13 @@
 package hr.algebra.donfundy.service;
 
+import hr.algebra.donfundy.domain.Donor;
 import hr.algebra.donfundy.domain.User;
 import hr.algebra.donfundy.domain.enums.Role;
 import hr.algebra.donfundy.dto.RegisterRequest;
 import hr.algebra.donfundy.exception.ValidationException;
 import hr.algebra.donfundy.repository.UserRepository;
+import hr.algebra.donfundy.security.AuthenticatedUser;
+import hr.algebra.donfundy.security.CustomUserDetailsService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -27,6 +30,7 @@ class UserServiceTest {
     @Mock private PasswordEncoder passwordEncoder;
     @Mock private UserRepository userRepository;
     @Mock private DonorService donorService;
+    @Mock private CustomUserDetailsService userDetailsService;
 
     @InjectMocks private UserService userService;
 
@@ -47,7 +51,7 @@ class UserServiceTest {
         when(userRepository.findByEmail("test@example.com"))
                 .thenReturn(Optional.of(new User()));
 
-        assertThatThrownBy(() -> userService.save(request))
+        assertThatThrownBy(() -> userService.save(request, "hashed"))
                 .isInstanceOf(ValidationException.class);
 
         verify(userRepository).findByEmail("test@example.com");
@@ -56,28 +60,30 @@ class UserServiceTest {
     }
 
     @Test
-    void save_shouldThrowValidationException_whenPasswordMismatch() {
-        when(userRepository.findByEmail("test@example.com"))
-                .thenReturn(Optional.empty());
-
+    void hashPassword_shouldThrowValidationException_whenPasswordMismatch() {
         request.setRepeatPassword("different");
 
-        assertThatThrownBy(() -> userService.save(request))
+        assertThatThrownBy(() -> userService.hashPassword(request))
                 .isInstanceOf(ValidationException.class);
 
-        verify(userRepository).findByEmail("test@example.com");
-        verify(userRepository, never()).save(any(User.class));
-        verifyNoInteractions(passwordEncoder, donorService);
+        verifyNoInteractions(passwordEncoder, userRepository, donorService);
     }
 
     @Test
-    void save_shouldEncodePassword_saveUser_andCreateDonorForUser() {
-        when(userRepository.findByEmail("test@example.com"))
-                .thenReturn(Optional.empty());
-
+    void hashPassword_shouldEncodePasswordWithoutTouchingRepository() {
         when(passwordEncoder.encode("password"))
                 .thenReturn("hashed");
 
+        assertThat(userService.hashPassword(request)).isEqualTo("hashed");
+
+        verifyNoInteractions(userRepository, donorService);
+    }
+
+    @Test
+    void save_shouldSaveUserWithGivenHash_andCreateDonorForUser() {
+        when(userRepository.findByEmail("test@example.com"))
+                .thenReturn(Optional.empty());
+
         when(userRepository.save(any(User.class)))
                 .thenAnswer(invocation -> {
                     User u = invocation.getArgument(0);
@@ -85,7 +91,17 @@ class UserServiceTest {
                     return u;
                 });
 
-        userService.save(request);
+        Donor donor = new Donor();
+        donor.setId(10L);
+        when(donorService.createDonorForUser(any(User.class))).thenReturn(donor);
+
+        AuthenticatedUser principal = userService.save(request, "hashed");
+
+        assertThat(principal.getUsername()).isEqualTo("test@example.com");
+        assertThat(principal.getUserId()).isEqualTo(1L);
+        assertThat(principal.getDonorId()).isEqualTo(10L);
+        assertThat(principal.getTokenVersion()).isZero();
+        assertThat(principal.getAuthorities()).extracting(Object::toString).containsExactly("ROLE_USER");
 
         // verify created user fields
         ArgumentCaptor<User> userCaptor = ArgumentCaptor.forClass(User.class);
@@ -99,28 +115,26 @@ class UserServiceTest {
         assertThat(saved.getRole()).isEqualTo(Role.USER);
 
         verify(userRepository).findByEmail("test@example.com");
-        verify(passwordEncoder).encode("password");
 
         // donor creation is called with the saved user returned by repo
         verify(donorService).createDonorForUser(any(User.class));
+        verify(userDetailsService).evict("test@example.com");
 
-        verifyNoMoreInteractions(userRepository, passwordEncoder, donorService);
+        verifyNoMoreInteractions(userRepository, donorService, userDetailsService);
+        verifyNoInteractions(passwordEncoder);
     }
 
     @Test
     void save_shouldNotCreateDonor_whenRepositorySaveThrows() {
         when(userRepository.findByEmail("test@example.com"))
                 .thenReturn(Optional.empty());
-        when(passwordEncoder.encode("password"))
-                .thenReturn("hashed");
         when(userRepository.save(any(User.class)))
                 .thenThrow(new RuntimeException("db error"));
 
-        assertThatThrownBy(() -> userService.save(request))
+        assertThatThrownBy(() -> userService.save(request, "hashed"))
                 .isInstanceOf(RuntimeException.class);
 
         verify(userRepository).findByEmail("test@example.com");
-        verify(passwordEncoder).encode("password");
         verify(userRepository).save(any(User.class));
         verifyNoInteractions(donorService);
     }
@@ -0,0 +1,187 @@
+package hr.algebra.donfundy.support;
+
+import hr.algebra.donfundy.domain.Campaign;
+import hr.algebra.donfundy.domain.enums.Status;
+import hr.algebra.donfundy.dto.CampaignProgressEvent;
+import hr.algebra.donfundy.exception.ServiceUnavailableException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter.DataWithMediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("CampaignEventBroadcaster Unit Tests")
+class CampaignEventBroadcasterTest {
+
+    private static final Duration IDLE = Duration.ofHours(1);
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final Deque<RecordingEmitter> emitters = new ArrayDeque<>();
+    private final CountDownLatch unblock = new CountDownLatch(1);
+    private CampaignEventBroadcaster broadcaster;
+
+    @BeforeEach
+    void setUp() {
+        broadcaster = broadcaster(Duration.ofSeconds(10));
+    }
+
+    @AfterEach
+    void tearDown() {
+        unblock.countDown();
+        broadcaster.stop();
+    }
+
+    @Test
+    @DisplayName("Should refuse subscribers past the per-node limit with Retry-After")
+    void shouldRefuseSubscribersPastLimit() {
+        broadcaster.subscribe(progress(1L));
+        broadcaster.subscribe(progress(2L));
+
+        assertThatThrownBy(() -> broadcaster.subscribe(progress(1L)))
+                .isInstanceOf(ServiceUnavailableException.class)
+                .hasFieldOrPropertyWithValue("messageCode", "error.campaign.events.busy")
+                .hasFieldOrPropertyWithValue("retryAfterSeconds", 30L);
+        assertThat(broadcaster.subscriberCount()).isEqualTo(2);
+        assertThat(meterRegistry.get("campaign.events.rejected").counter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("Should keep writing to other subscribers while one subscriber's write is blocked")
+    void shouldNotHoldUpOtherSubscribers() throws InterruptedException {
+        RecordingEmitter blocked = expectEmitter(true);
+        RecordingEmitter other = expectEmitter(false);
+        broadcaster.subscribe(progress(1L));
+        broadcaster.subscribe(progress(1L));
+        assertThat(blocked.nextFrame()).contains("\"raisedAmount\":0.0");
+
+        assertThat(other.nextFrame()).contains("\"raisedAmount\":0.0");
+        publish(10.0);
+        assertThat(other.nextFrame()).contains("\"raisedAmount\":10.0");
+        publish(20.0);
+        assertThat(other.nextFrame()).contains("\"raisedAmount\":20.0");
+        assertThat(broadcaster.subscriberCount()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should write only the latest pending frame once a blocked write completes")
+    void shouldWriteOnlyLatestFrameAfterBlockedWrite() throws InterruptedException {
+        RecordingEmitter blocked = expectEmitter(true);
+        broadcaster.subscribe(progress(1L));
+        assertThat(blocked.nextFrame()).contains("\"raisedAmount\":0.0");
+
+        publish(10.0);
+        publish(20.0);
+        broadcaster.heartbeat();
+        unblock.countDown();
+
+        assertThat(blocked.nextFrame()).contains("\"raisedAmount\":20.0");
+        assertThat(blocked.frames.poll(200, TimeUnit.MILLISECONDS)).isNull();
+    }
+
+    @Test
+    @DisplayName("Should drop a subscriber whose write stays blocked past the send timeout")
+    void shouldDropSubscriberBlockedPastSendTimeout() throws InterruptedException {
+        broadcaster.stop();
+        broadcaster = broadcaster(Duration.ofMillis(100));
+        RecordingEmitter blocked = expectEmitter(true);
+        broadcaster.subscribe(progress(1L));
+        assertThat(blocked.nextFrame()).isNotNull();
+
+        Thread.sleep(150);
+        broadcaster.heartbeat();
+
+        assertThat(broadcaster.subscriberCount()).isZero();
+        assertThat(meterRegistry.get("campaign.events.send.timeouts").counter().count()).isEqualTo(1.0);
+        assertThat(blocked.failure.poll(5, TimeUnit.SECONDS)).isInstanceOf(TimeoutException.class);
+    }
+
+    /**
+     * Windows are long enough never to elapse during a test; frames are pushed by calling {@code flush} and
+     * {@code heartbeat} directly.
+     */
+    private CampaignEventBroadcaster broadcaster(Duration sendTimeout) {
+        CampaignEventBroadcaster broadcaster = new CampaignEventBroadcaster(new JsonMapper(), meterRegistry, IDLE,
+                IDLE, Duration.ofMinutes(30), sendTimeout, 2, Duration.ofSeconds(30)) {
+            @Override
+            SseEmitter newEmitter(long timeoutMillis) {
+                RecordingEmitter emitter = emitters.poll();
+                return emitter != null ? emitter : super.newEmitter(timeoutMillis);
+            }
+        };
+        broadcaster.start();
+        return broadcaster;
+    }
+
+    private RecordingEmitter expectEmitter(boolean blocking) {
+        RecordingEmitter emitter = new RecordingEmitter(blocking ? unblock : new CountDownLatch(0));
+        emitters.add(emitter);
+        return emitter;
+    }
+
+    private void publish(double raisedAmount) {
+        Campaign campaign = new Campaign();
+        campaign.setId(1L);
+        campaign.setGoalAmount(1000.0);
+        campaign.setRaisedAmount(raisedAmount);
+        campaign.setStatus(Status.ACTIVE);
+        broadcaster.publish(campaign);
+        broadcaster.flush();
+    }
+
+    private static CampaignProgressEvent progress(Long campaignId) {
+        return new CampaignProgressEvent(campaignId, 0.0, 1000.0, 0.0, Status.ACTIVE);
+    }
+
+    /**
+     * Records every frame written to it; each write then waits on {@code release}, standing in for a client
+     * whose TCP window is full.
+     */
+    private static final class RecordingEmitter extends SseEmitter {
+        private final BlockingQueue<String> frames = new LinkedBlockingQueue<>();
+        private final BlockingQueue<Throwable> failure = new LinkedBlockingQueue<>();
+        private final CountDownLatch release;
+
+        private RecordingEmitter(CountDownLatch release) {
+            this.release = release;
+        }
+
+        @Override
+        public void send(Set<DataWithMediaType> items) throws IOException {
+            frames.add(items.stream().map(item -> String.valueOf(item.getData())).collect(Collectors.joining()));
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IOException(e);
+            }
+        }
+
+        @Override
+        public void completeWithError(Throwable ex) {
+            failure.add(ex);
+        }
+
+        private String nextFrame() throws InterruptedException {
+            return frames.poll(5, TimeUnit.SECONDS);
+        }
+    }
+}
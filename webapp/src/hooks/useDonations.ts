@@ -9,6 +9,13 @@ export const useDonations = (campaignId?: number, donorId?: number) => {
   });
 };
 
+export const useRecentDonations = (limit: number) => {
+  return useQuery({
+    queryKey: ['donations', 'recent', limit],
+    queryFn: () => donationService.getPage({ limit }),
+  });
+};
+
 export const useDonation = (id: number) => {
   return useQuery({
     queryKey: ['donation', id],
@@ -25,6 +32,7 @@ export const useCreateDonation = () => {
     onSuccess: () => {
       queryClient.invalidateQueries({ queryKey: ['donations'] });
       queryClient.invalidateQueries({ queryKey: ['campaigns'] });
+      queryClient.invalidateQueries({ queryKey: ['stats'] });
     },
   });
 };
@@ -38,6 +46,7 @@ export const useDeleteDonation = () => {
       queryClient.invalidateQueries({ queryKey: ['donations'] });
       queryClient.invalidateQueries({ queryKey: ['donation', id] });
       queryClient.invalidateQueries({ queryKey: ['campaigns'] });
+      queryClient.invalidateQueries({ queryKey: ['stats'] });
     },
   });
 };
@@ -0,0 +1,9 @@
+import { useQuery } from '@tanstack/react-query';
+import { statsService } from '../services/statsService';
+
+export const useStatsSummary = () => {
+  return useQuery({
+    queryKey: ['stats', 'summary'],
+    queryFn: () => statsService.getSummary(),
+  });
+};
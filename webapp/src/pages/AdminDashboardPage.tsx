@@ -3,9 +3,8 @@ import { Navigate } from 'react-router-dom';
 import { useQueryClient } from '@tanstack/react-query';
 import { useAuth } from '../contexts/AuthContext';
 import { useTranslation } from '../i18n/useTranslation';
-import { useCampaigns } from '../hooks/useCampaigns';
-import { useDonations } from '../hooks/useDonations';
-import { useDonors } from '../hooks/useDonors';
+import { useRecentDonations } from '../hooks/useDonations';
+import { useStatsSummary } from '../hooks/useStats';
 import { bulkDonationService } from '../services/bulkDonationService';
 import type { BulkDonationResult } from '../types';
 
@@ -15,9 +14,8 @@ export const AdminDashboardPage = () => {
   const queryClient = useQueryClient();
   const fileInputRef = useRef<HTMLInputElement>(null);
 
-  const { data: campaigns, isLoading: campaignsLoading } = useCampaigns();
-  const { data: donations, isLoading: donationsLoading } = useDonations();
-  const { data: donors, isLoading: donorsLoading } = useDonors();
+  const { data: stats, isLoading: statsLoading } = useStatsSummary();
+  const { data: recentDonations, isLoading: donationsLoading } = useRecentDonations(10);
 
   const [uploading, setUploading] = useState(false);
   const [uploadResult, setUploadResult] = useState<BulkDonationResult | null>(null);
@@ -31,10 +29,11 @@ export const AdminDashboardPage = () => {
     return <Navigate to="/campaigns" replace />;
   }
 
-  const isLoading = campaignsLoading || donationsLoading || donorsLoading;
+  const isLoading = statsLoading || donationsLoading;
 
-  const totalRaised = campaigns?.reduce((sum, c) => sum + c.raisedAmount, 0) || 0;
-  const activeCampaigns = campaigns?.filter(c => c.status === 'ACTIVE').length || 0;
+  const donations = recentDonations?.items;
+  const totalRaised = stats?.totalRaised || 0;
+  const activeCampaigns = stats?.activeCampaignCount || 0;
 
   const handleFileSelect = async (event: React.ChangeEvent<HTMLInputElement>) => {
     const file = event.target.files?.[0];
@@ -56,6 +55,7 @@ export const AdminDashboardPage = () => {
       queryClient.invalidateQueries({ queryKey: ['donations'] });
       queryClient.invalidateQueries({ queryKey: ['campaigns'] });
       queryClient.invalidateQueries({ queryKey: ['donors'] });
+      queryClient.invalidateQueries({ queryKey: ['stats'] });
     } catch (error: unknown) {
       const errorMessage = error instanceof Error ? error.message : t.admin.uploadFailed;
       setUploadError(errorMessage);
@@ -100,7 +100,7 @@ export const AdminDashboardPage = () => {
                 {t.admin.totalCampaigns}
               </h3>
               <p style={{ fontSize: '32px', fontWeight: 'bold', margin: 0, color: '#007bff' }}>
-                {campaigns?.length || 0}
+                {stats?.campaignCount || 0}
               </p>
               <small style={{ color: '#28a745' }}>{activeCampaigns} {t.admin.active}</small>
             </div>
@@ -110,7 +110,7 @@ export const AdminDashboardPage = () => {
                 {t.admin.totalDonations}
               </h3>
               <p style={{ fontSize: '32px', fontWeight: 'bold', margin: 0, color: '#28a745' }}>
-                {donations?.length || 0}
+                {stats?.donationCount || 0}
               </p>
             </div>
 
@@ -119,7 +119,7 @@ export const AdminDashboardPage = () => {
                 {t.admin.totalDonors}
               </h3>
               <p style={{ fontSize: '32px', fontWeight: 'bold', margin: 0, color: '#6f42c1' }}>
-                {donors?.length || 0}
+                {stats?.donorCount || 0}
               </p>
             </div>
 
@@ -243,7 +243,7 @@ export const AdminDashboardPage = () => {
                     </tr>
                   </thead>
                   <tbody>
-                    {donations.slice(0, 10).map((donation) => (
+                    {donations.map((donation) => (
                       <tr key={donation.id} style={{ borderBottom: '1px solid #dee2e6' }}>
                         <td style={{ padding: '12px' }}>{donation.donorName}</td>
                         <td style={{ padding: '12px' }}>{donation.campaignName}</td>
@@ -1,15 +1,31 @@
 import apiClient from '../api/axios';
-import type { CampaignRequest, CampaignResponse, Status } from '../types';
+import type { CampaignRequest, CampaignResponse, CursorPage, LeaderboardEntry, PageParams, Status, TimeBucket, TimeseriesPoint } from '../types';
 
 export const campaignService = {
   getAll: async (status?: Status): Promise<CampaignResponse[]> => {
-    const params = status ? { status } : {};
+    const params = status ? { status, unpaged: true } : { unpaged: true };
     const response = await apiClient.get<CampaignResponse[]>('/campaigns', { params });
     return response.data;
   },
 
+  getPage: async (page: PageParams, status?: Status): Promise<CursorPage<CampaignResponse>> => {
+    const params = status ? { ...page, status } : page;
+    const response = await apiClient.get<CursorPage<CampaignResponse>>('/campaigns', { params });
+    return response.data;
+  },
+
   getMyCampaigns: async (): Promise<CampaignResponse[]> => {
-    const response = await apiClient.get<CampaignResponse[]>('/campaigns/my-campaigns');
+    const response = await apiClient.get<CampaignResponse[]>('/campaigns/my-campaigns', { params: { unpaged: true } });
+    return response.data;
+  },
+
+  getMyCampaignsPage: async (page: PageParams): Promise<CursorPage<CampaignResponse>> => {
+    const response = await apiClient.get<CursorPage<CampaignResponse>>('/campaigns/my-campaigns', { params: page });
+    return response.data;
+  },
+
+  search: async (q: string, page: PageParams): Promise<CursorPage<CampaignResponse>> => {
+    const response = await apiClient.get<CursorPage<CampaignResponse>>('/campaigns/search', { params: { ...page, q } });
     return response.data;
   },
 
@@ -18,6 +34,16 @@ export const campaignService = {
     return response.data;
   },
 
+  getLeaderboard: async (id: number, limit?: number): Promise<LeaderboardEntry[]> => {
+    const response = await apiClient.get<LeaderboardEntry[]>(`/campaigns/${id}/leaderboard`, { params: { limit } });
+    return response.data;
+  },
+
+  getTimeseries: async (id: number, bucket: TimeBucket): Promise<TimeseriesPoint[]> => {
+    const response = await apiClient.get<TimeseriesPoint[]>(`/campaigns/${id}/timeseries`, { params: { bucket } });
+    return response.data;
+  },
+
   create: async (data: CampaignRequest): Promise<CampaignResponse> => {
     const response = await apiClient.post<CampaignResponse>('/campaigns', data);
     return response.data;
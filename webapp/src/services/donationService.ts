@@ -1,9 +1,9 @@
 import apiClient from '../api/axios';
-import type { DonationRequest, DonationResponse } from '../types';
+import type { CursorPage, DonationRequest, DonationResponse, PageParams } from '../types';
 
 export const donationService = {
   getAll: async (campaignId?: number, donorId?: number): Promise<DonationResponse[]> => {
-    const params: Record<string, number> = {};
+    const params: Record<string, number | boolean> = { unpaged: true };
     if (campaignId) params.campaignId = campaignId;
     if (donorId) params.donorId = donorId;
 
@@ -11,6 +11,15 @@ export const donationService = {
     return response.data;
   },
 
+  getPage: async (page: PageParams, campaignId?: number, donorId?: number): Promise<CursorPage<DonationResponse>> => {
+    const params: Record<string, string | number | undefined> = { ...page };
+    if (campaignId) params.campaignId = campaignId;
+    if (donorId) params.donorId = donorId;
+
+    const response = await apiClient.get<CursorPage<DonationResponse>>('/donations', { params });
+    return response.data;
+  },
+
   getById: async (id: number): Promise<DonationResponse> => {
     const response = await apiClient.get<DonationResponse>(`/donations/${id}`);
     return response.data;
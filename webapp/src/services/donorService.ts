@@ -1,9 +1,14 @@
 import apiClient from '../api/axios';
-import type { DonorRequest, DonorResponse } from '../types';
+import type { CursorPage, DonorRequest, DonorResponse, PageParams } from '../types';
 
 export const donorService = {
   getAll: async (): Promise<DonorResponse[]> => {
-    const response = await apiClient.get<DonorResponse[]>('/donors');
+    const response = await apiClient.get<DonorResponse[]>('/donors', { params: { unpaged: true } });
+    return response.data;
+  },
+
+  getPage: async (page: PageParams): Promise<CursorPage<DonorResponse>> => {
+    const response = await apiClient.get<CursorPage<DonorResponse>>('/donors', { params: page });
     return response.data;
   },
 
@@ -0,0 +1,9 @@
+import apiClient from '../api/axios';
+import type { StatsSummary } from '../types';
+
+export const statsService = {
+  getSummary: async (): Promise<StatsSummary> => {
+    const response = await apiClient.get<StatsSummary>('/stats/summary');
+    return response.data;
+  },
+};
@@ -97,6 +97,16 @@ export interface DonationResponse {
   paymentMethod: PaymentMethod;
 }
 
+export interface CursorPage<T> {
+  items: T[];
+  nextCursor?: string;
+}
+
+export interface PageParams {
+  cursor?: string;
+  limit?: number;
+}
+
 export interface ErrorResponse {
   message: string;
 }
@@ -107,3 +117,27 @@ export interface BulkDonationResult {
   failureCount: number;
   errors: string[];
 }
+
+export interface StatsSummary {
+  campaignCount: number;
+  activeCampaignCount: number;
+  donationCount: number;
+  donorCount: number;
+  totalRaised: number;
+}
+
+export interface LeaderboardEntry {
+  donorId: number;
+  donorName: string;
+  totalAmount: number;
+  donationCount: number;
+}
+
+export type TimeBucket = 'day' | 'week';
+
+export interface TimeseriesPoint {
+  bucketStart: string;
+  paymentMethod: PaymentMethod;
+  totalAmount: number;
+  donationCount: number;
+}